@@ -8,9 +8,9 @@ import org.ricdip.interpreters.simpleinterpreter.parser.RPPL;
 import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
 import picocli.CommandLine;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
 @CommandLine.Command(
@@ -29,11 +29,10 @@ public class CLIApplication implements Runnable {
 
     @Override
     public void run() {
-        InputStream inputStream = System.in;
+        Reader inputStream = new InputStreamReader(System.in, StandardCharsets.UTF_8);
 
         if (StringUtils.isNotBlank(filePath)) {
-            String fileContent = Utils.readProgramFromFile(filePath);
-            inputStream = new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.UTF_8));
+            inputStream = Utils.openProgramFile(filePath);
         }
 
         switch (execMode.getExecMode()) {
@@ -1,38 +1,144 @@
-package org.ricdip.interpreters.simpleinterpreter.evaluator;
-
-import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
-import org.ricdip.interpreters.simpleinterpreter.evaluator.object.Objects;
-import org.ricdip.interpreters.simpleinterpreter.parser.ast.impl.IdentifierExpression;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-
-public class Environment {
-    private final Map<String, EvaluatedObject> environmentMap = new HashMap<>();
-    private final Optional<Environment> outerEnvironment;
-
-    public Environment() {
-        this.outerEnvironment = Optional.empty();
-    }
-
-    public Environment(Environment outerEnvironment) {
-        this.outerEnvironment = Optional.of(outerEnvironment);
-    }
-
-    public void put(IdentifierExpression identifier, EvaluatedObject value) {
-        environmentMap.put(identifier.getValue(), value);
-    }
-
-    public EvaluatedObject get(IdentifierExpression identifier) {
-        String identifierValue = identifier.getValue();
-
-        if (environmentMap.containsKey(identifierValue)) {
-            return environmentMap.get(identifierValue);
-        } else if (outerEnvironment.isPresent()) {
-            return outerEnvironment.get().get(identifier);
-        } else {
-            return Objects.NULL;
-        }
-    }
-}
+package org.ricdip.interpreters.simpleinterpreter.evaluator;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.FunctionObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.Objects;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.impl.IdentifierExpression;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class Environment {
+    private final Map<String, EvaluatedObject> environmentMap = new HashMap<>();
+    private final Optional<Environment> outerEnvironment;
+
+    public Environment() {
+        this.outerEnvironment = Optional.empty();
+    }
+
+    public Environment(Environment outerEnvironment) {
+        this.outerEnvironment = Optional.of(outerEnvironment);
+    }
+
+    public void put(IdentifierExpression identifier, EvaluatedObject value) {
+        environmentMap.put(identifier.getValue(), value);
+    }
+
+    /**
+     * Rebinds an identifier in the nearest scope that declares it, so that a function can update a variable of an
+     * enclosing scope (closure) instead of creating a local one.
+     *
+     * @param identifier the identifier to rebind
+     * @param value      the new value
+     * @return {@code false} if the identifier is not declared in any scope
+     */
+    public boolean assign(IdentifierExpression identifier, EvaluatedObject value) {
+        if (environmentMap.containsKey(identifier.getValue())) {
+            environmentMap.put(identifier.getValue(), value);
+            return true;
+        }
+
+        return outerEnvironment.map(environment -> environment.assign(identifier, value)).orElse(false);
+    }
+
+    public boolean contains(IdentifierExpression identifier) {
+        return environmentMap.containsKey(identifier.getValue())
+                || outerEnvironment.map(environment -> environment.contains(identifier)).orElse(false);
+    }
+
+    public EvaluatedObject get(IdentifierExpression identifier) {
+        EvaluatedObject value = find(identifier);
+
+        return value != null ? value : Objects.NULL;
+    }
+
+    /**
+     * Looks up an identifier in this scope and in the enclosing ones with a single map access per scope.
+     *
+     * @param identifier the identifier to look up
+     * @return the bound value, or {@code null} if the identifier is not declared in any scope
+     */
+    public EvaluatedObject find(IdentifierExpression identifier) {
+
+        Environment environment = this;
+
+        while (true) {
+            EvaluatedObject value = environment.environmentMap.get(identifier.getValue());
+
+            if (value != null) {
+                return value;
+            } else if (environment.outerEnvironment.isEmpty()) {
+                return null;
+            }
+
+            environment = environment.outerEnvironment.get();
+        }
+    }
+
+    /**
+     * Copies the bindings visible from this scope into a new scope without enclosing scopes, so that a task running on
+     * another thread can read them while this thread keeps changing its own scopes. The bound functions are copied
+     * with a snapshot of their own scope, so a call of the copy never reads the original scopes either. Functions
+     * stored in arrays or records are not copied.
+     *
+     * @return the new {@link Environment}
+     */
+    public Environment snapshot() {
+        return snapshot(new IdentityHashMap<>());
+    }
+
+    /**
+     * Copies a function with a snapshot of its scope.
+     *
+     * @param functionObject the function to copy
+     * @return the new {@link FunctionObject}
+     * @see #snapshot()
+     */
+    public static FunctionObject snapshot(FunctionObject functionObject) {
+        return snapshot(functionObject, new IdentityHashMap<>());
+    }
+
+    private static FunctionObject snapshot(FunctionObject functionObject, Map<Environment, Environment> snapshots) {
+        return new FunctionObject(
+                functionObject.getFormalParameters(),
+                functionObject.getFunctionBody(),
+                functionObject.getFunctionEnvironment().snapshot(snapshots),
+                functionObject.isGenerator()
+        );
+    }
+
+    private Environment snapshot(Map<Environment, Environment> snapshots) {
+        Environment snapshot = snapshots.get(this);
+
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        snapshot = new Environment();
+        // registered before copying the functions, that usually capture the scope they are bound in
+        snapshots.put(this, snapshot);
+
+        Deque<Environment> environments = new ArrayDeque<>();
+
+        for (Environment environment = this; environment != null; environment = environment.outerEnvironment.orElse(null)) {
+            environments.push(environment);
+        }
+
+        // from the outermost scope, so that the inner bindings hide the outer ones
+        for (Environment environment : environments) {
+            snapshot.environmentMap.putAll(environment.environmentMap);
+        }
+
+        for (Map.Entry<String, EvaluatedObject> binding : snapshot.environmentMap.entrySet()) {
+            if (binding.getValue() instanceof FunctionObject functionObject) {
+                binding.setValue(snapshot(functionObject, snapshots));
+            }
+        }
+
+        return snapshot;
+    }
+}
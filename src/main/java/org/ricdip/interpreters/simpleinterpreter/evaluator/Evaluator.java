@@ -1,27 +1,37 @@
 package org.ricdip.interpreters.simpleinterpreter.evaluator;
 
+import org.apache.commons.lang3.StringUtils;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.builtin.BuiltinRegistry;
 import org.ricdip.interpreters.simpleinterpreter.evaluator.object.Objects;
 import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
 import org.ricdip.interpreters.simpleinterpreter.parser.Operator;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.Expression;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.Node;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.Statement;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.impl.*;
 
+import java.math.BigInteger;
 import java.util.*;
 
 public class Evaluator {
-    private final Map<String, BuiltinFunction> builtinFunctionMap = new HashMap<>();
+    private final BuiltinRegistry builtinRegistry;
 
     public Evaluator() {
-        builtinFunctionMap.put(Objects.PRINT.getFunctionName(), Objects.PRINT);
-        builtinFunctionMap.put(Objects.LEN.getFunctionName(), Objects.LEN);
-        builtinFunctionMap.put(Objects.FIRST.getFunctionName(), Objects.FIRST);
-        builtinFunctionMap.put(Objects.REST.getFunctionName(), Objects.REST);
-        builtinFunctionMap.put(Objects.PUSH.getFunctionName(), Objects.PUSH);
-        builtinFunctionMap.put(Objects.APPEND.getFunctionName(), Objects.APPEND);
-        builtinFunctionMap.put(Objects.POP.getFunctionName(), Objects.POP);
-        builtinFunctionMap.put(Objects.REMOVE_LAST.getFunctionName(), Objects.REMOVE_LAST);
+        this(BuiltinRegistry.getDefault());
+    }
+
+    public Evaluator(BuiltinRegistry builtinRegistry) {
+        this.builtinRegistry = builtinRegistry;
+    }
+
+    /**
+     * Returns the table of the builtin functions used to resolve the identifiers.
+     *
+     * @return the {@link BuiltinRegistry} of this evaluator
+     */
+    public BuiltinRegistry getBuiltinRegistry() {
+        return builtinRegistry;
     }
 
     public EvaluatedObject eval(Node node, Environment environment) {
@@ -34,7 +44,7 @@ public class Evaluator {
         } else if (node instanceof IdentifierExpression identifierExpression) {
             return evalIdentifierExpression(identifierExpression, environment);
         } else if (node instanceof IntegerLiteral integerLiteral) {
-            return new IntegerObject(integerLiteral.getValue());
+            return IntegerObject.valueOf(integerLiteral.getValue());
         } else if (node instanceof BooleanLiteral booleanLiteral) {
             return new BooleanObject(booleanLiteral.getValue());
         } else if (node instanceof PrefixExpression prefixExpression) {
@@ -59,7 +69,8 @@ public class Evaluator {
             return new FunctionObject(
                     functionExpression.getFormalParameters(),
                     functionExpression.getFunctionBody(),
-                    environment
+                    environment,
+                    functionExpression.isGenerator()
             );
         } else if (node instanceof CallExpression callExpression) {
             return evalCallExpression(
@@ -69,16 +80,31 @@ public class Evaluator {
             );
         } else if (node instanceof ReturnStatement returnStatement) {
             return evalReturnStatement(returnStatement, environment);
+        } else if (node instanceof YieldStatement yieldStatement) {
+            return evalYieldStatement(yieldStatement, environment);
         } else if (node instanceof ArrayExpression arrayExpression) {
             return evalArrayExpression(arrayExpression, environment);
         } else if (node instanceof IndexExpression indexExpression) {
             return evalIndexExpression(indexExpression, environment);
         } else if (node instanceof StringExpression stringExpression) {
-            return new StringObject(stringExpression.getValue());
+            return StringObject.literal(stringExpression.getValue());
         } else if (node instanceof PostfixExpression postfixExpression) {
             return evalPostfixExpression(postfixExpression.getOperator(), postfixExpression.getLeft(), environment);
         } else if (node instanceof WhileStatement whileStatement) {
             return evalWhileStatement(whileStatement.getCondition(), whileStatement.getWhileBlock(), environment);
+        } else if (node instanceof ForStatement forStatement) {
+            return evalForStatement(
+                    forStatement.getVariable(),
+                    forStatement.getIterable(),
+                    forStatement.getForBlock(),
+                    environment
+            );
+        } else if (node instanceof RecordExpression recordExpression) {
+            return evalRecordExpression(recordExpression, environment);
+        } else if (node instanceof MemberExpression memberExpression) {
+            return evalMemberExpression(memberExpression, environment);
+        } else if (node instanceof AssignExpression assignExpression) {
+            return evalAssignExpression(assignExpression, environment);
         } else {
             return new ErrorObject("Unknown AST node: %s", node);
         }
@@ -154,7 +180,7 @@ public class Evaluator {
             return errorObject;
         }
 
-        if (builtinFunctionMap.containsKey(identifier.getValue())) {
+        if (builtinRegistry.isReserved(identifier.getValue())) {
             return new ErrorObject("Identifier '%s' already used as a builtin function", identifier.getValue());
         }
 
@@ -172,11 +198,25 @@ public class Evaluator {
      * @return the {@link EvaluatedObject} bound to the identifier
      */
     private EvaluatedObject evalIdentifierExpression(IdentifierExpression identifier, Environment environment) {
-        if (builtinFunctionMap.containsKey(identifier.getValue())) {
-            return builtinFunctionMap.get(identifier.getValue());
-        } else {
-            return environment.get(identifier);
+        BuiltinRegistry.Binding binding = identifier.getBuiltinBinding();
+
+        // the name is resolved in the registry once and the binding is stored in the node
+        if (binding == null || binding.registry() != builtinRegistry) {
+            binding = builtinRegistry.resolve(identifier.getValue());
+            identifier.setBuiltinBinding(binding);
         }
+
+        if (binding.core()) {
+            return binding.function();
+        }
+
+        EvaluatedObject value = environment.find(identifier);
+
+        if (value != null) {
+            return value;
+        }
+
+        return binding.function() != null ? binding.function() : Objects.NULL;
     }
 
     /**
@@ -211,7 +251,12 @@ public class Evaluator {
      */
     private EvaluatedObject evalPrefixExpressionOperatorMinus(EvaluatedObject right) {
         if (right instanceof IntegerObject integerObject) {
-            return new IntegerObject(-integerObject.getValue());
+            // -Long.MIN_VALUE does not fit in a long
+            return integerObject.getValue() == Long.MIN_VALUE
+                    ? BigIntegerObject.valueOf(BigInteger.valueOf(Long.MIN_VALUE).negate())
+                    : IntegerObject.valueOf(-integerObject.getValue());
+        } else if (right instanceof BigIntegerObject bigIntegerObject) {
+            return BigIntegerObject.valueOf(bigIntegerObject.getValue().negate());
         } else {
             return new ErrorObject("Cannot apply prefix operator '-' to %s", right.getType().name());
         }
@@ -233,7 +278,8 @@ public class Evaluator {
     }
 
     /**
-     * Evaluates an infix expression and returns its result
+     * Evaluates an infix expression and returns its result. The right-hand side is not evaluated if the left-hand side
+     * fails, or if it already decides the result of a logical operator ({@code false && ...}, {@code true || ...}).
      *
      * @param operator    the infix {@link Operator}
      * @param left        the left-hand side {@link Expression} to which the operator is applied
@@ -243,32 +289,67 @@ public class Evaluator {
      */
     private EvaluatedObject evalInfixExpression(Operator operator, Expression left, Expression right, Environment environment) {
         EvaluatedObject evaluatedLeft = eval(left, environment);
+
+        if (evaluatedLeft instanceof ErrorObject errorObject) {
+            return errorObject;
+        } else if (operator == Operator.AND || operator == Operator.OR) {
+            return evalLogicalExpression(operator, evaluatedLeft, right, environment);
+        }
+
+        EvaluatedObject evaluatedRight = eval(right, environment);
+
+        return applyInfixOperator(operator, evaluatedLeft, evaluatedRight);
+    }
+
+    /**
+     * Evaluates a logical expression ({@code &&} or {@code ||}), whose operands must be booleans. The right-hand side
+     * is evaluated only if the left-hand side does not decide the result.
+     *
+     * @param operator      the logical {@link Operator}
+     * @param evaluatedLeft the evaluated left-hand side
+     * @param right         the right-hand side {@link Expression}
+     * @param environment   the {@link Environment} object that contains the bindings
+     * @return the result of the expression after the application of the operator
+     */
+    private EvaluatedObject evalLogicalExpression(Operator operator, EvaluatedObject evaluatedLeft, Expression right, Environment environment) {
+        if (!(evaluatedLeft instanceof BooleanObject leftBooleanObject)) {
+            return new ErrorObject("Cannot apply infix operator '%s' to %s", operator.getSymbols(), evaluatedLeft.getType().name());
+        } else if (leftBooleanObject.getValue() == (operator == Operator.OR)) {
+            // false && ... is false, true || ... is true
+            return leftBooleanObject;
+        }
+
         EvaluatedObject evaluatedRight = eval(right, environment);
 
+        if (evaluatedRight instanceof ErrorObject) {
+            return evaluatedRight;
+        } else if (!(evaluatedRight instanceof BooleanObject)) {
+            return new ErrorObject("Cannot apply infix operator '%s' to %s", operator.getSymbols(), evaluatedRight.getType().name());
+        }
+
+        return evaluatedRight;
+    }
+
+    /**
+     * Applies an infix {@link Operator} to two already evaluated operands. Used by the evaluation of infix expressions
+     * and compound assignments.
+     *
+     * @param operator       the infix {@link Operator}
+     * @param evaluatedLeft  the evaluated left-hand side
+     * @param evaluatedRight the evaluated right-hand side
+     * @return the result of the operator application
+     */
+    private EvaluatedObject applyInfixOperator(Operator operator, EvaluatedObject evaluatedLeft, EvaluatedObject evaluatedRight) {
         if ((evaluatedLeft instanceof IntegerObject leftIntegerObject) &&
             (evaluatedRight instanceof IntegerObject rightIntegerObject)) {
-            return switch (operator) {
-                case LT -> new BooleanObject(leftIntegerObject.getValue() < rightIntegerObject.getValue());
-                case GT -> new BooleanObject(leftIntegerObject.getValue() > rightIntegerObject.getValue());
-                case EQ -> new BooleanObject(
-                        leftIntegerObject.getValue().intValue() == rightIntegerObject.getValue().intValue()
-                );
-                case NEQ -> new BooleanObject(
-                        leftIntegerObject.getValue().intValue() != rightIntegerObject.getValue().intValue()
-                );
-                case LTEQ -> new BooleanObject(leftIntegerObject.getValue() <= rightIntegerObject.getValue());
-                case GTEQ -> new BooleanObject(leftIntegerObject.getValue() >= rightIntegerObject.getValue());
-                case PLUS -> new IntegerObject(leftIntegerObject.getValue() + rightIntegerObject.getValue());
-                case MINUS -> new IntegerObject(leftIntegerObject.getValue() - rightIntegerObject.getValue());
-                case ASTERISK -> new IntegerObject(leftIntegerObject.getValue() * rightIntegerObject.getValue());
-                case SLASH -> new IntegerObject(leftIntegerObject.getValue() / rightIntegerObject.getValue());
-                default -> new ErrorObject(
-                        "Unknown infix operator %s %s %s",
-                        leftIntegerObject.getType().name(),
-                        operator.getSymbols(),
-                        rightIntegerObject.getType().name()
-                );
-            };
+            return applyIntegerOperator(operator, leftIntegerObject.getValue(), rightIntegerObject.getValue());
+        } else if (isInteger(evaluatedLeft) && isInteger(evaluatedRight)) {
+            // at least one operand does not fit in a long
+            return applyBigIntegerOperator(
+                    operator,
+                    BigIntegerObject.toBigInteger(evaluatedLeft),
+                    BigIntegerObject.toBigInteger(evaluatedRight)
+            );
         } else if ((evaluatedLeft instanceof BooleanObject leftIntegerObject) &&
                    (evaluatedRight instanceof BooleanObject rightIntegerObject)) {
             return switch (operator) {
@@ -286,6 +367,9 @@ public class Evaluator {
                         rightIntegerObject.getType().name()
                 );
             };
+        } else if ((evaluatedLeft instanceof StringObject leftStringObject) &&
+                   (evaluatedRight instanceof StringObject rightStringObject)) {
+            return applyStringOperator(operator, leftStringObject, rightStringObject);
         } else if (evaluatedLeft instanceof ErrorObject errorObjectLeft) {
             return errorObjectLeft;
         } else if (evaluatedRight instanceof ErrorObject errorObjectRight) {
@@ -295,6 +379,102 @@ public class Evaluator {
         }
     }
 
+    /**
+     * Applies a comparison {@link Operator} to two strings: equality is tested with
+     * {@link StringObject#valueEquals(StringObject)}, that compares the interned strings by reference, and the order
+     * is lexicographic.
+     *
+     * @param operator the infix {@link Operator}
+     * @param left     the left-hand side string
+     * @param right    the right-hand side string
+     * @return the result of the operator application
+     */
+    private EvaluatedObject applyStringOperator(Operator operator, StringObject left, StringObject right) {
+        return switch (operator) {
+            case EQ -> new BooleanObject(left.valueEquals(right));
+            case NEQ -> new BooleanObject(!left.valueEquals(right));
+            case LT -> new BooleanObject(left.compareValue(right) < 0);
+            case GT -> new BooleanObject(left.compareValue(right) > 0);
+            case LTEQ -> new BooleanObject(left.compareValue(right) <= 0);
+            case GTEQ -> new BooleanObject(left.compareValue(right) >= 0);
+            default -> new ErrorObject(
+                    "Unknown infix operator %s %s %s",
+                    left.getType().name(),
+                    operator.getSymbols(),
+                    right.getType().name()
+            );
+        };
+    }
+
+    /**
+     * Applies an infix {@link Operator} to two 64-bit integers. The arithmetic operators detect the overflow of the
+     * {@code long} result and only in that case repeat the operation on {@link BigInteger}s.
+     *
+     * @param operator the infix {@link Operator}
+     * @param left     the left-hand side value
+     * @param right    the right-hand side value
+     * @return the result of the operator application
+     */
+    private EvaluatedObject applyIntegerOperator(Operator operator, long left, long right) {
+        try {
+            return switch (operator) {
+                case LT -> new BooleanObject(left < right);
+                case GT -> new BooleanObject(left > right);
+                case EQ -> new BooleanObject(left == right);
+                case NEQ -> new BooleanObject(left != right);
+                case LTEQ -> new BooleanObject(left <= right);
+                case GTEQ -> new BooleanObject(left >= right);
+                case PLUS -> IntegerObject.valueOf(Math.addExact(left, right));
+                case MINUS -> IntegerObject.valueOf(Math.subtractExact(left, right));
+                case ASTERISK -> IntegerObject.valueOf(Math.multiplyExact(left, right));
+                case SLASH -> right == 0 ? new ErrorObject("Division by zero") : IntegerObject.valueOf(Math.divideExact(left, right));
+                default -> new ErrorObject(
+                        "Unknown infix operator %s %s %s",
+                        ObjectTypes.INTEGER.name(),
+                        operator.getSymbols(),
+                        ObjectTypes.INTEGER.name()
+                );
+            };
+        } catch (ArithmeticException e) {
+            // the result does not fit in a long
+            return applyBigIntegerOperator(operator, BigInteger.valueOf(left), BigInteger.valueOf(right));
+        }
+    }
+
+    /**
+     * Applies an infix {@link Operator} to two arbitrary-precision integers. The arithmetic results that fit in a
+     * {@code long} are returned as {@link IntegerObject}.
+     *
+     * @param operator the infix {@link Operator}
+     * @param left     the left-hand side value
+     * @param right    the right-hand side value
+     * @return the result of the operator application
+     */
+    private EvaluatedObject applyBigIntegerOperator(Operator operator, BigInteger left, BigInteger right) {
+        return switch (operator) {
+            case LT -> new BooleanObject(left.compareTo(right) < 0);
+            case GT -> new BooleanObject(left.compareTo(right) > 0);
+            case EQ -> new BooleanObject(left.equals(right));
+            case NEQ -> new BooleanObject(!left.equals(right));
+            case LTEQ -> new BooleanObject(left.compareTo(right) <= 0);
+            case GTEQ -> new BooleanObject(left.compareTo(right) >= 0);
+            case PLUS -> BigIntegerObject.valueOf(left.add(right));
+            case MINUS -> BigIntegerObject.valueOf(left.subtract(right));
+            case ASTERISK -> BigIntegerObject.valueOf(left.multiply(right));
+            case SLASH -> right.signum() == 0 ? new ErrorObject("Division by zero") : BigIntegerObject.valueOf(left.divide(right));
+            default -> new ErrorObject(
+                    "Unknown infix operator %s %s %s",
+                    ObjectTypes.INTEGER.name(),
+                    operator.getSymbols(),
+                    ObjectTypes.INTEGER.name()
+            );
+        };
+    }
+
+    private static boolean isInteger(EvaluatedObject evaluatedObject) {
+        return evaluatedObject instanceof IntegerObject || evaluatedObject instanceof BigIntegerObject;
+    }
+
     /**
      * Evaluates a conditional expression and executes the {@code ifBranch} {@link BlockStatement} if condition is {@code true}. Executes
      * the {@code elseBranch} {@link BlockStatement} is condition is {@code false} and the {@code elseBranch} is contained in {@link Optional} wrapper.
@@ -369,7 +549,24 @@ public class Evaluator {
             evaluatedParameters.add(evaluatedParameter);
         }
 
-        return builtinFunction.getFunctionImplementation().apply(evaluatedParameters.toArray(new EvaluatedObject[0]));
+        return applyBuiltinFunction(builtinFunction, evaluatedParameters);
+    }
+
+    /**
+     * Executes the {@link BuiltinFunction} with the already evaluated parameters. An {@link EvaluatorException} thrown
+     * while the builtin function is running (e.g. by a function passed to the builtin function) is converted to an
+     * {@link ErrorObject}.
+     *
+     * @param builtinFunction     the {@link BuiltinFunction} to execute
+     * @param evaluatedParameters the {@link List<EvaluatedObject>} of evaluated parameters
+     * @return the result of the builtin function
+     */
+    private EvaluatedObject applyBuiltinFunction(BuiltinFunction builtinFunction, List<EvaluatedObject> evaluatedParameters) {
+        try {
+            return builtinFunction.getFunctionImplementation().apply(this, evaluatedParameters.toArray(new EvaluatedObject[0]));
+        } catch (EvaluatorException e) {
+            return new ErrorObject(e.getMessage());
+        }
     }
 
     /**
@@ -399,6 +596,65 @@ public class Evaluator {
             return errorObject;
         }
 
+        return applyFunctionObject(functionObject, evaluatedActualParameters);
+    }
+
+    /**
+     * Calls a {@link FunctionObject} or a {@link BuiltinFunction} with already evaluated parameters. Used by the builtin
+     * functions that receive a function as parameter.
+     *
+     * @param function            the {@link FunctionObject} or {@link BuiltinFunction} to call
+     * @param evaluatedParameters the {@link List<EvaluatedObject>} of evaluated parameters
+     * @return the result of the called function, or null object if the function does not produce a value
+     */
+    public EvaluatedObject callFunction(EvaluatedObject function, List<EvaluatedObject> evaluatedParameters) {
+        EvaluatedObject result;
+
+        if (function instanceof BuiltinFunction builtinFunction) {
+            result = applyBuiltinFunction(builtinFunction, evaluatedParameters);
+        } else if (function instanceof FunctionObject functionObject) {
+            if (functionObject.getFormalParameters().size() != evaluatedParameters.size()) {
+                return new ErrorObject(
+                        "Formal parameters and actual parameters differ in length (formal %d != actual %d)",
+                        functionObject.getFormalParameters().size(),
+                        evaluatedParameters.size()
+                );
+            }
+
+            result = applyFunctionObject(functionObject, evaluatedParameters);
+        } else {
+            return new ErrorObject("Cannot invoke %s: not a %s", function.getType().name(), ObjectTypes.FUNCTION);
+        }
+
+        return result != null ? result : Objects.NULL;
+    }
+
+    /**
+     * Calls a {@link FunctionObject}: the body of a generator function is not evaluated, its values are returned as
+     * a {@link SequenceObject} that evaluates the body while it is iterated.
+     *
+     * @param functionObject            the {@link FunctionObject} to call
+     * @param evaluatedActualParameters the {@link List<EvaluatedObject>} of evaluated actual parameters
+     * @return the result of the last evaluated statement of the called function, or the sequence of the values
+     * yielded by a generator function
+     */
+    private EvaluatedObject applyFunctionObject(FunctionObject functionObject, List<EvaluatedObject> evaluatedActualParameters) {
+        if (functionObject.isGenerator()) {
+            return new SequenceObject(new Generator(this, functionObject, evaluatedActualParameters));
+        }
+
+        return evalFunctionBody(functionObject, evaluatedActualParameters);
+    }
+
+    /**
+     * Binds the formal parameters of the {@link FunctionObject} to the evaluated actual parameters and evaluates the
+     * function body.
+     *
+     * @param functionObject            the {@link FunctionObject} to call
+     * @param evaluatedActualParameters the {@link List<EvaluatedObject>} of evaluated actual parameters
+     * @return the result of the last evaluated statement of the called function
+     */
+    EvaluatedObject evalFunctionBody(FunctionObject functionObject, List<EvaluatedObject> evaluatedActualParameters) {
         // create function call environment (inner scope) extending the environment previously stored in the function as
         // outer environment (outer scope): if an identifier is not found in the inner scope, it will be searched in
         // the outer scope.
@@ -486,6 +742,24 @@ public class Evaluator {
         return new ReturnObject(evaluatedReturnValue);
     }
 
+    /**
+     * Evaluates a yield statement: the value is handed over to the code that iterates the generator, and the
+     * evaluation of the body continues when the next value is requested.
+     *
+     * @param yieldStatement the {@link YieldStatement} statement
+     * @param environment    the {@link Environment} object that contains the bindings
+     * @return {@link Objects#NULL}, or an {@link ErrorObject} if the value cannot be evaluated
+     */
+    private EvaluatedObject evalYieldStatement(YieldStatement yieldStatement, Environment environment) {
+        EvaluatedObject evaluatedYieldValue = eval(yieldStatement.getYieldValue(), environment);
+
+        if (evaluatedYieldValue instanceof ErrorObject errorObject) {
+            return errorObject;
+        }
+
+        return Generator.yieldValue(evaluatedYieldValue);
+    }
+
     /**
      * Evaluates an array expression and returns the created {@link ArrayObject}.
      *
@@ -525,6 +799,19 @@ public class Evaluator {
             return indexArrayObject(arrayObject, indexExpression.getIndex(), environment);
         } else if (evaluatedIndexableObject instanceof StringObject stringObject) {
             return indexStringObject(stringObject, indexExpression.getIndex(), environment);
+        } else if (evaluatedIndexableObject instanceof RangeObject rangeObject) {
+            return indexRangeObject(rangeObject, indexExpression.getIndex(), environment);
+        } else if (evaluatedIndexableObject instanceof BytesObject bytesObject) {
+            return indexBytesObject(bytesObject, indexExpression.getIndex(), environment);
+        } else if (evaluatedIndexableObject instanceof TableObject tableObject) {
+            return indexTableObject(tableObject, indexExpression.getIndex(), environment);
+        } else if (evaluatedIndexableObject instanceof SequenceObject sequenceObject) {
+            // indexing a lazy sequence materializes its elements
+            try {
+                return indexArrayObject(new ArrayObject(sequenceObject.materialize()), indexExpression.getIndex(), environment);
+            } catch (EvaluatorException e) {
+                return new ErrorObject(e.getMessage());
+            }
         } else {
             return new ErrorObject("Cannot index non-indexable object: %s", evaluatedIndexableObject.getType().name());
         }
@@ -545,7 +832,7 @@ public class Evaluator {
         if (evaluatedIndex instanceof ErrorObject errorObject) {
             return errorObject;
         } else if (evaluatedIndex instanceof IntegerObject integerObject) {
-            int indexValue = integerObject.getValue();
+            long indexValue = integerObject.getValue();
             List<EvaluatedObject> evaluatedElements = arrayObject.getElements();
 
             if (indexValue >= evaluatedElements.size()) {
@@ -557,24 +844,20 @@ public class Evaluator {
                 );
             } else if (indexValue < 0) {
                 // reverse indexing
-                indexValue = Math.abs(indexValue);
-
-                if (indexValue > evaluatedElements.size()) {
+                if (indexValue < -evaluatedElements.size()) {
                     // reverse index out of bounds
                     return new ErrorObject(
-                            "Array reverse index out of bounds: max reverse index -%d, got -%d",
+                            "Array reverse index out of bounds: max reverse index -%d, got %d",
                             evaluatedElements.size(),
                             indexValue
                     );
                 }
 
-                List<EvaluatedObject> reversedElements = new ArrayList<>(evaluatedElements);
-                Collections.reverse(reversedElements);
-                return reversedElements.get(indexValue - 1);
+                return evaluatedElements.get((int) (evaluatedElements.size() + indexValue));
 
             } else {
                 // indexing
-                return evaluatedElements.get(indexValue);
+                return evaluatedElements.get((int) indexValue);
             }
 
         } else {
@@ -597,7 +880,7 @@ public class Evaluator {
         if (evaluatedIndex instanceof ErrorObject errorObject) {
             return errorObject;
         } else if (evaluatedIndex instanceof IntegerObject integerObject) {
-            int indexValue = integerObject.getValue();
+            long indexValue = integerObject.getValue();
             String stringValue = stringObject.getValue();
 
             if (indexValue >= stringValue.length()) {
@@ -609,25 +892,149 @@ public class Evaluator {
                 );
             } else if (indexValue < 0) {
                 // reverse indexing
-                indexValue = Math.abs(indexValue);
-
-                if (indexValue > stringValue.length()) {
+                if (indexValue < -stringValue.length()) {
                     // reverse index out of bounds
                     return new ErrorObject(
-                            "String reverse index out of bounds: max reverse index -%d, got -%d",
+                            "String reverse index out of bounds: max reverse index -%d, got %d",
                             stringValue.length(),
                             indexValue
                     );
                 }
 
-                StringBuilder reversedString = new StringBuilder();
-                reversedString.append(stringValue);
+                return new StringObject(String.valueOf(stringValue.charAt((int) (stringValue.length() + indexValue))));
 
-                return new StringObject(String.valueOf(reversedString.reverse().toString().charAt(indexValue - 1)));
+            } else {
+                // indexing
+                return new StringObject(String.valueOf(stringObject.getValue().charAt((int) indexValue)));
+            }
 
+        } else {
+            return new ErrorObject("Cannot use %s as index", evaluatedIndex.getType().name());
+        }
+    }
+
+    /**
+     * Evaluates the index used on the {@code rangeObject} and computes the element at the specified index position
+     * in the range, without materializing the range elements.
+     *
+     * @param rangeObject the {@link RangeObject} object that describes the range
+     * @param index       the {@link Expression} object that represent the index
+     * @param environment the {@link Environment} object that contains the bindings
+     * @return the element at the specified position in the range
+     */
+    private EvaluatedObject indexRangeObject(RangeObject rangeObject, Expression index, Environment environment) {
+        EvaluatedObject evaluatedIndex = eval(index, environment);
+
+        if (evaluatedIndex instanceof ErrorObject errorObject) {
+            return errorObject;
+        } else if (evaluatedIndex instanceof IntegerObject integerObject) {
+            long indexValue = integerObject.getValue();
+            long size = rangeObject.size();
+
+            if (indexValue >= size) {
+                // index out of bounds
+                return new ErrorObject("Range index out of bounds: max index %d, got %d", size - 1, indexValue);
+            } else if (indexValue < 0) {
+                // reverse indexing
+                if (indexValue < -size) {
+                    // reverse index out of bounds
+                    return new ErrorObject(
+                            "Range reverse index out of bounds: max reverse index -%d, got %d",
+                            size,
+                            indexValue
+                    );
+                }
+
+                return IntegerObject.valueOf(rangeObject.get(size + indexValue));
             } else {
                 // indexing
-                return new StringObject(String.valueOf(stringObject.getValue().charAt(indexValue)));
+                return IntegerObject.valueOf(rangeObject.get(indexValue));
+            }
+
+        } else {
+            return new ErrorObject("Cannot use %s as index", evaluatedIndex.getType().name());
+        }
+    }
+
+    /**
+     * Evaluates the index used on the {@code bytesObject} and retrieves the byte at the specified index position as
+     * an unsigned integer.
+     *
+     * @param bytesObject the {@link BytesObject} object that contains the bytes
+     * @param index       the {@link Expression} object that represent the index
+     * @param environment the {@link Environment} object that contains the bindings
+     * @return the byte at the specified position
+     */
+    private EvaluatedObject indexBytesObject(BytesObject bytesObject, Expression index, Environment environment) {
+        EvaluatedObject evaluatedIndex = eval(index, environment);
+
+        if (evaluatedIndex instanceof ErrorObject errorObject) {
+            return errorObject;
+        } else if (evaluatedIndex instanceof IntegerObject integerObject) {
+            long indexValue = integerObject.getValue();
+            int size = bytesObject.size();
+
+            if (indexValue >= size) {
+                // index out of bounds
+                return new ErrorObject("Bytes index out of bounds: max index %d, got %d", size - 1, indexValue);
+            } else if (indexValue < 0) {
+                // reverse indexing
+                if (indexValue < -size) {
+                    // reverse index out of bounds
+                    return new ErrorObject(
+                            "Bytes reverse index out of bounds: max reverse index -%d, got %d",
+                            size,
+                            indexValue
+                    );
+                }
+
+                return IntegerObject.valueOf(bytesObject.get((int) (size + indexValue)));
+            } else {
+                // indexing
+                return IntegerObject.valueOf(bytesObject.get((int) indexValue));
+            }
+
+        } else {
+            return new ErrorObject("Cannot use %s as index", evaluatedIndex.getType().name());
+        }
+    }
+
+    /**
+     * Evaluates the index used on the {@code tableObject} and retrieves the row at the specified index position as a
+     * record.
+     *
+     * @param tableObject the {@link TableObject} object that contains the rows
+     * @param index       the {@link Expression} object that represent the index
+     * @param environment the {@link Environment} object that contains the bindings
+     * @return the row at the specified position
+     */
+    private EvaluatedObject indexTableObject(TableObject tableObject, Expression index, Environment environment) {
+        EvaluatedObject evaluatedIndex = eval(index, environment);
+
+        if (evaluatedIndex instanceof ErrorObject errorObject) {
+            return errorObject;
+        } else if (evaluatedIndex instanceof IntegerObject integerObject) {
+            long indexValue = integerObject.getValue();
+            int size = tableObject.getRowCount();
+
+            if (indexValue >= size) {
+                // index out of bounds
+                return new ErrorObject("Table index out of bounds: max index %d, got %d", size - 1, indexValue);
+            } else if (indexValue < 0) {
+                // reverse indexing
+                if (indexValue < -size) {
+                    // reverse index out of bounds
+                    return new ErrorObject(
+                            "Table reverse index out of bounds: max reverse index -%d, got %d",
+                            size,
+                            indexValue
+                    );
+                }
+
+                return tableObject.getRow((int) (size + indexValue));
+            } else {
+                // indexing
+                return tableObject.getRow((int) indexValue);
             }
 
         } else {
@@ -661,9 +1068,9 @@ public class Evaluator {
     private EvaluatedObject evalPostfixExpressionOperatorIncrement(Expression left, Environment environment) {
         if (left instanceof IdentifierExpression identifier) {
             EvaluatedObject evaluatedObject = environment.get(identifier);
-            if (evaluatedObject instanceof IntegerObject integerObject) {
-                environment.put(identifier, new IntegerObject(integerObject.getValue() + 1));
-                return integerObject;
+            if (isInteger(evaluatedObject)) {
+                environment.assign(identifier, applyInfixOperator(Operator.PLUS, evaluatedObject, IntegerObject.valueOf(1)));
+                return evaluatedObject;
             } else if (Objects.NULL.equals(evaluatedObject)) {
                 return new ErrorObject("Cannot apply postfix operator '++' to %s: not declared", left);
             } else {
@@ -684,9 +1091,9 @@ public class Evaluator {
     private EvaluatedObject evalPostfixExpressionOperatorDecrement(Expression left, Environment environment) {
         if (left instanceof IdentifierExpression identifier) {
             EvaluatedObject evaluatedObject = environment.get(identifier);
-            if (evaluatedObject instanceof IntegerObject integerObject) {
-                environment.put(identifier, new IntegerObject(integerObject.getValue() - 1));
-                return integerObject;
+            if (isInteger(evaluatedObject)) {
+                environment.assign(identifier, applyInfixOperator(Operator.MINUS, evaluatedObject, IntegerObject.valueOf(1)));
+                return evaluatedObject;
             } else if (Objects.NULL.equals(evaluatedObject)) {
                 return new ErrorObject("Cannot apply postfix operator '--' to %s: not declared", left);
             } else {
@@ -734,4 +1141,342 @@ public class Evaluator {
 
         return Objects.NULL;
     }
+
+    /**
+     * Evaluates a for statement: the for block is evaluated once for every element of the iterable object, with the
+     * element bound to the loop variable. The evaluation stops at the first error or return statement.
+     *
+     * @param variable    the {@link IdentifierExpression} bound to the current element
+     * @param iterable    the {@link Expression} that produces the visited elements
+     * @param forBlock    the {@link BlockStatement} for block evaluated for every element
+     * @param environment the {@link Environment} object that contains the bindings
+     * @return null object, or the error or return object that stopped the loop
+     */
+    private EvaluatedObject evalForStatement(IdentifierExpression variable, Expression iterable, BlockStatement forBlock, Environment environment) {
+        EvaluatedObject evaluatedIterable = eval(iterable, environment);
+
+        if (evaluatedIterable instanceof ErrorObject errorObject) {
+            return errorObject;
+        } else if (builtinRegistry.isReserved(variable.getValue())) {
+            return new ErrorObject("Identifier '%s' already used as a builtin function", variable.getValue());
+        }
+
+        if (evaluatedIterable instanceof RangeObject rangeObject) {
+            // ranges are visited with a primitive counter: only the bound element is allocated
+            long size = rangeObject.size();
+
+            for (long i = 0; i < size; i++) {
+                environment.put(variable, IntegerObject.valueOf(rangeObject.get(i)));
+
+                EvaluatedObject result = eval(forBlock, environment);
+
+                if (result instanceof ErrorObject || result instanceof ReturnObject) {
+                    return result;
+                }
+            }
+        } else if (evaluatedIterable instanceof IterableObject iterableObject) {
+            try {
+                for (EvaluatedObject element : iterableObject) {
+                    environment.put(variable, element);
+
+                    EvaluatedObject result = eval(forBlock, environment);
+
+                    if (result instanceof ErrorObject || result instanceof ReturnObject) {
+                        return result;
+                    }
+                }
+            } catch (EvaluatorException e) {
+                // the production of an element failed (e.g. the function of a lazy sequence stage)
+                return new ErrorObject(e.getMessage());
+            }
+        } else {
+            return new ErrorObject("Cannot iterate over non-iterable object: %s", evaluatedIterable.getType().name());
+        }
+
+        return Objects.NULL;
+    }
+
+    /**
+     * Evaluates a record expression and returns the created {@link RecordObject}. The {@link RecordShape} of the
+     * record is resolved once and cached in the {@link RecordExpression}, so all the records created by the same
+     * literal share the same layout descriptor.
+     *
+     * @param recordExpression the {@link RecordExpression} expression
+     * @param environment      the {@link Environment} object that contains the bindings
+     * @return the created {@link RecordObject}
+     */
+    private EvaluatedObject evalRecordExpression(RecordExpression recordExpression, Environment environment) {
+        RecordShape shape = recordExpression.getShape();
+
+        if (shape == null) {
+            shape = RecordShape.of(recordExpression.getFieldNames().stream().map(IdentifierExpression::getValue).toList());
+            recordExpression.setShape(shape);
+        }
+
+        List<Expression> fieldValues = recordExpression.getFieldValues();
+        EvaluatedObject[] evaluatedValues = new EvaluatedObject[fieldValues.size()];
+
+        for (int i = 0; i < evaluatedValues.length; i++) {
+            EvaluatedObject evaluatedValue = eval(fieldValues.get(i), environment);
+
+            if (evaluatedValue instanceof ErrorObject errorObject) {
+                return errorObject;
+            }
+
+            evaluatedValues[i] = evaluatedValue;
+        }
+
+        return new RecordObject(shape, evaluatedValues);
+    }
+
+    /**
+     * Evaluates a member expression and returns the value of the accessed record field.
+     * The slot of the field is cached in the {@link MemberExpression} (inline cache): if the accessed record has
+     * the same shape of the record previously accessed by this expression, the field value is read from the cached
+     * position without looking up the field name.
+     *
+     * @param memberExpression the {@link MemberExpression} expression
+     * @param environment      the {@link Environment} object that contains the bindings
+     * @return the value of the accessed record field
+     */
+    private EvaluatedObject evalMemberExpression(MemberExpression memberExpression, Environment environment) {
+        EvaluatedObject evaluatedRecord = eval(memberExpression.getRecordExpression(), environment);
+
+        if (evaluatedRecord instanceof ErrorObject errorObject) {
+            return errorObject;
+        } else if (evaluatedRecord instanceof RecordObject recordObject) {
+            RecordShape.Slot slot = resolveMemberSlot(memberExpression, recordObject);
+
+            if (slot == null) {
+                return new ErrorObject("Record has no field '%s'", memberExpression.getMember());
+            }
+
+            return recordObject.get(slot.index());
+        } else {
+            return new ErrorObject(
+                    "Cannot access member '%s' of %s: not a %s",
+                    memberExpression.getMember(),
+                    evaluatedRecord.getType().name(),
+                    ObjectTypes.RECORD.name()
+            );
+        }
+    }
+
+    /**
+     * Returns the slot of the member accessed by the {@code memberExpression} in the shape of the {@code recordObject}.
+     * The inline cache of the expression is used if it refers to the same shape, and it is updated otherwise.
+     *
+     * @param memberExpression the {@link MemberExpression} expression
+     * @param recordObject     the accessed {@link RecordObject}
+     * @return the {@link RecordShape.Slot} of the member or {@code null} if the record has no such field
+     */
+    private RecordShape.Slot resolveMemberSlot(MemberExpression memberExpression, RecordObject recordObject) {
+        RecordShape.Slot cachedSlot = memberExpression.getCachedSlot();
+
+        if (cachedSlot != null && cachedSlot.shape() == recordObject.getShape()) {
+            // cache hit: same layout as the last accessed record
+            return cachedSlot;
+        }
+
+        RecordShape.Slot slot = recordObject.getShape().getSlot(memberExpression.getMember().getValue());
+
+        if (slot != null) {
+            memberExpression.setCachedSlot(slot);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Evaluates an assignment expression and returns the assigned value. The target can be:
+     * <ul>
+     *     <li>an identifier: the binding is updated in the nearest scope that declares the identifier, so a closure
+     *     updates the variable of the enclosing scope instead of creating a local one</li>
+     *     <li>an index expression: the array element is replaced in place (O(1)). Arrays are references: every
+     *     binding and closure that holds the same array sees the change</li>
+     *     <li>a member expression: the record field is replaced in place</li>
+     * </ul>
+     * The compound operators {@code +=} and {@code -=} combine the current value of the target with the value.
+     *
+     * @param assignExpression the {@link AssignExpression} expression
+     * @param environment      the {@link Environment} object that contains the bindings
+     * @return the assigned value
+     */
+    private EvaluatedObject evalAssignExpression(AssignExpression assignExpression, Environment environment) {
+        if (assignExpression.getTarget() instanceof IdentifierExpression identifier) {
+            return assignIdentifier(identifier, assignExpression, environment);
+        } else if (assignExpression.getTarget() instanceof IndexExpression indexExpression) {
+            return assignIndex(indexExpression, assignExpression, environment);
+        } else if (assignExpression.getTarget() instanceof MemberExpression memberExpression) {
+            return assignMember(memberExpression, assignExpression, environment);
+        } else {
+            return new ErrorObject("Invalid assignment target: %s", assignExpression.getTarget());
+        }
+    }
+
+    /**
+     * Assigns the value of the {@code assignExpression} to a variable already declared in the environment chain.
+     *
+     * @param identifier       the {@link IdentifierExpression} to rebind
+     * @param assignExpression the {@link AssignExpression} expression
+     * @param environment      the {@link Environment} object that contains the bindings
+     * @return the assigned value
+     */
+    private EvaluatedObject assignIdentifier(IdentifierExpression identifier, AssignExpression assignExpression, Environment environment) {
+        if (builtinRegistry.isReserved(identifier.getValue())) {
+            return new ErrorObject("Identifier '%s' already used as a builtin function", identifier.getValue());
+        } else if (!environment.contains(identifier)) {
+            return new ErrorObject("Cannot assign to %s: not declared", identifier);
+        }
+
+        EvaluatedObject value = eval(assignExpression.getValue(), environment);
+
+        if (value instanceof ErrorObject) {
+            return value;
+        }
+
+        EvaluatedObject newValue = applyAssignOperator(assignExpression.getOperator(), environment.get(identifier), value);
+
+        if (!(newValue instanceof ErrorObject)) {
+            environment.assign(identifier, newValue);
+        }
+
+        return newValue;
+    }
+
+    /**
+     * Assigns the value of the {@code assignExpression} to an array element, replacing it in place.
+     *
+     * @param indexExpression  the {@link IndexExpression} that selects the element
+     * @param assignExpression the {@link AssignExpression} expression
+     * @param environment      the {@link Environment} object that contains the bindings
+     * @return the assigned value
+     */
+    private EvaluatedObject assignIndex(IndexExpression indexExpression, AssignExpression assignExpression, Environment environment) {
+        EvaluatedObject evaluatedIndexable = eval(indexExpression.getIndexableExpression(), environment);
+
+        if (evaluatedIndexable instanceof ErrorObject) {
+            return evaluatedIndexable;
+        }
+
+        List<EvaluatedObject> elements;
+
+        if (evaluatedIndexable instanceof ArrayObject arrayObject) {
+            elements = arrayObject.getElements();
+        } else if (evaluatedIndexable instanceof BytesObject bytesObject) {
+            elements = bytesObject.asList();
+        } else {
+            return new ErrorObject(
+                    "Cannot assign to index of %s: not an %s or %s",
+                    evaluatedIndexable.getType().name(),
+                    ObjectTypes.ARRAY.name(),
+                    ObjectTypes.BYTES.name()
+            );
+        }
+
+        EvaluatedObject evaluatedIndex = eval(indexExpression.getIndex(), environment);
+
+        if (evaluatedIndex instanceof ErrorObject) {
+            return evaluatedIndex;
+        }
+
+        if (!(evaluatedIndex instanceof IntegerObject integerObject)) {
+            return new ErrorObject("Cannot use %s as index", evaluatedIndex.getType().name());
+        }
+
+        long indexValue = integerObject.getValue();
+        // reverse indexing: -1 is the last element
+        long position = indexValue < 0 ? elements.size() + indexValue : indexValue;
+
+        if (position < 0 || position >= elements.size()) {
+            return new ErrorObject(
+                    "%s index out of bounds: size %d, got %d",
+                    StringUtils.capitalize(evaluatedIndexable.getType().name().toLowerCase()),
+                    elements.size(),
+                    indexValue
+            );
+        }
+
+        EvaluatedObject value = eval(assignExpression.getValue(), environment);
+
+        if (value instanceof ErrorObject) {
+            return value;
+        }
+
+        EvaluatedObject newValue = applyAssignOperator(assignExpression.getOperator(), elements.get((int) position), value);
+
+        if (!(newValue instanceof ErrorObject)) {
+            try {
+                elements.set((int) position, newValue);
+            } catch (EvaluatorException e) {
+                // the storage rejected the value (e.g. read-only off-heap array, integer that is not a byte)
+                return new ErrorObject(e.getMessage());
+            }
+        }
+
+        return newValue;
+    }
+
+    /**
+     * Assigns the value of the {@code assignExpression} to a record field, replacing it in place. The slot of the
+     * field is resolved through the inline cache of the {@link MemberExpression}.
+     *
+     * @param memberExpression the {@link MemberExpression} that selects the field
+     * @param assignExpression the {@link AssignExpression} expression
+     * @param environment      the {@link Environment} object that contains the bindings
+     * @return the assigned value
+     */
+    private EvaluatedObject assignMember(MemberExpression memberExpression, AssignExpression assignExpression, Environment environment) {
+        EvaluatedObject evaluatedRecord = eval(memberExpression.getRecordExpression(), environment);
+
+        if (evaluatedRecord instanceof ErrorObject) {
+            return evaluatedRecord;
+        }
+
+        if (!(evaluatedRecord instanceof RecordObject recordObject)) {
+            return new ErrorObject(
+                    "Cannot access member '%s' of %s: not a %s",
+                    memberExpression.getMember(),
+                    evaluatedRecord.getType().name(),
+                    ObjectTypes.RECORD.name()
+            );
+        }
+
+        RecordShape.Slot slot = resolveMemberSlot(memberExpression, recordObject);
+
+        if (slot == null) {
+            return new ErrorObject("Record has no field '%s'", memberExpression.getMember());
+        }
+
+        EvaluatedObject value = eval(assignExpression.getValue(), environment);
+
+        if (value instanceof ErrorObject) {
+            return value;
+        }
+
+        EvaluatedObject newValue = applyAssignOperator(assignExpression.getOperator(), recordObject.get(slot.index()), value);
+
+        if (!(newValue instanceof ErrorObject)) {
+            recordObject.set(slot.index(), newValue);
+        }
+
+        return newValue;
+    }
+
+    /**
+     * Computes the value stored by an assignment operator: the value itself for {@code =}, the current value of the
+     * target combined with the value for {@code +=} and {@code -=}.
+     *
+     * @param operator the assignment {@link Operator}
+     * @param current  the current value of the assignment target
+     * @param value    the evaluated value of the assignment
+     * @return the value to store in the target
+     */
+    private EvaluatedObject applyAssignOperator(Operator operator, EvaluatedObject current, EvaluatedObject value) {
+        return switch (operator) {
+            case PLUS_ASSIGN -> applyInfixOperator(Operator.PLUS, current, value);
+            case MINUS_ASSIGN -> applyInfixOperator(Operator.MINUS, current, value);
+            default -> value;
+        };
+    }
 }
@@ -0,0 +1,192 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ErrorObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.FunctionObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.Objects;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * Values yielded by a call of a generator function. Every iteration evaluates the body of the function from the
+ * start on its own virtual thread, that hands each yielded value over to the iterator and stops until the next one is
+ * requested: the body and the code that iterates run one at a time, so they can share their scopes, and the values
+ * are produced one at a time, on demand.
+ * <p>
+ * The iteration ends when the body ends; its result and the value of a {@code return} are discarded. If the body
+ * fails, the iterator throws an {@link EvaluatorException}. The thread of an iteration stopped before the end is
+ * stopped when the iterator is no longer reachable.
+ */
+final class Generator implements Iterable<EvaluatedObject> {
+    // the handoff of the generator whose body is evaluated by the current thread
+    private static final ThreadLocal<Handoff> CURRENT = new ThreadLocal<>();
+
+    private final Evaluator evaluator;
+    private final FunctionObject function;
+    private final List<EvaluatedObject> args;
+
+    Generator(Evaluator evaluator, FunctionObject function, List<EvaluatedObject> args) {
+        this.evaluator = evaluator;
+        this.function = function;
+        this.args = args;
+    }
+
+    /**
+     * Hands a value over to the iterator of the generator whose body is evaluated by the current thread, and waits
+     * until the iterator requests the next value.
+     *
+     * @param value the yielded value
+     * @return {@link Objects#NULL}, or an {@link ErrorObject} if the current thread is not evaluating the body of a
+     * generator function
+     */
+    static EvaluatedObject yieldValue(EvaluatedObject value) {
+        Handoff handoff = CURRENT.get();
+
+        if (handoff == null) {
+            return new ErrorObject("yield outside of a generator function");
+        }
+
+        try {
+            handoff.steps.put(new Step(value, false));
+            handoff.resume.acquire();
+        } catch (InterruptedException e) {
+            // the iterator is no longer reachable
+            throw new Stopped();
+        }
+
+        return Objects.NULL;
+    }
+
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new GeneratorIterator();
+    }
+
+    /**
+     * Starts the thread that evaluates the body, that must not reference the iterator.
+     *
+     * @param handoff the channel to the iterator
+     */
+    private void start(Handoff handoff) {
+        handoff.thread = Thread.ofVirtual().name("generator").start(() -> {
+            CURRENT.set(handoff);
+            EvaluatedObject result;
+
+            try {
+                result = evaluator.evalFunctionBody(function, args);
+            } catch (Stopped e) {
+                return;
+            } catch (StackOverflowError e) {
+                result = new ErrorObject("Generator failed: stack overflow");
+            } catch (EvaluatorException e) {
+                result = new ErrorObject(e.getMessage());
+            } catch (Throwable e) {
+                // e.g. an OutOfMemoryError: the last step must be sent anyway, or the iterator would wait for it forever
+                result = new ErrorObject("Generator failed: %s", e);
+            }
+
+            try {
+                handoff.steps.put(new Step(result instanceof ErrorObject ? result : Objects.NULL, true));
+            } catch (InterruptedException e) {
+                // the iterator is no longer reachable
+            }
+        });
+    }
+
+    /**
+     * Value passed from the body to the iterator.
+     *
+     * @param value the yielded value, or the error of the body if {@code last}
+     * @param last  the body has ended
+     */
+    private record Step(EvaluatedObject value, boolean last) {
+    }
+
+    /**
+     * Channel between the thread of the body and the iterator, that must not reference the iterator.
+     */
+    private static final class Handoff implements Runnable {
+        private final SynchronousQueue<Step> steps = new SynchronousQueue<>();
+        private final Semaphore resume = new Semaphore(0);
+        private volatile Thread thread;
+
+        /**
+         * Stops the thread of the body, waiting in a yield statement.
+         */
+        @Override
+        public void run() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Unwinds the evaluation of the body when the iteration is abandoned: it is not an {@link EvaluatorException}, so
+     * it is not turned into an error on its way.
+     */
+    private static final class Stopped extends RuntimeException {
+        Stopped() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final class GeneratorIterator implements Iterator<EvaluatedObject> {
+        private final Handoff handoff = new Handoff();
+        private EvaluatedObject nextValue;
+        private boolean started;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            if (nextValue == null && !exhausted) {
+                if (!started) {
+                    started = true;
+                    start(handoff);
+                    ResourceCleaner.register(this, handoff);
+                } else {
+                    handoff.resume.release();
+                }
+
+                Step step;
+
+                try {
+                    step = handoff.steps.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    exhausted = true;
+                    handoff.run();
+                    throw new EvaluatorException("Generator interrupted");
+                }
+
+                if (step.last()) {
+                    exhausted = true;
+
+                    if (step.value() instanceof ErrorObject errorObject) {
+                        throw new EvaluatorException(errorObject.getError());
+                    }
+                } else {
+                    nextValue = step.value();
+                }
+            }
+
+            return nextValue != null;
+        }
+
+        @Override
+        public EvaluatedObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            EvaluatedObject value = nextValue;
+            nextValue = null;
+            return value;
+        }
+    }
+}
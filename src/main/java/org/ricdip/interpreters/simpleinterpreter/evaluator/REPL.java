@@ -2,14 +2,16 @@ package org.ricdip.interpreters.simpleinterpreter.evaluator;
 
 import org.apache.commons.lang3.StringUtils;
 import org.ricdip.interpreters.simpleinterpreter.Constants;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.builtin.ConcurrencyFunctions;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ErrorObject;
 import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
 import org.ricdip.interpreters.simpleinterpreter.lexer.Lexer;
 import org.ricdip.interpreters.simpleinterpreter.parser.Parser;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.impl.Program;
 import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
 
-import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.util.Optional;
 import java.util.Scanner;
 
@@ -17,9 +19,10 @@ public final class REPL {
     private REPL() {
     }
 
-    public static void start(InputStream in, PrintWriter out) {
+    public static void start(Reader in, PrintWriter out) {
         Scanner scanner = new Scanner(in);
         Environment environment = new Environment();
+        Evaluator evaluator = new Evaluator();
         String line = "";
 
         while (true) {
@@ -52,8 +55,6 @@ public final class REPL {
             }
 
             if (program.isPresent()) {
-                Evaluator evaluator = new Evaluator();
-
                 EvaluatedObject result = evaluator.eval(program.get(), environment);
 
                 Utils.println(out, result);
@@ -61,5 +62,11 @@ public final class REPL {
 
             line = "";
         }
+
+        ErrorObject taskFailure = ConcurrencyFunctions.awaitTopLevelTasks();
+
+        if (taskFailure != null) {
+            Utils.println(out, taskFailure);
+        }
     }
 }
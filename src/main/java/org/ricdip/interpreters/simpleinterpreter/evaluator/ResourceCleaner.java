@@ -0,0 +1,68 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Releases the resources held by the lazy objects of the interpreter, like open files and running threads, when the
+ * objects are no longer reachable. All of them share one {@link Cleaner}, so one thread runs the actions.
+ * <p>
+ * An action must not reference its object, or the object would stay reachable and the action would never run.
+ */
+public final class ResourceCleaner {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private ResourceCleaner() {
+    }
+
+    /**
+     * Runs an action when an object is no longer reachable.
+     *
+     * @param owner  the object
+     * @param action the action, that must not reference the owner
+     * @return the registration, whose {@link Cleaner.Cleanable#clean() clean} runs the action earlier: the action is
+     * run at most once
+     */
+    public static Cleaner.Cleanable register(Object owner, Runnable action) {
+        return CLEANER.register(owner, action);
+    }
+
+    /**
+     * Closes a resource when an object is no longer reachable, ignoring the errors of the close.
+     *
+     * @param owner    the object
+     * @param resource the resource, that must not reference the owner
+     * @return the registration, whose {@link Cleaner.Cleanable#clean() clean} closes the resource earlier
+     */
+    public static Cleaner.Cleanable closeOnCleanup(Object owner, Closeable resource) {
+        return closeOnCleanup(owner, List.of(resource));
+    }
+
+    /**
+     * Closes resources when an object is no longer reachable, ignoring the errors of the close.
+     *
+     * @param owner     the object
+     * @param resources the resources, that must not reference the owner; a resource added to the collection after the
+     *                  registration is closed too
+     * @return the registration, whose {@link Cleaner.Cleanable#clean() clean} closes the resources earlier
+     */
+    public static Cleaner.Cleanable closeOnCleanup(Object owner, Collection<? extends Closeable> resources) {
+        return register(owner, new CloseAll(resources));
+    }
+
+    private record CloseAll(Collection<? extends Closeable> resources) implements Runnable {
+        @Override
+        public void run() {
+            for (Closeable resource : resources) {
+                try {
+                    resource.close();
+                } catch (IOException e) {
+                    // nothing is left to read from the resource
+                }
+            }
+        }
+    }
+}
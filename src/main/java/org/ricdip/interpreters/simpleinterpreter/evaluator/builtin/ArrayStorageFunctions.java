@@ -0,0 +1,115 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Builtin functions that create integer arrays stored outside the Java heap (see {@link IntBufferList}). The created
+ * arrays have a fixed size and work with indexing, assignment, {@code len}, {@code first}, {@code rest} and
+ * {@code for}. The ints are stored in big-endian byte order unless {@code "little"} is passed as last argument.
+ */
+public final class ArrayStorageFunctions {
+    public static final BuiltinFunction DIRECT_ARRAY = new BuiltinFunction(
+            "directArray",
+            (evaluator, args) -> {
+                if (args.length < 1 || args.length > 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1 or 2", args.length);
+                }
+
+                if (!(args[0] instanceof IntegerObject size)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.INTEGER);
+                } else if (size.getValue() < 0) {
+                    return new ErrorObject("Array size must not be negative, got %d", size.getValue());
+                }
+
+                EvaluatedObject order = ByteOrderArgument.validate(args, 1);
+
+                if (order instanceof ErrorObject) {
+                    return order;
+                }
+
+                return new ArrayObject(IntBufferList.allocateDirect(size.intValue(), ByteOrderArgument.toByteOrder(order)));
+            },
+            """
+                    directArray(size -> integer[, order -> string]) -> array: returns an array of 'size' zeros stored in off-heap memory
+                    """
+    );
+    public static final BuiltinFunction MAP_ARRAY = new BuiltinFunction(
+            "mapArray",
+            (evaluator, args) -> {
+                if (args.length < 1 || args.length > 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1 or 2", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject path)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                EvaluatedObject order = ByteOrderArgument.validate(args, 1);
+
+                if (order instanceof ErrorObject) {
+                    return order;
+                }
+
+                try {
+                    return new ArrayObject(IntBufferList.mapReadOnly(Path.of(path.getValue()), ByteOrderArgument.toByteOrder(order)));
+                } catch (IOException e) {
+                    return mapError(path, e);
+                }
+            },
+            """
+                    mapArray(path -> string[, order -> string]) -> array: returns a read-only array of the ints stored in the file 'path', mapped in memory without copying it
+                    """
+    );
+    public static final BuiltinFunction CREATE_MAPPED_ARRAY = new BuiltinFunction(
+            "createMappedArray",
+            (evaluator, args) -> {
+                if (args.length < 2 || args.length > 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2 or 3", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject path)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                if (!(args[1] instanceof IntegerObject size)) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.INTEGER);
+                } else if (size.getValue() < 0) {
+                    return new ErrorObject("Array size must not be negative, got %d", size.getValue());
+                }
+
+                EvaluatedObject order = ByteOrderArgument.validate(args, 2);
+
+                if (order instanceof ErrorObject) {
+                    return order;
+                }
+
+                try {
+                    return new ArrayObject(IntBufferList.mapReadWrite(Path.of(path.getValue()), size.intValue(), ByteOrderArgument.toByteOrder(order)));
+                } catch (IOException e) {
+                    return mapError(path, e);
+                }
+            },
+            """
+                    createMappedArray(path -> string, size -> integer[, order -> string]) -> array: returns an array of 'size' ints stored in the file 'path' (created if missing): changes to the array are written to the file
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "array storage",
+            DIRECT_ARRAY,
+            MAP_ARRAY,
+            CREATE_MAPPED_ARRAY
+    );
+
+    private ArrayStorageFunctions() {
+    }
+
+    private static ErrorObject mapError(StringObject path, IOException e) {
+        String reason = e instanceof NoSuchFileException ? "file not found" : e.getMessage();
+        return new ErrorObject("Cannot map file '%s': %s", path.getValue(), reason);
+    }
+}
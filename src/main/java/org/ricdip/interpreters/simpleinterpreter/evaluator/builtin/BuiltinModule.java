@@ -0,0 +1,51 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.BuiltinFunction;
+
+import java.util.List;
+
+/**
+ * Group of library builtin functions. Besides the modules shipped with the interpreter, the implementations of this
+ * interface listed in a {@code META-INF/services/org.ricdip.interpreters.simpleinterpreter.evaluator.builtin.BuiltinModule}
+ * file on the classpath are discovered with a {@link java.util.ServiceLoader} and registered in the
+ * {@link BuiltinRegistry#getDefault() default registry}, so functions written in Java can be called by the scripts.
+ * Like the other library functions, a module function can be shadowed by a binding with the same name.
+ */
+public interface BuiltinModule {
+    /**
+     * Returns the name of the module, reported when a function of the module cannot be registered.
+     *
+     * @return the name of the module
+     */
+    String getName();
+
+    /**
+     * Returns the functions of the module.
+     *
+     * @return the functions of the module
+     */
+    List<BuiltinFunction> getFunctions();
+
+    /**
+     * Returns a module made of the given functions.
+     *
+     * @param name      the name of the module
+     * @param functions the functions of the module
+     * @return the module
+     */
+    static BuiltinModule of(String name, BuiltinFunction... functions) {
+        List<BuiltinFunction> functionList = List.of(functions);
+
+        return new BuiltinModule() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public List<BuiltinFunction> getFunctions() {
+                return functionList;
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.BuiltinFunction;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.Objects;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Immutable table of the builtin functions known to an {@link org.ricdip.interpreters.simpleinterpreter.evaluator.Evaluator}.
+ * The core functions ({@code print}, {@code len}, ...) are reserved names, while the functions of the
+ * {@link BuiltinModule}s are library functions that a binding with the same name can shadow.
+ * <p>
+ * The evaluator resolves an identifier in the registry the first time it evaluates it and stores the
+ * {@link Binding} in the identifier node, so the next evaluations of the node do not look up the name again.
+ */
+public final class BuiltinRegistry {
+    private static final List<BuiltinFunction> CORE_FUNCTIONS = List.of(
+            Objects.PRINT,
+            Objects.LEN,
+            Objects.FIRST,
+            Objects.REST,
+            Objects.PUSH,
+            Objects.APPEND,
+            Objects.POP,
+            Objects.REMOVE_LAST,
+            Objects.RANGE
+    );
+    private static final List<BuiltinModule> STANDARD_MODULES = List.of(
+            SequenceFunctions.MODULE,
+            BytesFunctions.MODULE,
+            ArrayStorageFunctions.MODULE,
+            TableFunctions.MODULE,
+            SetFunctions.MODULE,
+            PriorityQueueFunctions.MODULE,
+            OrderedMapFunctions.MODULE,
+            CollectionFunctions.MODULE,
+            VectorFunctions.MODULE,
+            TextFunctions.MODULE,
+            ExternalSortFunctions.MODULE,
+            FileFunctions.MODULE,
+            CodecFunctions.MODULE,
+            KvStoreFunctions.MODULE,
+            ParallelFunctions.MODULE,
+            ConcurrencyFunctions.MODULE
+    );
+
+    private static BuiltinRegistry defaultRegistry;
+
+    private final Map<String, Binding> bindings = new HashMap<>();
+    // returned for the names that are not builtin functions
+    private final Binding unbound = new Binding(this, null, false);
+
+    private BuiltinRegistry(List<BuiltinModule> modules) {
+        for (BuiltinFunction function : CORE_FUNCTIONS) {
+            bindings.put(function.getFunctionName(), new Binding(this, function, true));
+        }
+
+        for (BuiltinModule module : modules) {
+            for (BuiltinFunction function : module.getFunctions()) {
+                if (bindings.containsKey(function.getFunctionName())) {
+                    throw new EvaluatorException(
+                            "Cannot register builtin function '%s' of module %s: name already registered",
+                            function.getFunctionName(),
+                            module.getName()
+                    );
+                }
+
+                bindings.put(function.getFunctionName(), new Binding(this, function, false));
+            }
+        }
+    }
+
+    /**
+     * Returns the registry of the core functions, the standard modules and the modules discovered on the classpath.
+     * The registry is built the first time this method is called and shared by all the evaluators.
+     *
+     * @return the default registry
+     * @throws EvaluatorException if two modules define a function with the same name
+     */
+    public static synchronized BuiltinRegistry getDefault() {
+        if (defaultRegistry == null) {
+            List<BuiltinModule> modules = new ArrayList<>(STANDARD_MODULES);
+            ServiceLoader.load(BuiltinModule.class).forEach(modules::add);
+            defaultRegistry = new BuiltinRegistry(modules);
+        }
+
+        return defaultRegistry;
+    }
+
+    /**
+     * Returns a registry of the core functions, the standard modules and the given modules. The modules on the
+     * classpath are not discovered.
+     *
+     * @param modules the additional modules
+     * @return the new registry
+     * @throws EvaluatorException if two modules define a function with the same name
+     */
+    public static BuiltinRegistry of(List<BuiltinModule> modules) {
+        List<BuiltinModule> allModules = new ArrayList<>(STANDARD_MODULES);
+        allModules.addAll(modules);
+
+        return new BuiltinRegistry(allModules);
+    }
+
+    /**
+     * Resolves a name.
+     *
+     * @param name the name to resolve
+     * @return the binding of the name; its function is {@code null} if the name is not a builtin function
+     */
+    public Binding resolve(String name) {
+        return bindings.getOrDefault(name, unbound);
+    }
+
+    /**
+     * Returns whether a name is reserved for a core builtin function.
+     *
+     * @param name the name
+     * @return {@code true} if the name cannot be bound by the scripts
+     */
+    public boolean isReserved(String name) {
+        return resolve(name).core();
+    }
+
+    /**
+     * Result of the resolution of a name in a registry.
+     *
+     * @param registry the registry that resolved the name
+     * @param function the builtin function, or {@code null} if the name is not a builtin function
+     * @param core     {@code true} if the function is a core function, that cannot be shadowed
+     */
+    public record Binding(BuiltinRegistry registry, BuiltinFunction function, boolean core) {
+    }
+}
@@ -0,0 +1,35 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ErrorObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.StringObject;
+
+import java.nio.ByteOrder;
+
+/**
+ * Optional byte order argument of the builtin functions that read or write binary ints: {@code "big"} (default) or
+ * {@code "little"}.
+ */
+final class ByteOrderArgument {
+    private ByteOrderArgument() {
+    }
+
+    /**
+     * Validates the optional byte order argument at position {@code index}.
+     *
+     * @return the byte order argument ({@code "big"} if missing) or an {@link ErrorObject} if it is not valid
+     */
+    static EvaluatedObject validate(EvaluatedObject[] args, int index) {
+        if (args.length <= index) {
+            return new StringObject("big");
+        } else if (args[index] instanceof StringObject order && ("big".equals(order.getValue()) || "little".equals(order.getValue()))) {
+            return order;
+        } else {
+            return new ErrorObject("Byte order must be \"big\" or \"little\", got %s", args[index]);
+        }
+    }
+
+    static ByteOrder toByteOrder(EvaluatedObject order) {
+        return "little".equals(((StringObject) order).getValue()) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+    }
+}
@@ -0,0 +1,178 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builtin functions that create, slice and convert {@link BytesObject}s and read or write binary ints inside them.
+ */
+public final class BytesFunctions {
+    public static final BuiltinFunction BYTES = new BuiltinFunction(
+            "bytes",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                EvaluatedObject arg = args[0];
+
+                if (arg instanceof IntegerObject size) {
+                    if (size.getValue() < 0) {
+                        return new ErrorObject("Bytes size must not be negative, got %d", size.getValue());
+                    }
+
+                    return new BytesObject(ByteBuffer.allocate(size.intValue()));
+                } else if (arg instanceof StringObject stringObject) {
+                    // the encoded array becomes the buffer storage: no other copy is made
+                    return new BytesObject(ByteBuffer.wrap(stringObject.getValue().getBytes(StandardCharsets.UTF_8)));
+                } else if (arg instanceof ArrayObject arrayObject) {
+                    ByteBuffer buffer = ByteBuffer.allocate(arrayObject.getElements().size());
+
+                    for (int i = 0; i < buffer.limit(); i++) {
+                        if (!(arrayObject.getElements().get(i) instanceof IntegerObject element) || !isByte(element.getValue())) {
+                            return new ErrorObject("Cannot convert %s to a byte", arrayObject.getElements().get(i));
+                        }
+
+                        buffer.put(i, (byte) element.getValue());
+                    }
+
+                    return new BytesObject(buffer);
+                } else {
+                    return Utils.unexpectedObjectTypeError(arg.getType(), ObjectTypes.INTEGER, ObjectTypes.STRING, ObjectTypes.ARRAY);
+                }
+            },
+            """
+                    bytes(x -> integer|string|array) -> bytes: returns 'x' zero bytes, the UTF-8 bytes of the string 'x' or the bytes of the array of integers 'x'
+                    """
+    );
+    public static final BuiltinFunction SLICE = new BuiltinFunction(
+            "slice",
+            (evaluator, args) -> {
+                if (args.length < 2 || args.length > 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2 or 3", args.length);
+                }
+
+                if (!(args[0] instanceof BytesObject bytesObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.BYTES);
+                }
+
+                for (int i = 1; i < args.length; i++) {
+                    if (!(args[i] instanceof IntegerObject)) {
+                        return Utils.unexpectedObjectTypeError(args[i].getType(), ObjectTypes.INTEGER);
+                    }
+                }
+
+                long from = ((IntegerObject) args[1]).getValue();
+                long to = args.length == 3 ? ((IntegerObject) args[2]).getValue() : bytesObject.size();
+
+                if (from < 0 || from > to || to > bytesObject.size()) {
+                    return new ErrorObject("Slice bounds out of range: size %d, got [%d, %d)", bytesObject.size(), from, to);
+                }
+
+                return bytesObject.slice((int) from, (int) to);
+            },
+            """
+                    slice(x -> bytes, from -> integer[, to -> integer]) -> bytes: returns the bytes of 'x' from 'from' to 'to' (excluded, default the end of 'x') sharing them with 'x'
+                    """
+    );
+    public static final BuiltinFunction READ_INT = new BuiltinFunction(
+            "readInt",
+            (evaluator, args) -> {
+                if (args.length < 2 || args.length > 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2 or 3", args.length);
+                }
+
+                if (!(args[0] instanceof BytesObject bytesObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.BYTES);
+                }
+
+                if (!(args[1] instanceof IntegerObject offset)) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.INTEGER);
+                }
+
+                EvaluatedObject order = ByteOrderArgument.validate(args, 2);
+
+                if (order instanceof ErrorObject) {
+                    return order;
+                } else if (!isIntOffset(bytesObject, offset.getValue())) {
+                    return offsetError(bytesObject, offset.getValue());
+                }
+
+                return IntegerObject.valueOf(bytesObject.getInt((int) offset.getValue(), ByteOrderArgument.toByteOrder(order)));
+            },
+            """
+                    readInt(x -> bytes, offset -> integer[, order -> string]) -> integer: returns the 32-bit integer stored in 'x' at 'offset'
+                    """
+    );
+    public static final BuiltinFunction WRITE_INT = new BuiltinFunction(
+            "writeInt",
+            (evaluator, args) -> {
+                if (args.length < 3 || args.length > 4) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 3 or 4", args.length);
+                }
+
+                if (!(args[0] instanceof BytesObject bytesObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.BYTES);
+                }
+
+                if (!(args[1] instanceof IntegerObject offset)) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.INTEGER);
+                }
+
+                if (!(args[2] instanceof IntegerObject value)) {
+                    return Utils.unexpectedObjectTypeError(args[2].getType(), ObjectTypes.INTEGER);
+                }
+
+                EvaluatedObject order = ByteOrderArgument.validate(args, 3);
+
+                if (order instanceof ErrorObject) {
+                    return order;
+                } else if (!isIntOffset(bytesObject, offset.getValue())) {
+                    return offsetError(bytesObject, offset.getValue());
+                }
+
+                bytesObject.putInt((int) offset.getValue(), value.intValue(), ByteOrderArgument.toByteOrder(order));
+
+                return bytesObject;
+            },
+            """
+                    writeInt(x -> bytes, offset -> integer, value -> integer[, order -> string]) -> bytes: stores the 32-bit integer 'value' in 'x' at 'offset' and returns 'x'
+                    """
+    );
+    public static final BuiltinFunction DECODE = new BuiltinFunction(
+            "decode",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof BytesObject bytesObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.BYTES);
+                }
+
+                return new StringObject(bytesObject.decode());
+            },
+            """
+                    decode(x -> bytes) -> string: returns the string encoded in UTF-8 by 'x'
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of("bytes", BYTES, SLICE, READ_INT, WRITE_INT, DECODE);
+
+    private BytesFunctions() {
+    }
+
+    private static boolean isByte(long value) {
+        return value >= Byte.MIN_VALUE && value <= 0xFF;
+    }
+
+    private static boolean isIntOffset(BytesObject bytesObject, long offset) {
+        return offset >= 0 && offset <= bytesObject.size() - Integer.BYTES;
+    }
+
+    private static ErrorObject offsetError(BytesObject bytesObject, long offset) {
+        return new ErrorObject("Bytes offset out of bounds: size %d, got %d for a %d bytes integer", bytesObject.size(), offset, Integer.BYTES);
+    }
+}
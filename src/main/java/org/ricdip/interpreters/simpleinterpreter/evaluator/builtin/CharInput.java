@@ -0,0 +1,73 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Buffer of the characters read from a {@link Reader}, shared by the parsers of the codec functions. The parsers scan
+ * {@link #buffer} between {@link #position} and {@link #limit} directly, so that a token contained in the buffer can
+ * be turned into a string with a single copy.
+ */
+final class CharInput {
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    final char[] buffer = new char[BUFFER_SIZE];
+    int position;
+    int limit;
+    private final Reader reader;
+    // number of characters read before the first character of the buffer
+    private long bufferOffset;
+
+    CharInput(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next characters if all the characters of the buffer have been consumed.
+     *
+     * @return true if the buffer has remaining characters, false at the end of the input
+     */
+    boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+
+        bufferOffset += limit;
+        position = 0;
+        limit = 0;
+
+        int count;
+
+        do {
+            count = reader.read(buffer);
+        } while (count == 0);
+
+        if (count < 0) {
+            return false;
+        }
+
+        limit = count;
+        return true;
+    }
+
+    /**
+     * @return the next character without consuming it, or -1 at the end of the input
+     */
+    int peek() throws IOException {
+        return fill() ? buffer[position] : -1;
+    }
+
+    /**
+     * @return the next character, or -1 at the end of the input
+     */
+    int read() throws IOException {
+        return fill() ? buffer[position++] : -1;
+    }
+
+    /**
+     * @return the number of characters consumed from the start of the input
+     */
+    long offset() {
+        return bufferOffset + position;
+    }
+}
@@ -0,0 +1,243 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builtin functions that convert values from and to JSON ({@link JsonReader}, {@link JsonWriter}) and CSV
+ * ({@link CsvReader}, {@link CsvWriter}). {@code parseJson} and {@code parseCsv} parse a string;
+ * {@code readJson} and {@code readCsv} return lazy sequences that parse a file one value or row at a time.
+ * {@code writeJson} and {@code writeCsv} write the text to a file while visiting the value, without building it in
+ * memory.
+ */
+public final class CodecFunctions {
+    public static final BuiltinFunction PARSE_JSON = new BuiltinFunction(
+            "parseJson",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                try {
+                    return new JsonReader(new StringReader(stringObject.getValue())).readDocument();
+                } catch (IOException e) {
+                    // a string reader does not fail
+                    throw new IllegalStateException(e);
+                }
+            },
+            """
+                    parseJson(x -> string) -> any: returns the value of the JSON text 'x': objects become records, arrays become arrays, numbers must be integers
+                    """
+    );
+    public static final BuiltinFunction TO_JSON = new BuiltinFunction(
+            "toJson",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                StringBuilder builder = new StringBuilder();
+
+                try {
+                    JsonWriter.write(builder, args[0]);
+                } catch (IOException e) {
+                    // a string builder does not fail
+                    throw new IllegalStateException(e);
+                }
+
+                return new StringObject(builder.toString());
+            },
+            """
+                    toJson(x -> any) -> string: returns the JSON text of 'x': records become objects, arrays, ranges and sequences become arrays
+                    """
+    );
+    public static final BuiltinFunction READ_JSON = new BuiltinFunction(
+            "readJson",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                Path path = FileFunctions.readablePath(stringObject.getValue());
+
+                if (path == null) {
+                    return new ErrorObject("Cannot read %s: not a readable file", stringObject.getValue());
+                }
+
+                return new SequenceObject(new ParsedFileSource(path, reader -> new JsonReader(reader)::nextStreamed));
+            },
+            """
+                    readJson(path -> string) -> sequence: returns a lazy sequence of the elements of the JSON array in the file at 'path', or of the JSON values separated by whitespace if the file does not contain an array
+                    """
+    );
+    public static final BuiltinFunction WRITE_JSON = new BuiltinFunction(
+            "writeJson",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                EvaluatedObject value = args[1];
+
+                return writeFile(stringObject.getValue(), writer -> JsonWriter.write(writer, value));
+            },
+            """
+                    writeJson(path -> string, x -> any) -> null: writes the JSON text of 'x' to the file at 'path'
+                    """
+    );
+    public static final BuiltinFunction PARSE_CSV = new BuiltinFunction(
+            "parseCsv",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                CsvReader csvReader = new CsvReader(new StringReader(stringObject.getValue()));
+                List<EvaluatedObject> rows = new ArrayList<>();
+
+                try {
+                    for (ArrayObject row = csvReader.readRow(); row != null; row = csvReader.readRow()) {
+                        rows.add(row);
+                    }
+                } catch (IOException e) {
+                    // a string reader does not fail
+                    throw new IllegalStateException(e);
+                }
+
+                return new ArrayObject(rows);
+            },
+            """
+                    parseCsv(x -> string) -> array: returns the rows of the CSV text 'x', each one an array of strings
+                    """
+    );
+    public static final BuiltinFunction TO_CSV = new BuiltinFunction(
+            "toCsv",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!CsvWriter.isRow(args[0])) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.RANGE, ObjectTypes.SEQUENCE);
+                }
+
+                StringBuilder builder = new StringBuilder();
+
+                try {
+                    CsvWriter.write(builder, (IterableObject) args[0]);
+                } catch (IOException e) {
+                    // a string builder does not fail
+                    throw new IllegalStateException(e);
+                }
+
+                return new StringObject(builder.toString());
+            },
+            """
+                    toCsv(x -> array|range|sequence) -> string: returns the CSV text of the rows of 'x', each one an array of strings, integers, booleans or nulls
+                    """
+    );
+    public static final BuiltinFunction READ_CSV = new BuiltinFunction(
+            "readCsv",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                Path path = FileFunctions.readablePath(stringObject.getValue());
+
+                if (path == null) {
+                    return new ErrorObject("Cannot read %s: not a readable file", stringObject.getValue());
+                }
+
+                return new SequenceObject(new ParsedFileSource(path, reader -> new CsvReader(reader)::readRow));
+            },
+            """
+                    readCsv(path -> string) -> sequence: returns a lazy sequence of the rows of the CSV file at 'path', each one an array of strings
+                    """
+    );
+    public static final BuiltinFunction WRITE_CSV = new BuiltinFunction(
+            "writeCsv",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                if (!CsvWriter.isRow(args[1])) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.ARRAY, ObjectTypes.RANGE, ObjectTypes.SEQUENCE);
+                }
+
+                IterableObject rows = (IterableObject) args[1];
+
+                return writeFile(stringObject.getValue(), writer -> CsvWriter.write(writer, rows));
+            },
+            """
+                    writeCsv(path -> string, x -> array|range|sequence) -> null: writes the CSV text of the rows of 'x' to the file at 'path'
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "codec",
+            PARSE_JSON,
+            TO_JSON,
+            READ_JSON,
+            WRITE_JSON,
+            PARSE_CSV,
+            TO_CSV,
+            READ_CSV,
+            WRITE_CSV
+    );
+
+    private CodecFunctions() {
+    }
+
+    @FunctionalInterface
+    private interface WriterAction {
+        void write(Writer writer) throws IOException;
+    }
+
+    /**
+     * Creates or truncates a UTF-8 file and writes it through a buffered writer.
+     */
+    private static EvaluatedObject writeFile(String value, WriterAction action) {
+        try (Writer writer = Files.newBufferedWriter(Path.of(value), StandardCharsets.UTF_8)) {
+            action.write(writer);
+        } catch (IOException | InvalidPathException e) {
+            return new ErrorObject("Cannot write %s: %s", value, e.getMessage());
+        }
+
+        return Objects.NULL;
+    }
+}
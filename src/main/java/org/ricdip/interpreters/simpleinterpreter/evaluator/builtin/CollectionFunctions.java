@@ -0,0 +1,280 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builtin functions that sort and search arrays. They work on the element list of the {@link ArrayObject} and, like
+ * {@code push} and {@code rest}, return a new array instead of changing the argument. Arrays that contain only 64-bit
+ * integers are copied to a {@code long[]} and sorted as primitive values, and integers are searched by comparing their
+ * values; without a comparator, the elements are sorted with {@link Arrays#parallelSort}, that splits large arrays
+ * across the common fork/join pool.
+ * A comparator function runs in the evaluator, so the arrays sorted with one are sorted on the calling thread.
+ */
+public final class CollectionFunctions {
+    public static final BuiltinFunction SORT = new BuiltinFunction(
+            "sort",
+            (evaluator, args) -> {
+                if (args.length != 1 && args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1 or 2", args.length);
+                }
+
+                if (!(args[0] instanceof ArrayObject arrayObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY);
+                }
+
+                List<EvaluatedObject> elements = arrayObject.getElements();
+
+                if (args.length == 2) {
+                    if (!isFunction(args[1])) {
+                        return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                    }
+
+                    return sortWithFunction(elements, new FunctionComparator(evaluator, args[1]));
+                }
+
+                long[] values = integerValues(elements);
+
+                if (values != null) {
+                    Arrays.parallelSort(values);
+                    return integerArray(values);
+                }
+
+                EvaluatedObject[] sorted = elements.toArray(EvaluatedObject[]::new);
+                // the elements are checked before sorting, so that the parallel sort cannot fail in a worker thread
+                checkComparable(sorted);
+                Arrays.parallelSort(sorted, NaturalOrder.INSTANCE);
+                return new ArrayObject(new ArrayList<>(Arrays.asList(sorted)));
+            },
+            """
+                    sort(x -> array, [compare -> function]) -> array: returns a new array with the elements of 'x' ordered by 'compare' (a function that returns a negative integer, zero or a positive integer if its first argument comes before, together with or after the second one) or by the natural order of integers, strings and booleans
+                    """
+    );
+    public static final BuiltinFunction BINARY_SEARCH = new BuiltinFunction(
+            "binarySearch",
+            (evaluator, args) -> {
+                if (args.length != 2 && args.length != 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2 or 3", args.length);
+                }
+
+                if (!(args[0] instanceof ArrayObject arrayObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY);
+                }
+
+                Comparator<EvaluatedObject> order = NaturalOrder.INSTANCE;
+
+                if (args.length == 3) {
+                    if (!isFunction(args[2])) {
+                        return Utils.unexpectedObjectTypeError(args[2].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                    }
+
+                    order = new FunctionComparator(evaluator, args[2]);
+                }
+
+                // the list of an array allows random access: the search reads log(n) elements
+                return IntegerObject.valueOf(Collections.binarySearch(arrayObject.getElements(), args[1], order));
+            },
+            """
+                    binarySearch(x -> array, y -> any, [compare -> function]) -> integer: returns the index of 'y' in 'x', sorted by 'compare' or by the natural order, or (-(insertion point) - 1) if 'x' does not contain 'y'
+                    """
+    );
+    public static final BuiltinFunction REVERSE = new BuiltinFunction(
+            "reverse",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (args[0] instanceof ArrayObject arrayObject) {
+                    List<EvaluatedObject> reversed = new ArrayList<>(arrayObject.getElements());
+                    Collections.reverse(reversed);
+                    return new ArrayObject(reversed);
+                } else if (args[0] instanceof StringObject stringObject) {
+                    return new StringObject(new StringBuilder(stringObject.getValue()).reverse().toString());
+                } else {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.STRING);
+                }
+            },
+            """
+                    reverse(x -> array|string) -> array|string: returns a new object with the elements of 'x' in reverse order
+                    """
+    );
+    public static final BuiltinFunction INDEX_OF = new BuiltinFunction(
+            "indexOf",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof ArrayObject arrayObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY);
+                }
+
+                return IntegerObject.valueOf(indexOf(arrayObject.getElements(), args[1]));
+            },
+            """
+                    indexOf(x -> array, y -> any) -> integer: returns the index of the first element of 'x' equal to 'y', or -1 if 'x' does not contain 'y'
+                    """
+    );
+    public static final BuiltinFunction CONTAINS = new BuiltinFunction(
+            "contains",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof ArrayObject arrayObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY);
+                }
+
+                return new BooleanObject(indexOf(arrayObject.getElements(), args[1]) >= 0);
+            },
+            """
+                    contains(x -> array, y -> any) -> boolean: returns true if an element of 'x' is equal to 'y'
+                    """
+    );
+    public static final BuiltinFunction MIN = extremumFunction(
+            "min",
+            -1,
+            """
+                    min(x -> array) -> any: returns the smallest element of 'x' in the natural order, or null if 'x' is empty
+                    """
+    );
+    public static final BuiltinFunction MAX = extremumFunction(
+            "max",
+            1,
+            """
+                    max(x -> array) -> any: returns the greatest element of 'x' in the natural order, or null if 'x' is empty
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "collection",
+            SORT,
+            BINARY_SEARCH,
+            REVERSE,
+            INDEX_OF,
+            CONTAINS,
+            MIN,
+            MAX
+    );
+
+    private CollectionFunctions() {
+    }
+
+    private static boolean isFunction(EvaluatedObject evaluatedObject) {
+        return evaluatedObject instanceof FunctionObject || evaluatedObject instanceof BuiltinFunction;
+    }
+
+    /**
+     * Returns the values of the elements if they are all 64-bit integers.
+     *
+     * @return the values, or {@code null} if an element is not an {@link IntegerObject}
+     */
+    private static long[] integerValues(List<EvaluatedObject> elements) {
+        long[] values = new long[elements.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            if (!(elements.get(i) instanceof IntegerObject integerObject)) {
+                return null;
+            }
+
+            values[i] = integerObject.getValue();
+        }
+
+        return values;
+    }
+
+    private static ArrayObject integerArray(long[] values) {
+        List<EvaluatedObject> elements = new ArrayList<>(values.length);
+
+        for (long value : values) {
+            elements.add(IntegerObject.valueOf(value));
+        }
+
+        return new ArrayObject(elements);
+    }
+
+    /**
+     * Checks that every element can be compared with the first one in the natural order.
+     *
+     * @throws EvaluatorException if an element has another type or a type that has no order
+     */
+    private static void checkComparable(EvaluatedObject[] elements) {
+        for (EvaluatedObject element : elements) {
+            NaturalOrder.INSTANCE.compare(elements[0], element);
+        }
+    }
+
+    private static ArrayObject sortWithFunction(List<EvaluatedObject> elements, Comparator<EvaluatedObject> comparator) {
+        EvaluatedObject[] sorted = elements.toArray(EvaluatedObject[]::new);
+
+        try {
+            Arrays.sort(sorted, comparator);
+        } catch (IllegalArgumentException e) {
+            // reported by the sort when the results of the comparator contradict each other
+            throw new EvaluatorException("Comparator does not define a consistent order");
+        }
+
+        return new ArrayObject(new ArrayList<>(Arrays.asList(sorted)));
+    }
+
+    private static int indexOf(List<EvaluatedObject> elements, EvaluatedObject element) {
+        if (element instanceof IntegerObject integerObject) {
+            long value = integerObject.getValue();
+
+            for (int i = 0; i < elements.size(); i++) {
+                if (elements.get(i) instanceof IntegerObject candidate && candidate.getValue() == value) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        return elements.indexOf(element);
+    }
+
+    /**
+     * Builds a function that returns the smallest ({@code sign} -1) or the greatest ({@code sign} 1) element of an
+     * array in the natural order.
+     */
+    private static BuiltinFunction extremumFunction(String functionName, int sign, String usage) {
+        return new BuiltinFunction(
+                functionName,
+                (evaluator, args) -> {
+                    if (args.length != 1) {
+                        return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                    }
+
+                    if (!(args[0] instanceof ArrayObject arrayObject)) {
+                        return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY);
+                    }
+
+                    List<EvaluatedObject> elements = arrayObject.getElements();
+
+                    if (elements.isEmpty()) {
+                        return Objects.NULL;
+                    }
+
+                    // two integer objects are compared by the natural order as primitive values
+                    EvaluatedObject extremum = elements.getFirst();
+
+                    for (EvaluatedObject element : elements) {
+                        if (Integer.signum(NaturalOrder.INSTANCE.compare(element, extremum)) == sign) {
+                            extremum = element;
+                        }
+                    }
+
+                    return extremum;
+                },
+                usage
+        );
+    }
+}
@@ -0,0 +1,186 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.Environment;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builtin functions that run functions as tasks on virtual threads, scoped by a {@link TaskScope}, and let them
+ * exchange values through bounded {@link ChannelObject}s.
+ * <p>
+ * A task must not read the scopes of the thread that spawned it, which keeps changing them: {@code spawn} copies the
+ * function with a {@link Environment#snapshot() snapshot} of the bindings it can see, so the task sees the values
+ * they had when it was spawned, and its assignments change only its own copy. The functions sent to a channel are
+ * copied in the same way. Arrays and records are not copied: the tasks that share one should only read it.
+ */
+public final class ConcurrencyFunctions {
+    public static final BuiltinFunction SPAWN = new BuiltinFunction(
+            "spawn",
+            (evaluator, args) -> {
+                if (args.length == 0) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be at least 1", args.length);
+                }
+
+                if (!(args[0] instanceof FunctionObject) && !(args[0] instanceof BuiltinFunction)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                }
+
+                TaskScope scope = TaskScope.current();
+
+                if (scope.isCancelled()) {
+                    return scope.cancellationError();
+                }
+
+                List<EvaluatedObject> parameters = new ArrayList<>(args.length - 1);
+
+                for (EvaluatedObject parameter : Arrays.asList(args).subList(1, args.length)) {
+                    parameters.add(snapshot(parameter));
+                }
+
+                return scope.spawn(evaluator, snapshot(args[0]), parameters);
+            },
+            """
+                    spawn(f -> function, x -> any, ...) -> task: calls f(x, ...) on a new virtual thread and returns its task
+                    """
+    );
+    public static final BuiltinFunction AWAIT = new BuiltinFunction(
+            "await",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof TaskObject taskObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.TASK);
+                }
+
+                return TaskScope.waitFor(taskObject::await);
+            },
+            """
+                    await(t -> task) -> any: waits until the function of 't' returns and returns its result
+                    """
+    );
+    public static final BuiltinFunction SCOPE = new BuiltinFunction(
+            "scope",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof FunctionObject) && !(args[0] instanceof BuiltinFunction)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                }
+
+                return TaskScope.run(evaluator, args[0]);
+            },
+            """
+                    scope(f -> function) -> any: calls f() and waits for the tasks it spawns; if a task fails, the others are cancelled and its error is returned
+                    """
+    );
+    public static final BuiltinFunction CHANNEL = new BuiltinFunction(
+            "channel",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof IntegerObject integerObject)
+                    || integerObject.getValue() <= 0 || integerObject.getValue() > Integer.MAX_VALUE) {
+                    return new ErrorObject("Channel capacity must be a positive INTEGER, got %s", args[0]);
+                }
+
+                return new ChannelObject((int) integerObject.getValue());
+            },
+            """
+                    channel(capacity -> integer) -> channel: returns a new channel that holds up to 'capacity' values
+                    """
+    );
+    public static final BuiltinFunction SEND = new BuiltinFunction(
+            "send",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof ChannelObject channelObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.CHANNEL);
+                }
+
+                EvaluatedObject value = snapshot(args[1]);
+
+                return TaskScope.waitFor(() -> {
+                    channelObject.send(value);
+                    return Objects.NULL;
+                });
+            },
+            """
+                    send(c -> channel, x -> any) -> null: adds 'x' to 'c', waiting while 'c' is full
+                    """
+    );
+    public static final BuiltinFunction RECV = new BuiltinFunction(
+            "recv",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof ChannelObject channelObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.CHANNEL);
+                }
+
+                return TaskScope.waitFor(channelObject::receive);
+            },
+            """
+                    recv(c -> channel) -> any: removes and returns the first value of 'c', waiting while 'c' is empty, or returns null if 'c' is closed and empty
+                    """
+    );
+    public static final BuiltinFunction CLOSE = new BuiltinFunction(
+            "close",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof ChannelObject channelObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.CHANNEL);
+                }
+
+                return new BooleanObject(channelObject.close());
+            },
+            """
+                    close(c -> channel) -> boolean: closes 'c', so that no more values can be sent, and returns true if 'c' was open
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "concurrency",
+            SPAWN,
+            AWAIT,
+            SCOPE,
+            CHANNEL,
+            SEND,
+            RECV,
+            CLOSE
+    );
+
+    private ConcurrencyFunctions() {
+    }
+
+    /**
+     * Waits for the tasks spawned by the current thread outside of any task or {@code scope} function, at the end of
+     * the program.
+     *
+     * @return the error of the first of these tasks that failed and has not been awaited, or {@code null} if there is
+     * none
+     */
+    public static ErrorObject awaitTopLevelTasks() {
+        return TaskScope.closeRoot();
+    }
+
+    private static EvaluatedObject snapshot(EvaluatedObject value) {
+        return value instanceof FunctionObject functionObject ? Environment.snapshot(functionObject) : value;
+    }
+}
@@ -0,0 +1,147 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ArrayObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.StringObject;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single pass parser of CSV text (RFC 4180): the fields are separated by commas and the rows by {@code \n} or
+ * {@code \r\n}; a field enclosed in double quotes can contain commas, line breaks and doubled double quotes. Every
+ * field becomes a {@link StringObject}: a field contained in the buffer is copied once from the buffer, only the
+ * fields split between two reads or that contain doubled quotes are collected in a builder. Empty lines are skipped.
+ */
+final class CsvReader {
+    private final CharInput input;
+    private final StringBuilder builder = new StringBuilder();
+    private long line = 1;
+
+    CsvReader(Reader reader) {
+        this.input = new CharInput(reader);
+    }
+
+    /**
+     * @return the fields of the next row, or {@code null} at the end of the input
+     * @throws EvaluatorException if a quoted field is not terminated or is followed by other characters
+     */
+    ArrayObject readRow() throws IOException {
+        int next = input.peek();
+
+        while (next == '\n' || next == '\r') {
+            skipLineBreak();
+            next = input.peek();
+        }
+
+        if (next == -1) {
+            return null;
+        }
+
+        List<EvaluatedObject> fields = new ArrayList<>();
+
+        while (true) {
+            fields.add(new StringObject(input.peek() == '"' ? readQuotedField() : readField()));
+
+            int separator = input.peek();
+
+            if (separator == ',') {
+                input.read();
+            } else {
+                if (separator != -1) {
+                    skipLineBreak();
+                }
+
+                return new ArrayObject(fields);
+            }
+        }
+    }
+
+    private String readField() throws IOException {
+        builder.setLength(0);
+        boolean split = false;
+
+        while (input.fill()) {
+            char[] buffer = input.buffer;
+            int start = input.position;
+            int end = start;
+
+            while (end < input.limit && buffer[end] != ',' && buffer[end] != '\n' && buffer[end] != '\r') {
+                end++;
+            }
+
+            input.position = end;
+
+            if (end < input.limit) {
+                return split ? builder.append(buffer, start, end - start).toString() : new String(buffer, start, end - start);
+            }
+
+            builder.append(buffer, start, end - start);
+            split = true;
+        }
+
+        return builder.toString();
+    }
+
+    private String readQuotedField() throws IOException {
+        long startLine = line;
+        builder.setLength(0);
+        input.read();
+
+        while (true) {
+            if (!input.fill()) {
+                throw new EvaluatorException("Invalid CSV at line %d: unterminated quoted field", startLine);
+            }
+
+            char[] buffer = input.buffer;
+            int start = input.position;
+            int end = start;
+
+            while (end < input.limit && buffer[end] != '"') {
+                if (buffer[end] == '\n') {
+                    line++;
+                }
+
+                end++;
+            }
+
+            builder.append(buffer, start, end - start);
+            input.position = end;
+
+            if (end == input.limit) {
+                continue;
+            }
+
+            input.position++;
+
+            if (input.peek() == '"') {
+                // a doubled quote stands for one quote
+                builder.append((char) input.read());
+                continue;
+            }
+
+            int next = input.peek();
+
+            if (next != ',' && next != '\n' && next != '\r' && next != -1) {
+                throw new EvaluatorException(
+                        "Invalid CSV at line %d: unexpected character '%c' after a quoted field",
+                        line,
+                        next
+                );
+            }
+
+            return builder.toString();
+        }
+    }
+
+    private void skipLineBreak() throws IOException {
+        if (input.read() == '\r' && input.peek() == '\n') {
+            input.read();
+        }
+
+        line++;
+    }
+}
@@ -0,0 +1,104 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.IOException;
+
+/**
+ * Serializer of rows to CSV text, the format read by {@link CsvReader}. The rows are iterated and appended to the
+ * output one at a time; a field is enclosed in double quotes only if it contains a comma, a double quote or a line
+ * break.
+ */
+final class CsvWriter {
+    private CsvWriter() {
+    }
+
+    /**
+     * Appends the rows, each one followed by {@code \n}.
+     *
+     * @param rows an array, range or sequence of rows, each one an array, range or sequence of fields
+     * @throws EvaluatorException if a row is not iterable or a field is not a string, an integer, a boolean or null
+     */
+    static void write(Appendable output, IterableObject rows) throws IOException {
+        for (EvaluatedObject row : rows) {
+            if (!isRow(row)) {
+                throw new EvaluatorException("Cannot convert %s to a CSV row", row.getType().name());
+            }
+
+            int fields = 0;
+            boolean empty = true;
+
+            for (EvaluatedObject field : (IterableObject) row) {
+                if (fields > 0) {
+                    output.append(',');
+                }
+
+                empty = writeField(output, field);
+                fields++;
+            }
+
+            if (fields == 1 && empty) {
+                // an empty line is skipped by the reader
+                output.append("\"\"");
+            }
+
+            output.append('\n');
+        }
+    }
+
+    static boolean isRow(EvaluatedObject value) {
+        return value instanceof ArrayObject || value instanceof RangeObject || value instanceof SequenceObject;
+    }
+
+    /**
+     * @return {@code true} if the field is written as nothing, that is it is null or the empty string
+     */
+    private static boolean writeField(Appendable output, EvaluatedObject field) throws IOException {
+        if (field instanceof StringObject stringObject) {
+            String value = stringObject.getValue();
+
+            if (needsQuotes(value)) {
+                writeQuoted(output, value);
+            } else {
+                output.append(value);
+            }
+
+            return value.isEmpty();
+        } else if (field instanceof IntegerObject || field instanceof BigIntegerObject || field instanceof BooleanObject) {
+            output.append(field.toString());
+            return false;
+        } else if (!(field instanceof NullObject)) {
+            throw new EvaluatorException("Cannot convert %s to a CSV field", field.getType().name());
+        }
+
+        return true;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+
+            if (character == ',' || character == '"' || character == '\n' || character == '\r') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void writeQuoted(Appendable output, String value) throws IOException {
+        output.append('"');
+        int start = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                // the quote is written twice: once with the preceding run and once here
+                output.append(value, start, i + 1).append('"');
+                start = i + 1;
+            }
+        }
+
+        output.append(value, start, value.length()).append('"');
+    }
+}
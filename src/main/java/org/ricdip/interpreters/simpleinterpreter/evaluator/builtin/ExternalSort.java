@@ -0,0 +1,334 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.ResourceCleaner;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.*;
+import java.lang.ref.Cleaner;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * External merge sort: the elements of a source are collected in a buffer until its estimated size reaches the memory
+ * budget, then the buffer is sorted and written to a temporary file (a run). The sorted elements are produced by a
+ * k-way merge of the runs, that keeps the current element of every run in a heap and reads the runs sequentially, so
+ * the memory used by an iteration does not depend on the number of elements. If the source fits in the budget, no run
+ * is written and the sorted buffer is iterated directly.
+ * <p>
+ * A merge reads at most {@value #MAX_FAN_IN} runs at a time, fewer if the budget cannot hold a read buffer of
+ * {@value #MIN_READ_BUFFER_SIZE} bytes for each of them: when there are more runs, groups of them are merged into
+ * longer runs, in as many passes as needed, so the open files and the read buffers stay bounded.
+ * <p>
+ * The runs are written when the sort is created and deleted when the sort is no longer reachable, so the sorted
+ * elements can be iterated more than once.
+ */
+final class ExternalSort implements Iterable<EvaluatedObject> {
+    private static final int MAX_FAN_IN = 64;
+    private static final int MAX_READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_READ_BUFFER_SIZE = 4 * 1024;
+    // rough sizes of the objects kept in the buffer, in bytes
+    private static final int REFERENCE_SIZE = 8;
+    private static final int INTEGER_SIZE = 24;
+    private static final int BIG_INTEGER_SIZE = 64;
+    private static final int STRING_SIZE = 64;
+    private static final int BOOLEAN_SIZE = 16;
+
+    private static final byte INTEGER_TAG = 0;
+    private static final byte BIG_INTEGER_TAG = 1;
+    private static final byte STRING_TAG = 2;
+    private static final byte BOOLEAN_TAG = 3;
+
+    private final Comparator<EvaluatedObject> comparator;
+    private final long memoryBudget;
+    private final List<Path> runs = new ArrayList<>();
+    // runs read by a merge at the same time
+    private final int fanIn;
+    private int runCount;
+    // sorted elements of a source that fits in the budget, null if the elements have been written to runs
+    private List<EvaluatedObject> inMemoryElements;
+    private long elementCount;
+    private long spilledBytes;
+
+    private ExternalSort(Comparator<EvaluatedObject> comparator, long memoryBudget) {
+        this.comparator = comparator;
+        this.memoryBudget = memoryBudget;
+        this.fanIn = Math.clamp(memoryBudget / MIN_READ_BUFFER_SIZE, 2, MAX_FAN_IN);
+    }
+
+    /**
+     * Reads all the elements of a source and writes the sorted runs.
+     *
+     * @param source       the elements to sort
+     * @param comparator   the order of the elements
+     * @param memoryBudget the estimated size, in bytes, of the elements kept in memory at the same time
+     * @param directory    the directory of the runs
+     * @return the sort, ready to be iterated
+     * @throws EvaluatorException if an element cannot be written to a run, the comparator fails or a run cannot be
+     *                            written
+     */
+    static ExternalSort of(
+            Iterable<EvaluatedObject> source,
+            Comparator<EvaluatedObject> comparator,
+            long memoryBudget,
+            Path directory
+    ) {
+        ExternalSort sort = new ExternalSort(comparator, memoryBudget);
+        ResourceCleaner.register(sort, new DeleteRuns(sort.runs));
+
+        List<EvaluatedObject> buffer = new ArrayList<>();
+        long bufferSize = 0;
+
+        for (EvaluatedObject element : source) {
+            bufferSize += estimateSize(element);
+            buffer.add(element);
+            sort.elementCount++;
+
+            if (bufferSize >= memoryBudget) {
+                sort.spill(buffer, directory);
+                bufferSize = 0;
+            }
+        }
+
+        if (sort.runs.isEmpty()) {
+            buffer.sort(comparator);
+            sort.inMemoryElements = buffer;
+        } else if (!buffer.isEmpty()) {
+            sort.spill(buffer, directory);
+        }
+
+        while (sort.runs.size() > sort.fanIn) {
+            sort.mergeFirstRuns(directory);
+        }
+
+        return sort;
+    }
+
+    /**
+     * @return the number of runs written from the source, before the merge passes
+     */
+    int getRunCount() {
+        return runCount;
+    }
+
+    long getElementCount() {
+        return elementCount;
+    }
+
+    long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * Sorts the buffer, writes it to a new run and clears it.
+     */
+    private void spill(List<EvaluatedObject> buffer, Path directory) {
+        buffer.sort(comparator);
+        spilledBytes += writeRun(buffer, directory);
+        runCount++;
+        buffer.clear();
+    }
+
+    /**
+     * Merges the first {@link #fanIn} runs into a new run, added after the others, and deletes them.
+     */
+    private void mergeFirstRuns(Path directory) {
+        List<Path> merged = List.copyOf(runs.subList(0, fanIn));
+        MergeIterator iterator = new MergeIterator(merged);
+        writeRun(() -> iterator, directory);
+        runs.subList(0, fanIn).clear();
+        new DeleteRuns(merged).run();
+    }
+
+    /**
+     * Writes sorted elements to a new run.
+     *
+     * @return the size of the run in bytes
+     */
+    private long writeRun(Iterable<EvaluatedObject> elements, Path directory) {
+        try {
+            Path run = Files.createTempFile(directory, "sort-run-", ".bin");
+            runs.add(run);
+            // the cleaner runs only if the sort is collected before the JVM exits
+            run.toFile().deleteOnExit();
+
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                for (EvaluatedObject element : elements) {
+                    write(output, element);
+                }
+            }
+
+            return Files.size(run);
+        } catch (IOException e) {
+            throw new EvaluatorException("Cannot write a sort run in %s: %s", directory, e.getMessage());
+        }
+    }
+
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        if (inMemoryElements != null) {
+            return inMemoryElements.iterator();
+        }
+
+        return new MergeIterator(runs);
+    }
+
+    private static long estimateSize(EvaluatedObject element) {
+        if (element instanceof IntegerObject) {
+            return REFERENCE_SIZE + INTEGER_SIZE;
+        } else if (element instanceof BigIntegerObject) {
+            return REFERENCE_SIZE + BIG_INTEGER_SIZE + BigIntegerObject.toBigInteger(element).bitLength() / 8;
+        } else if (element instanceof StringObject stringObject) {
+            return REFERENCE_SIZE + STRING_SIZE + stringObject.getValue().length() * 2L;
+        } else if (element instanceof BooleanObject) {
+            return REFERENCE_SIZE + BOOLEAN_SIZE;
+        }
+
+        throw new EvaluatorException(
+                "Cannot sort %s externally: must be an INTEGER, a STRING or a BOOLEAN",
+                element.getType().name()
+        );
+    }
+
+    private static void write(DataOutputStream output, EvaluatedObject element) throws IOException {
+        if (element instanceof IntegerObject integerObject) {
+            output.writeByte(INTEGER_TAG);
+            output.writeLong(integerObject.getValue());
+        } else if (element instanceof BigIntegerObject) {
+            byte[] bytes = BigIntegerObject.toBigInteger(element).toByteArray();
+            output.writeByte(BIG_INTEGER_TAG);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        } else if (element instanceof StringObject stringObject) {
+            byte[] bytes = stringObject.getValue().getBytes(StandardCharsets.UTF_8);
+            output.writeByte(STRING_TAG);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        } else {
+            output.writeByte(BOOLEAN_TAG);
+            output.writeBoolean(((BooleanObject) element).getValue());
+        }
+    }
+
+    /**
+     * Reads the next element of a run.
+     *
+     * @return the element, or {@code null} at the end of the run
+     */
+    private static EvaluatedObject read(DataInputStream input) throws IOException {
+        int tag = input.read();
+
+        return switch (tag) {
+            case -1 -> null;
+            case INTEGER_TAG -> IntegerObject.valueOf(input.readLong());
+            case BIG_INTEGER_TAG -> BigIntegerObject.valueOf(new BigInteger(input.readNBytes(input.readInt())));
+            case STRING_TAG -> new StringObject(new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8));
+            case BOOLEAN_TAG -> new BooleanObject(input.readBoolean());
+            default -> throw new IOException("corrupted sort run");
+        };
+    }
+
+    /**
+     * Cursor over a run: the current element and the stream of the following ones.
+     */
+    private static final class RunReader implements Closeable {
+        private final DataInputStream input;
+        private EvaluatedObject current;
+
+        RunReader(Path run, int bufferSize) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), bufferSize));
+            this.current = read(input);
+        }
+
+        void advance() throws IOException {
+            current = read(input);
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    /**
+     * Merges runs: the heap holds a reader per run that has not been fully read, ordered by its current element.
+     */
+    private final class MergeIterator implements Iterator<EvaluatedObject> {
+        private final PriorityQueue<RunReader> heap;
+        private final Cleaner.Cleanable readersCloser;
+
+        /**
+         * @param mergedRuns at most {@link #fanIn} runs
+         */
+        MergeIterator(List<Path> mergedRuns) {
+            // the read buffers of the runs merged together stay within the memory budget
+            int bufferSize = Math.clamp(memoryBudget / fanIn, MIN_READ_BUFFER_SIZE, MAX_READ_BUFFER_SIZE);
+            heap = new PriorityQueue<>(
+                    Math.max(mergedRuns.size(), 1),
+                    (left, right) -> comparator.compare(left.current, right.current)
+            );
+            List<RunReader> readers = new ArrayList<>();
+            readersCloser = ResourceCleaner.closeOnCleanup(this, readers);
+
+            try {
+                for (Path run : mergedRuns) {
+                    RunReader reader = new RunReader(run, bufferSize);
+                    readers.add(reader);
+
+                    if (reader.current != null) {
+                        heap.add(reader);
+                    }
+                }
+            } catch (IOException e) {
+                readersCloser.clean();
+                throw new EvaluatorException("Cannot read a sort run: %s", e.getMessage());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        @Override
+        public EvaluatedObject next() {
+            RunReader reader = heap.poll();
+
+            if (reader == null) {
+                throw new NoSuchElementException();
+            }
+
+            EvaluatedObject element = reader.current;
+
+            try {
+                reader.advance();
+            } catch (IOException e) {
+                throw new EvaluatorException("Cannot read a sort run: %s", e.getMessage());
+            }
+
+            if (reader.current != null) {
+                heap.add(reader);
+            } else if (heap.isEmpty()) {
+                readersCloser.clean();
+            }
+
+            return element;
+        }
+    }
+
+    private record DeleteRuns(List<Path> runs) implements Runnable {
+        @Override
+        public void run() {
+            for (Path run : runs) {
+                try {
+                    Files.deleteIfExists(run);
+                } catch (IOException e) {
+                    // the file stays in the temporary directory
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builtin functions that sort sources larger than the memory with an {@link ExternalSort}. The options of
+ * {@code sortExternal} are the fields of a record: {@code memory} (the memory budget in bytes), {@code directory} (the
+ * directory of the temporary files) and {@code compare} (the comparator function).
+ */
+public final class ExternalSortFunctions {
+    private static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+    private static final RecordShape STATS_SHAPE = RecordShape.of(List.of("elements", "runs", "spilledBytes"));
+
+    public static final BuiltinFunction SORT_EXTERNAL = new BuiltinFunction(
+            "sortExternal",
+            (evaluator, args) -> {
+                if (args.length != 1 && args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1 or 2", args.length);
+                }
+
+                if (!(args[0] instanceof IterableObject iterableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.STRING, ObjectTypes.RANGE, ObjectTypes.SEQUENCE);
+                }
+
+                long memoryBudget = DEFAULT_MEMORY_BUDGET;
+                Path directory = Path.of(System.getProperty("java.io.tmpdir"));
+                Comparator<EvaluatedObject> comparator = NaturalOrder.INSTANCE;
+
+                if (args.length == 2) {
+                    if (!(args[1] instanceof RecordObject options)) {
+                        return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.RECORD);
+                    }
+
+                    List<String> optionNames = options.getShape().getFieldNames();
+
+                    for (int i = 0; i < optionNames.size(); i++) {
+                        EvaluatedObject value = options.get(i);
+
+                        switch (optionNames.get(i)) {
+                            case "memory" -> {
+                                if (!(value instanceof IntegerObject integerObject) || integerObject.getValue() <= 0) {
+                                    return new ErrorObject("Option memory must be a positive INTEGER, got %s", value);
+                                }
+
+                                memoryBudget = integerObject.getValue();
+                            }
+                            case "directory" -> {
+                                if (!(value instanceof StringObject stringObject)) {
+                                    return Utils.unexpectedObjectTypeError(value.getType(), ObjectTypes.STRING);
+                                }
+
+                                directory = Path.of(stringObject.getValue());
+
+                                if (!Files.isDirectory(directory)) {
+                                    return new ErrorObject("Option directory must be an existing directory, got %s", value);
+                                }
+                            }
+                            case "compare" -> {
+                                if (!(value instanceof FunctionObject) && !(value instanceof BuiltinFunction)) {
+                                    return Utils.unexpectedObjectTypeError(value.getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                                }
+
+                                comparator = new FunctionComparator(evaluator, value);
+                            }
+                            default -> {
+                                return new ErrorObject(
+                                        "Unknown option %s: must be memory, directory or compare",
+                                        optionNames.get(i)
+                                );
+                            }
+                        }
+                    }
+                }
+
+                return new SequenceObject(ExternalSort.of(iterableObject, comparator, memoryBudget, directory));
+            },
+            """
+                    sortExternal(x -> array|string|range|sequence, [options -> record]) -> sequence: returns a lazy sequence of the elements of 'x' (integers, strings or booleans) in order, sorting in memory at most about 'options.memory' bytes (default 64 MB) at a time and writing the sorted runs to temporary files in 'options.directory' (default the system temporary directory); 'options.compare' is the comparator function (default the natural order)
+                    """
+    );
+    public static final BuiltinFunction SPILL_STATS = new BuiltinFunction(
+            "spillStats",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof SequenceObject sequenceObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.SEQUENCE);
+                }
+
+                if (!(sequenceObject.getSource() instanceof ExternalSort externalSort)) {
+                    return new ErrorObject("Sequence not created by sortExternal");
+                }
+
+                return new RecordObject(STATS_SHAPE, new EvaluatedObject[]{
+                        IntegerObject.valueOf(externalSort.getElementCount()),
+                        IntegerObject.valueOf(externalSort.getRunCount()),
+                        IntegerObject.valueOf(externalSort.getSpilledBytes())
+                });
+            },
+            """
+                    spillStats(x -> sequence) -> record: returns the number of elements sorted by the 'sortExternal' that created 'x' (elements), the number of runs written to temporary files (runs) and their total size in bytes (spilledBytes)
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of("external sort", SORT_EXTERNAL, SPILL_STATS);
+
+    private ExternalSortFunctions() {
+    }
+}
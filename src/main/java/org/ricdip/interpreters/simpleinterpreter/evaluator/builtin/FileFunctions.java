@@ -0,0 +1,83 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Builtin functions that read text files as lazy {@link SequenceObject}s of strings. The file is read by a
+ * {@link TextFileSource} every time the sequence is iterated, so a loop over the lines of a file larger than the
+ * memory keeps only the current line; indexing, printing or passing the sequence to {@code len} keeps all of them.
+ */
+public final class FileFunctions {
+    public static final BuiltinFunction READ_LINES = new BuiltinFunction(
+            "readLines",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                Path path = readablePath(stringObject.getValue());
+
+                if (path == null) {
+                    return new ErrorObject("Cannot read %s: not a readable file", stringObject.getValue());
+                }
+
+                return new SequenceObject(TextFileSource.lines(path));
+            },
+            """
+                    readLines(path -> string) -> sequence: returns a lazy sequence of the lines of the UTF-8 file at 'path', without the line terminators
+                    """
+    );
+    public static final BuiltinFunction READ_CHUNKS = new BuiltinFunction(
+            "readChunks",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                if (!(args[1] instanceof IntegerObject integerObject)
+                    || integerObject.getValue() <= 0 || integerObject.getValue() > Integer.MAX_VALUE) {
+                    return new ErrorObject("Chunk size must be a positive INTEGER, got %s", args[1]);
+                }
+
+                Path path = readablePath(stringObject.getValue());
+
+                if (path == null) {
+                    return new ErrorObject("Cannot read %s: not a readable file", stringObject.getValue());
+                }
+
+                return new SequenceObject(TextFileSource.chunks(path, (int) integerObject.getValue()));
+            },
+            """
+                    readChunks(path -> string, size -> integer) -> sequence: returns a lazy sequence of the text of the UTF-8 file at 'path' in strings of 'size' characters (the last one can be shorter)
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of("file", READ_LINES, READ_CHUNKS);
+
+    private FileFunctions() {
+    }
+
+    /**
+     * @return the path of a regular file that can be read, or {@code null}
+     */
+    static Path readablePath(String value) {
+        try {
+            Path path = Path.of(value);
+            return Files.isRegularFile(path) && Files.isReadable(path) ? path : null;
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.Evaluator;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ErrorObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.IntegerObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ObjectTypes;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@link Comparator} that orders the values with a function of the script: {@code compare(a, b)} must return a
+ * negative integer, zero or a positive integer if {@code a} comes before, together with or after {@code b}.
+ */
+final class FunctionComparator implements Comparator<EvaluatedObject> {
+    private final Evaluator evaluator;
+    private final EvaluatedObject function;
+
+    FunctionComparator(Evaluator evaluator, EvaluatedObject function) {
+        this.evaluator = evaluator;
+        this.function = function;
+    }
+
+    /**
+     * Calls the function on two values.
+     *
+     * @throws EvaluatorException if the function fails or does not return an integer
+     */
+    @Override
+    public int compare(EvaluatedObject left, EvaluatedObject right) {
+        EvaluatedObject result = evaluator.callFunction(function, List.of(left, right));
+
+        if (result instanceof ErrorObject errorObject) {
+            throw new EvaluatorException(errorObject.getError());
+        } else if (!(result instanceof IntegerObject integerObject)) {
+            throw new EvaluatorException(
+                    "Comparator must return an %s, got %s",
+                    ObjectTypes.INTEGER.name(),
+                    result.getType().name()
+            );
+        } else {
+            return Long.signum(integerObject.getValue());
+        }
+    }
+}
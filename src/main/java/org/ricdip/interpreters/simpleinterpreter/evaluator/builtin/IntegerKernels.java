@@ -0,0 +1,22 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+/**
+ * Element-wise and reduction kernels over arrays of 64-bit integers, used by {@link VectorFunctions}. The operations
+ * wrap around on overflow: the callers use them only when the magnitude of the operands guarantees an exact result.
+ * <p>
+ * When the JVM is started with {@code --add-modules jdk.incubator.vector}, the kernels run on the Vector API and use
+ * the widest SIMD registers of the CPU; otherwise they are plain loops.
+ */
+interface IntegerKernels {
+    IntegerKernels INSTANCE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            ? new VectorIntegerKernels()
+            : new ScalarIntegerKernels();
+
+    long[] add(long[] left, long[] right);
+
+    long[] multiply(long[] left, long[] right);
+
+    long dot(long[] left, long[] right);
+
+    long sum(long[] values);
+}
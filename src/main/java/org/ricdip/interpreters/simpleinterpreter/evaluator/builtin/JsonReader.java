@@ -0,0 +1,376 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull parser of JSON text. Objects become {@link RecordObject}s, whose shapes are interned by the list of keys, so
+ * all the objects with the same keys share one shape; arrays become {@link ArrayObject}s, numbers become integers
+ * (the language has no fractional numbers, so a fraction or an exponent is an error) and {@code null} becomes
+ * {@link Objects#NULL}.
+ * <p>
+ * {@link #readDocument()} parses the whole input as one value; {@link #nextStreamed()} returns one value at a time:
+ * the elements of a top-level array, or the top-level values separated by whitespace (as in JSON Lines), so only one
+ * element is in memory at a time.
+ */
+final class JsonReader {
+    private static final int MAX_DEPTH = 512;
+    // objects with more keys than this look up duplicate keys in a map instead of the list of keys
+    private static final int LINEAR_KEY_LOOKUP_LIMIT = 8;
+    private static final RecordShape EMPTY_SHAPE = RecordShape.of(List.of());
+
+    private final CharInput input;
+    // digits of the current number, reused across numbers
+    private final StringBuilder scratch = new StringBuilder();
+    private StreamState streamState = StreamState.START;
+
+    JsonReader(Reader reader) {
+        this.input = new CharInput(reader);
+    }
+
+    private enum StreamState {
+        START,
+        FIRST_ELEMENT,
+        NEXT_ELEMENT,
+        VALUES,
+        END
+    }
+
+    /**
+     * Parses the input as a single value, that can be surrounded only by whitespace.
+     *
+     * @throws EvaluatorException if the input is not valid JSON
+     */
+    EvaluatedObject readDocument() throws IOException {
+        EvaluatedObject value = readValue(0);
+
+        if (skipWhitespace() != -1) {
+            throw error("unexpected character '%c' after the value", input.peek());
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the next element of a top-level array, or the next top-level value if the input does not start with an
+     * array.
+     *
+     * @return the value, or {@code null} at the end of the input
+     * @throws EvaluatorException if the input is not valid JSON
+     */
+    EvaluatedObject nextStreamed() throws IOException {
+        if (streamState == StreamState.START) {
+            if (skipWhitespace() == '[') {
+                input.read();
+                streamState = StreamState.FIRST_ELEMENT;
+            } else {
+                streamState = StreamState.VALUES;
+            }
+        }
+
+        switch (streamState) {
+            case FIRST_ELEMENT, NEXT_ELEMENT -> {
+                if (skipWhitespace() == ']') {
+                    input.read();
+                    streamState = StreamState.END;
+
+                    if (skipWhitespace() != -1) {
+                        throw error("unexpected character '%c' after the array", input.peek());
+                    }
+
+                    return null;
+                }
+
+                if (streamState == StreamState.NEXT_ELEMENT) {
+                    expect(',');
+                }
+
+                streamState = StreamState.NEXT_ELEMENT;
+                return readValue(1);
+            }
+            case VALUES -> {
+                return skipWhitespace() != -1 ? readValue(0) : null;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private EvaluatedObject readValue(int depth) throws IOException {
+        int character = skipWhitespace();
+
+        return switch (character) {
+            case '{' -> readObject(depth + 1);
+            case '[' -> readArray(depth + 1);
+            case '"' -> {
+                input.read();
+                yield new StringObject(readString());
+            }
+            case 't' -> readLiteral("true", new BooleanObject(true));
+            case 'f' -> readLiteral("false", new BooleanObject(false));
+            case 'n' -> readLiteral("null", Objects.NULL);
+            case -1 -> throw error("unexpected end of input");
+            default -> {
+                if (character == '-' || isDigit(character)) {
+                    yield readNumber();
+                }
+
+                throw error("unexpected character '%c'", character);
+            }
+        };
+    }
+
+    private RecordObject readObject(int depth) throws IOException {
+        checkDepth(depth);
+        input.read();
+
+        if (skipWhitespace() == '}') {
+            input.read();
+            return new RecordObject(EMPTY_SHAPE, new EvaluatedObject[0]);
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<EvaluatedObject> values = new ArrayList<>();
+        Map<String, Integer> keyPositions = null;
+
+        while (true) {
+            if (skipWhitespace() != '"') {
+                throw error("expected a key");
+            }
+
+            input.read();
+            String key = readString();
+            expect(':');
+            EvaluatedObject value = readValue(depth);
+
+            if (keys.size() == LINEAR_KEY_LOOKUP_LIMIT) {
+                keyPositions = new HashMap<>();
+
+                for (int i = 0; i < keys.size(); i++) {
+                    keyPositions.put(keys.get(i), i);
+                }
+            }
+
+            int position = keyPositions != null ? keyPositions.getOrDefault(key, -1) : keys.indexOf(key);
+
+            // a repeated key keeps its first position and its last value
+            if (position >= 0) {
+                values.set(position, value);
+            } else {
+                if (keyPositions != null) {
+                    keyPositions.put(key, keys.size());
+                }
+
+                keys.add(key);
+                values.add(value);
+            }
+
+            if (skipWhitespace() == '}') {
+                input.read();
+                return new RecordObject(RecordShape.of(keys), values.toArray(EvaluatedObject[]::new));
+            }
+
+            expect(',');
+        }
+    }
+
+    private ArrayObject readArray(int depth) throws IOException {
+        checkDepth(depth);
+        input.read();
+
+        List<EvaluatedObject> elements = new ArrayList<>();
+
+        if (skipWhitespace() == ']') {
+            input.read();
+            return new ArrayObject(elements);
+        }
+
+        while (true) {
+            elements.add(readValue(depth));
+
+            if (skipWhitespace() == ']') {
+                input.read();
+                return new ArrayObject(elements);
+            }
+
+            expect(',');
+        }
+    }
+
+    /**
+     * Reads the characters of a string after the opening quote. A string without escapes that is contained in the
+     * buffer is copied once; otherwise its parts are collected in a builder.
+     */
+    private String readString() throws IOException {
+        StringBuilder builder = null;
+
+        while (true) {
+            if (!input.fill()) {
+                throw error("unterminated string");
+            }
+
+            char[] buffer = input.buffer;
+            int start = input.position;
+            int end = start;
+
+            while (end < input.limit && buffer[end] != '"' && buffer[end] != '\\' && buffer[end] >= 0x20) {
+                end++;
+            }
+
+            input.position = end;
+
+            if (end < input.limit && buffer[end] == '"' && builder == null) {
+                input.position++;
+                return new String(buffer, start, end - start);
+            }
+
+            if (builder == null) {
+                builder = new StringBuilder();
+            }
+
+            builder.append(buffer, start, end - start);
+
+            if (end == input.limit) {
+                continue;
+            }
+
+            char character = buffer[input.position++];
+
+            if (character == '"') {
+                return builder.toString();
+            } else if (character < 0x20) {
+                throw error("control character in a string");
+            }
+
+            builder.append(readEscape());
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int character = input.read();
+
+        return switch (character) {
+            case '"', '\\', '/' -> (char) character;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(input.read(), 16);
+
+                    if (digit < 0) {
+                        throw error("invalid unicode escape");
+                    }
+
+                    value = value * 16 + digit;
+                }
+
+                yield (char) value;
+            }
+            default -> throw error("invalid escape");
+        };
+    }
+
+    private EvaluatedObject readNumber() throws IOException {
+        scratch.setLength(0);
+
+        if (input.peek() == '-') {
+            scratch.append((char) input.read());
+        }
+
+        if (!isDigit(input.peek())) {
+            throw error("invalid number");
+        }
+
+        if (input.peek() == '0') {
+            scratch.append((char) input.read());
+
+            if (isDigit(input.peek())) {
+                throw error("invalid number: leading zero");
+            }
+        }
+
+        while (isDigit(input.peek())) {
+            scratch.append((char) input.read());
+        }
+
+        int next = input.peek();
+
+        if (next == '.' || next == 'e' || next == 'E') {
+            throw error("only integer numbers are supported");
+        }
+
+        // up to 18 digits always fit in a long
+        if (scratch.length() <= 18) {
+            return IntegerObject.valueOf(Long.parseLong(scratch, 0, scratch.length(), 10));
+        }
+
+        return BigIntegerObject.valueOf(new BigInteger(scratch.toString()));
+    }
+
+    private EvaluatedObject readLiteral(String literal, EvaluatedObject value) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (input.read() != literal.charAt(i)) {
+                throw error("invalid literal, expected %s", literal);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Skips the whitespace characters.
+     *
+     * @return the next character, not consumed, or -1 at the end of the input
+     */
+    private int skipWhitespace() throws IOException {
+        while (input.fill()) {
+            char character = input.buffer[input.position];
+
+            if (character != ' ' && character != '\t' && character != '\n' && character != '\r') {
+                return character;
+            }
+
+            input.position++;
+        }
+
+        return -1;
+    }
+
+    private void expect(char expected) throws IOException {
+        int character = skipWhitespace();
+
+        if (character != expected) {
+            throw character == -1 ? error("unexpected end of input") : error("expected '%c', got '%c'", expected, character);
+        }
+
+        input.read();
+    }
+
+    private void checkDepth(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("more than %d nested arrays and objects", MAX_DEPTH);
+        }
+    }
+
+    private static boolean isDigit(int character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private EvaluatorException error(String message, Object... args) {
+        return new EvaluatorException("Invalid JSON at offset %d: %s", input.offset(), String.format(message, args));
+    }
+}
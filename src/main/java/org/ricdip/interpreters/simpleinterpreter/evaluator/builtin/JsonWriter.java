@@ -0,0 +1,107 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializer of values to JSON text. The text is appended to the output as the values are visited: records become
+ * objects, arrays, ranges and sequences become arrays (a sequence is iterated, not materialized), so writing a large
+ * sequence to a file needs the memory of one element at a time.
+ */
+final class JsonWriter {
+    private static final int MAX_DEPTH = 512;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private JsonWriter() {
+    }
+
+    /**
+     * Appends the JSON text of a value.
+     *
+     * @throws EvaluatorException if the value (or one of its elements) cannot be represented in JSON, or the nesting
+     *                            is deeper than 512 levels (as in an array that contains itself)
+     */
+    static void write(Appendable output, EvaluatedObject value) throws IOException {
+        write(output, value, 0);
+    }
+
+    private static void write(Appendable output, EvaluatedObject value, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new EvaluatorException("Cannot convert to JSON: more than %d nested values", MAX_DEPTH);
+        }
+
+        if (value instanceof StringObject stringObject) {
+            writeString(output, stringObject.getValue());
+        } else if (value instanceof IntegerObject || value instanceof BigIntegerObject || value instanceof BooleanObject) {
+            output.append(value.toString());
+        } else if (value instanceof NullObject) {
+            output.append("null");
+        } else if (value instanceof RecordObject recordObject) {
+            List<String> fieldNames = recordObject.getShape().getFieldNames();
+            output.append('{');
+
+            for (int i = 0; i < fieldNames.size(); i++) {
+                if (i > 0) {
+                    output.append(',');
+                }
+
+                writeString(output, fieldNames.get(i));
+                output.append(':');
+                write(output, recordObject.get(i), depth + 1);
+            }
+
+            output.append('}');
+        } else if (value instanceof ArrayObject || value instanceof RangeObject || value instanceof SequenceObject) {
+            boolean first = true;
+            output.append('[');
+
+            for (EvaluatedObject element : (IterableObject) value) {
+                if (!first) {
+                    output.append(',');
+                }
+
+                write(output, element, depth + 1);
+                first = false;
+            }
+
+            output.append(']');
+        } else {
+            throw new EvaluatorException("Cannot convert %s to JSON", value.getType().name());
+        }
+    }
+
+    /**
+     * Appends a quoted string, copying the runs of characters that need no escape as they are.
+     */
+    private static void writeString(Appendable output, String value) throws IOException {
+        output.append('"');
+        int start = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+
+            if (character != '"' && character != '\\' && character >= 0x20) {
+                continue;
+            }
+
+            output.append(value, start, i);
+            start = i + 1;
+
+            switch (character) {
+                case '"' -> output.append("\\\"");
+                case '\\' -> output.append("\\\\");
+                case '\b' -> output.append("\\b");
+                case '\f' -> output.append("\\f");
+                case '\n' -> output.append("\\n");
+                case '\r' -> output.append("\\r");
+                case '\t' -> output.append("\\t");
+                default -> output.append("\\u00").append(HEX_DIGITS[character >> 4]).append(HEX_DIGITS[character & 0xF]);
+            }
+        }
+
+        output.append(value, start, value.length()).append('"');
+    }
+}
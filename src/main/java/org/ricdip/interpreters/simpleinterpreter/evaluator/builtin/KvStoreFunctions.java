@@ -0,0 +1,93 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Builtin functions that open and update persistent {@link KvStoreObject}s. The values written by a script are found
+ * by the next runs that open the same file; the keys and values that cannot be stored are reported by the store with
+ * an exception that the evaluator returns as an {@link ErrorObject}.
+ */
+public final class KvStoreFunctions {
+    public static final BuiltinFunction KV_OPEN = new BuiltinFunction(
+            "kvOpen",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject stringObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                try {
+                    return KvStoreObject.open(Path.of(stringObject.getValue()));
+                } catch (InvalidPathException e) {
+                    return new ErrorObject("Cannot open key-value store %s: %s", stringObject.getValue(), e.getMessage());
+                }
+            },
+            """
+                    kvOpen(path -> string) -> kvStore: opens the key-value store in the file at 'path', creating it if it does not exist
+                    """
+    );
+    public static final BuiltinFunction KV_GET = new BuiltinFunction(
+            "kvGet",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof KvStoreObject kvStoreObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.KV_STORE);
+                }
+
+                EvaluatedObject value = kvStoreObject.get(args[1]);
+                return value != null ? value : Objects.NULL;
+            },
+            """
+                    kvGet(s -> kvStore, key -> string|integer) -> any: returns the value of 'key' in 's', or null if 's' does not contain 'key'
+                    """
+    );
+    public static final BuiltinFunction KV_PUT = new BuiltinFunction(
+            "kvPut",
+            (evaluator, args) -> {
+                if (args.length != 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 3", args.length);
+                }
+
+                if (!(args[0] instanceof KvStoreObject kvStoreObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.KV_STORE);
+                }
+
+                kvStoreObject.put(args[1], args[2]);
+                return kvStoreObject;
+            },
+            """
+                    kvPut(s -> kvStore, key -> string|integer, value -> any) -> kvStore: associates 'value' (a null, boolean, integer, string, or an array or record of them) with 'key' in 's' and returns 's'
+                    """
+    );
+    public static final BuiltinFunction KV_DELETE = new BuiltinFunction(
+            "kvDelete",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof KvStoreObject kvStoreObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.KV_STORE);
+                }
+
+                return new BooleanObject(kvStoreObject.delete(args[1]));
+            },
+            """
+                    kvDelete(s -> kvStore, key -> string|integer) -> boolean: removes 'key' from 's' and returns true if 's' contained it
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of("key-value store", KV_OPEN, KV_GET, KV_PUT, KV_DELETE);
+
+    private KvStoreFunctions() {
+    }
+}
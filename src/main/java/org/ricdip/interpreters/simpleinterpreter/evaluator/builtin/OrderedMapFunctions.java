@@ -0,0 +1,164 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Builtin functions that create and query {@link OrderedMapObject}s. The entries returned by the queries are records
+ * with the fields {@code key} and {@code value}; the keys that cannot be ordered with the keys of the map are reported
+ * by the map with an exception that the evaluator returns as an {@link ErrorObject}.
+ */
+public final class OrderedMapFunctions {
+    public static final BuiltinFunction ORDERED_MAP = new BuiltinFunction(
+            "orderedMap",
+            (evaluator, args) -> {
+                if (args.length != 0) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 0", args.length);
+                }
+
+                return new OrderedMapObject();
+            },
+            """
+                    orderedMap() -> orderedMap: returns an empty map whose keys (integers, strings or booleans) are kept in order
+                    """
+    );
+    public static final BuiltinFunction ORDERED_PUT = new BuiltinFunction(
+            "orderedPut",
+            (evaluator, args) -> {
+                if (args.length != 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 3", args.length);
+                }
+
+                if (!(args[0] instanceof OrderedMapObject orderedMapObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ORDERED_MAP);
+                }
+
+                orderedMapObject.put(args[1], args[2]);
+                return orderedMapObject;
+            },
+            """
+                    orderedPut(m -> orderedMap, key -> integer|string|boolean, value -> any) -> orderedMap: associates 'value' with 'key' in 'm' and returns 'm'
+                    """
+    );
+    public static final BuiltinFunction ORDERED_GET = keyFunction(
+            "orderedGet",
+            OrderedMapObject::get,
+            """
+                    orderedGet(m -> orderedMap, key -> integer|string|boolean) -> any: returns the value of 'key' in 'm', or null if 'm' does not contain 'key'
+                    """
+    );
+    public static final BuiltinFunction ORDERED_RANGE = new BuiltinFunction(
+            "orderedRange",
+            (evaluator, args) -> {
+                if (args.length != 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 3", args.length);
+                }
+
+                if (!(args[0] instanceof OrderedMapObject orderedMapObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ORDERED_MAP);
+                }
+
+                return new SequenceObject(orderedMapObject.range(args[1], args[2]));
+            },
+            """
+                    orderedRange(m -> orderedMap, from -> integer|string|boolean, to -> integer|string|boolean) -> sequence: returns a lazy sequence of the entries of 'm' whose key is between 'from' (included) and 'to' (excluded), in key order
+                    """
+    );
+    public static final BuiltinFunction ORDERED_FLOOR = keyFunction(
+            "orderedFloor",
+            OrderedMapObject::floor,
+            """
+                    orderedFloor(m -> orderedMap, key -> integer|string|boolean) -> record: returns the entry of 'm' with the greatest key smaller than or equal to 'key', or null if there is none
+                    """
+    );
+    public static final BuiltinFunction ORDERED_CEILING = keyFunction(
+            "orderedCeiling",
+            OrderedMapObject::ceiling,
+            """
+                    orderedCeiling(m -> orderedMap, key -> integer|string|boolean) -> record: returns the entry of 'm' with the smallest key greater than or equal to 'key', or null if there is none
+                    """
+    );
+    public static final BuiltinFunction ORDERED_MIN = boundFunction(
+            "orderedMin",
+            OrderedMapObject::min,
+            """
+                    orderedMin(m -> orderedMap) -> record: returns the entry of 'm' with the smallest key, or null if 'm' is empty
+                    """
+    );
+    public static final BuiltinFunction ORDERED_MAX = boundFunction(
+            "orderedMax",
+            OrderedMapObject::max,
+            """
+                    orderedMax(m -> orderedMap) -> record: returns the entry of 'm' with the greatest key, or null if 'm' is empty
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "ordered map",
+            ORDERED_MAP,
+            ORDERED_PUT,
+            ORDERED_GET,
+            ORDERED_RANGE,
+            ORDERED_FLOOR,
+            ORDERED_CEILING,
+            ORDERED_MIN,
+            ORDERED_MAX
+    );
+
+    private OrderedMapFunctions() {
+    }
+
+    /**
+     * Builds a function that looks up a key in an ordered map and returns null when nothing is found.
+     */
+    private static BuiltinFunction keyFunction(
+            String functionName,
+            BiFunction<OrderedMapObject, EvaluatedObject, EvaluatedObject> lookup,
+            String usage
+    ) {
+        return new BuiltinFunction(
+                functionName,
+                (evaluator, args) -> {
+                    if (args.length != 2) {
+                        return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                    }
+
+                    if (!(args[0] instanceof OrderedMapObject orderedMapObject)) {
+                        return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ORDERED_MAP);
+                    }
+
+                    EvaluatedObject result = lookup.apply(orderedMapObject, args[1]);
+                    return result != null ? result : Objects.NULL;
+                },
+                usage
+        );
+    }
+
+    /**
+     * Builds a function that returns the first or the last entry of an ordered map, or null when the map is empty.
+     */
+    private static BuiltinFunction boundFunction(
+            String functionName,
+            Function<OrderedMapObject, EvaluatedObject> bound,
+            String usage
+    ) {
+        return new BuiltinFunction(
+                functionName,
+                (evaluator, args) -> {
+                    if (args.length != 1) {
+                        return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                    }
+
+                    if (!(args[0] instanceof OrderedMapObject orderedMapObject)) {
+                        return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ORDERED_MAP);
+                    }
+
+                    EvaluatedObject entry = bound.apply(orderedMapObject);
+                    return entry != null ? entry : Objects.NULL;
+                },
+                usage
+        );
+    }
+}
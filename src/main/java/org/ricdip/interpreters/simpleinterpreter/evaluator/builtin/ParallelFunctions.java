@@ -0,0 +1,254 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.Evaluator;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+
+/**
+ * Builtin functions that call a function on the elements of an array or a range with the threads of the common
+ * {@link ForkJoinPool}. The elements are split in chunks, about {@value #CHUNKS_PER_THREAD} per thread so that the
+ * threads that finish early can steal the chunks of the others, and every chunk is processed by a single task.
+ * <p>
+ * Only the functions found pure by {@link PurityAnalysis} run in parallel: a function that assigns a variable of an
+ * enclosing scope, changes an array or a record, or calls a builtin function with side effects (like {@code print})
+ * is called on the calling thread, one element at a time in order, like {@code map} and {@code reduce} do. The same
+ * happens when an element is a function or a lazy sequence, whose use cannot be analyzed. The result does not depend
+ * on the policy; only the order of the side effects would.
+ */
+public final class ParallelFunctions {
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    public static final BuiltinFunction PMAP = new BuiltinFunction(
+            "pmap",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                ErrorObject error = checkArguments(args);
+
+                if (error != null) {
+                    return error;
+                }
+
+                IntFunction<EvaluatedObject> elements = elements(args[0]);
+                EvaluatedObject[] results = new EvaluatedObject[size(args[0])];
+                EvaluatedObject function = args[1];
+
+                if (!isParallel(evaluator, function, args[0])) {
+                    for (int i = 0; i < results.length; i++) {
+                        results[i] = evaluator.callFunction(function, List.of(elements.apply(i)));
+
+                        if (results[i] instanceof ErrorObject) {
+                            return results[i];
+                        }
+                    }
+                } else {
+                    EvaluatedObject result = ForkJoinPool.commonPool().invoke(new ChunkTask(
+                            0,
+                            results.length,
+                            chunkSize(results.length),
+                            new AtomicInteger(Integer.MAX_VALUE),
+                            (from, to, failure) -> {
+                                for (int i = from; i < to && failure.get() > i; i++) {
+                                    results[i] = evaluator.callFunction(function, List.of(elements.apply(i)));
+
+                                    if (results[i] instanceof ErrorObject) {
+                                        failure.accumulateAndGet(i, Math::min);
+                                        return results[i];
+                                    }
+                                }
+
+                                return null;
+                            },
+                            (left, right) -> null
+                    ));
+
+                    if (result instanceof ErrorObject) {
+                        return result;
+                    }
+                }
+
+                return new ArrayObject(new ArrayList<>(Arrays.asList(results)));
+            },
+            """
+                    pmap(x -> array|range, f -> function) -> array: returns the array of the results of 'f' applied to every element of 'x', computed in parallel if 'f' has no side effects
+                    """
+    );
+    public static final BuiltinFunction PREDUCE = new BuiltinFunction(
+            "preduce",
+            (evaluator, args) -> {
+                if (args.length != 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 3", args.length);
+                }
+
+                ErrorObject error = checkArguments(args);
+
+                if (error != null) {
+                    return error;
+                }
+
+                IntFunction<EvaluatedObject> elements = elements(args[0]);
+                int size = size(args[0]);
+                EvaluatedObject function = args[1];
+                EvaluatedObject initial = args[2];
+
+                if (!isParallel(evaluator, function, args[0])) {
+                    EvaluatedObject accumulator = initial;
+
+                    for (int i = 0; i < size && !(accumulator instanceof ErrorObject); i++) {
+                        accumulator = evaluator.callFunction(function, List.of(accumulator, elements.apply(i)));
+                    }
+
+                    return accumulator;
+                }
+
+                // every chunk is reduced starting from 'initial', then the results of the chunks are combined in order
+                return ForkJoinPool.commonPool().invoke(new ChunkTask(
+                        0,
+                        size,
+                        chunkSize(size),
+                        new AtomicInteger(Integer.MAX_VALUE),
+                        (from, to, failure) -> {
+                            EvaluatedObject accumulator = initial;
+
+                            for (int i = from; i < to && failure.get() > i; i++) {
+                                accumulator = evaluator.callFunction(function, List.of(accumulator, elements.apply(i)));
+
+                                if (accumulator instanceof ErrorObject) {
+                                    failure.accumulateAndGet(i, Math::min);
+                                    break;
+                                }
+                            }
+
+                            return accumulator;
+                        },
+                        (left, right) -> evaluator.callFunction(function, List.of(left, right))
+                ));
+            },
+            """
+                    preduce(x -> array|range, f -> function, initial -> any) -> any: combines the elements of 'x' calling f(accumulator, element) like reduce, in parallel if 'f' has no side effects: 'f' must be associative and 'initial' its identity (like 0 for +), since every chunk of 'x' starts from 'initial' and the results of the chunks are combined with 'f'
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of("parallel", PMAP, PREDUCE);
+
+    private ParallelFunctions() {
+    }
+
+    private static ErrorObject checkArguments(EvaluatedObject[] args) {
+        if (!(args[0] instanceof ArrayObject) && !(args[0] instanceof RangeObject)) {
+            return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.RANGE);
+        }
+
+        if (args[0] instanceof RangeObject rangeObject && rangeObject.size() > Integer.MAX_VALUE) {
+            // the elements are split and collected by int positions
+            return new ErrorObject("Range too large: %d elements, must be at most %d", rangeObject.size(), Integer.MAX_VALUE);
+        }
+
+        if (!(args[1] instanceof FunctionObject) && !(args[1] instanceof BuiltinFunction)) {
+            return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+        }
+
+        return null;
+    }
+
+    private static IntFunction<EvaluatedObject> elements(EvaluatedObject values) {
+        if (values instanceof RangeObject rangeObject) {
+            return i -> IntegerObject.valueOf(rangeObject.get(i));
+        }
+
+        // a function with side effects could remove elements from the array while it is visited
+        List<EvaluatedObject> elements = List.copyOf(((ArrayObject) values).getElements());
+        return elements::get;
+    }
+
+    private static int size(EvaluatedObject values) {
+        return values instanceof RangeObject rangeObject ? (int) rangeObject.size() : ((ArrayObject) values).getElements().size();
+    }
+
+    /**
+     * @return {@code true} if the calls of the function can run at the same time on the elements
+     */
+    private static boolean isParallel(Evaluator evaluator, EvaluatedObject function, EvaluatedObject values) {
+        if (values instanceof ArrayObject arrayObject) {
+            for (EvaluatedObject element : arrayObject.getElements()) {
+                if (element instanceof FunctionObject || element instanceof BuiltinFunction
+                    || element instanceof SequenceObject) {
+                    return false;
+                }
+            }
+        }
+
+        return PurityAnalysis.isPure(function, evaluator.getBuiltinRegistry());
+    }
+
+    private static int chunkSize(int size) {
+        return Math.max(1, size / (ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD));
+    }
+
+    @FunctionalInterface
+    private interface ChunkFunction {
+        /**
+         * Processes the elements of a chunk, stopping at the first error or when an element before the current one
+         * failed.
+         *
+         * @param failure the lowest index of an element that failed, shared by all the chunks
+         * @return the result of the chunk, or the {@link ErrorObject} of the element that failed
+         */
+        EvaluatedObject apply(int from, int to, AtomicInteger failure);
+    }
+
+    /**
+     * Splits the elements in two halves until they fit in a chunk, processes the second half in another task and
+     * combines the results of the halves. The error of the first half wins, so the error of the lowest failed
+     * element is returned.
+     */
+    private static final class ChunkTask extends RecursiveTask<EvaluatedObject> {
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final AtomicInteger failure;
+        private final ChunkFunction chunkFunction;
+        private final BinaryOperator<EvaluatedObject> combiner;
+
+        ChunkTask(int from, int to, int chunkSize, AtomicInteger failure, ChunkFunction chunkFunction,
+                  BinaryOperator<EvaluatedObject> combiner) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.failure = failure;
+            this.chunkFunction = chunkFunction;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected EvaluatedObject compute() {
+            if (to - from <= chunkSize) {
+                return chunkFunction.apply(from, to, failure);
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkTask second = new ChunkTask(middle, to, chunkSize, failure, chunkFunction, combiner);
+            second.fork();
+            EvaluatedObject left = new ChunkTask(from, middle, chunkSize, failure, chunkFunction, combiner).compute();
+            EvaluatedObject right = second.join();
+
+            if (left instanceof ErrorObject) {
+                return left;
+            } else if (right instanceof ErrorObject) {
+                return right;
+            }
+
+            return combiner.apply(left, right);
+        }
+    }
+}
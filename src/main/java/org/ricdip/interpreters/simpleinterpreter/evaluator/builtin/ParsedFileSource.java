@@ -0,0 +1,103 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.ResourceCleaner;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.ref.Cleaner;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Values pulled from a UTF-8 file by a parser, one at a time. Every iteration opens the file and creates a new parser,
+ * so the sequence can be visited more than once; the file is closed when the parser reaches the end of the input, or
+ * when the iterator is no longer reachable if the iteration stops before.
+ */
+final class ParsedFileSource implements Iterable<EvaluatedObject> {
+    private final Path path;
+    private final Function<Reader, Parser> parserFactory;
+
+    /**
+     * @param parserFactory creates the parser that reads the values from the file
+     */
+    ParsedFileSource(Path path, Function<Reader, Parser> parserFactory) {
+        this.path = path;
+        this.parserFactory = parserFactory;
+    }
+
+    @FunctionalInterface
+    interface Parser {
+        /**
+         * @return the next value, or {@code null} at the end of the input
+         */
+        EvaluatedObject next() throws IOException;
+    }
+
+    /**
+     * @throws EvaluatorException if the file cannot be opened
+     */
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new ParserIterator();
+    }
+
+    private final class ParserIterator implements Iterator<EvaluatedObject> {
+        private final Cleaner.Cleanable readerCloser;
+        private final Parser parser;
+        private EvaluatedObject nextValue;
+        private boolean exhausted;
+
+        ParserIterator() {
+            Reader reader;
+
+            try {
+                reader = new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw readError(e);
+            }
+
+            readerCloser = ResourceCleaner.closeOnCleanup(this, reader);
+            parser = parserFactory.apply(reader);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextValue == null && !exhausted) {
+                try {
+                    nextValue = parser.next();
+                } catch (IOException e) {
+                    throw readError(e);
+                }
+
+                if (nextValue == null) {
+                    exhausted = true;
+                    readerCloser.clean();
+                }
+            }
+
+            return nextValue != null;
+        }
+
+        @Override
+        public EvaluatedObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            EvaluatedObject value = nextValue;
+            nextValue = null;
+            return value;
+        }
+
+        private EvaluatorException readError(IOException e) {
+            return new EvaluatorException("Cannot read %s: %s", path, e.getMessage());
+        }
+    }
+}
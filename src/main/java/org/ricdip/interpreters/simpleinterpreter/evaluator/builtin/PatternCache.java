@@ -0,0 +1,70 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bounded cache of compiled regular expressions shared by the {@link TextFunctions}: a pattern used in a loop is
+ * compiled only the first time. When the cache is full, the least recently used pattern is dropped. The compiled
+ * {@link Pattern}s are immutable, so the cache can be used by functions running on different threads.
+ */
+final class PatternCache {
+    static final PatternCache INSTANCE = new PatternCache(256);
+
+    private final Map<String, Pattern> patterns;
+    private long hits;
+    private long misses;
+
+    PatternCache(int capacity) {
+        // access order: iterating the map starts from the least recently used pattern
+        this.patterns = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled form of a regular expression.
+     *
+     * @param regex the regular expression
+     * @return the compiled pattern
+     * @throws EvaluatorException if the regular expression is not valid
+     */
+    synchronized Pattern get(String regex) {
+        Pattern pattern = patterns.get(regex);
+
+        if (pattern != null) {
+            hits++;
+            return pattern;
+        }
+
+        misses++;
+
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new EvaluatorException("Invalid pattern %s: %s", regex, e.getDescription());
+        }
+
+        patterns.put(regex, pattern);
+        return pattern;
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized int size() {
+        return patterns.size();
+    }
+}
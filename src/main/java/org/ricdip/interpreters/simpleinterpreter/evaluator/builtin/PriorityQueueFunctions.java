@@ -0,0 +1,114 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+/**
+ * Builtin functions that create and use {@link PriorityQueueObject}s. The queue is changed in place by
+ * {@code queuePush} and {@code queuePop}.
+ */
+public final class PriorityQueueFunctions {
+    public static final BuiltinFunction PRIORITY_QUEUE = new BuiltinFunction(
+            "priorityQueue",
+            (evaluator, args) -> {
+                if (args.length > 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 0 or 1", args.length);
+                }
+
+                if (args.length == 0) {
+                    return new PriorityQueueObject(null);
+                }
+
+                if (!(args[0] instanceof FunctionObject) && !(args[0] instanceof BuiltinFunction)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                }
+
+                return new PriorityQueueObject(new FunctionComparator(evaluator, args[0]));
+            },
+            """
+                    priorityQueue([compare -> function]) -> priorityQueue: returns an empty priority queue ordered by 'compare' (a function that returns a negative integer, zero or a positive integer if its first argument comes before, together with or after the second one) or by the natural order of integers, strings and booleans
+                    """
+    );
+    public static final BuiltinFunction QUEUE_PUSH = new BuiltinFunction(
+            "queuePush",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof PriorityQueueObject priorityQueueObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.PRIORITY_QUEUE);
+                }
+
+                priorityQueueObject.push(args[1]);
+                return priorityQueueObject;
+            },
+            """
+                    queuePush(q -> priorityQueue, x -> any) -> priorityQueue: adds 'x' to 'q' and returns 'q'
+                    """
+    );
+    public static final BuiltinFunction QUEUE_POP = new BuiltinFunction(
+            "queuePop",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof PriorityQueueObject priorityQueueObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.PRIORITY_QUEUE);
+                }
+
+                EvaluatedObject smallest = priorityQueueObject.pop();
+                return smallest != null ? smallest : Objects.NULL;
+            },
+            """
+                    queuePop(q -> priorityQueue) -> any: removes and returns the first element of 'q', or null if 'q' is empty
+                    """
+    );
+    public static final BuiltinFunction QUEUE_PEEK = new BuiltinFunction(
+            "queuePeek",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof PriorityQueueObject priorityQueueObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.PRIORITY_QUEUE);
+                }
+
+                EvaluatedObject smallest = priorityQueueObject.peek();
+                return smallest != null ? smallest : Objects.NULL;
+            },
+            """
+                    queuePeek(q -> priorityQueue) -> any: returns the first element of 'q' without removing it, or null if 'q' is empty
+                    """
+    );
+    public static final BuiltinFunction QUEUE_SIZE = new BuiltinFunction(
+            "queueSize",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof PriorityQueueObject priorityQueueObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.PRIORITY_QUEUE);
+                }
+
+                return IntegerObject.valueOf(priorityQueueObject.size());
+            },
+            """
+                    queueSize(q -> priorityQueue) -> integer: returns the number of elements in 'q'
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "priority queue",
+            PRIORITY_QUEUE,
+            QUEUE_PUSH,
+            QUEUE_POP,
+            QUEUE_PEEK,
+            QUEUE_SIZE
+    );
+
+    private PriorityQueueFunctions() {
+    }
+}
@@ -0,0 +1,283 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.Environment;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Expression;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Statement;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.impl.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conservative check that a function can be called by several threads at the same time. The evaluator keeps no state
+ * of its own and every call binds its parameters in a new scope, so a call can only interfere with the others through
+ * what it changes outside that scope. A function is pure if its body (and the body of the functions it calls):
+ * <ul>
+ *     <li>assigns (with {@code =}, the compound operators, {@code ++} or {@code --}) only the variables declared by
+ *     the call itself: parameters, {@code let} statements and loop variables</li>
+ *     <li>never assigns an array element or a record field, since the array or the record can be shared</li>
+ *     <li>calls only the builtin functions that do not change their arguments or perform I/O, the functions it
+ *     declares and the pure functions of the enclosing scopes</li>
+ *     <li>does not read a lazy sequence of the enclosing scopes, whose elements are cached when it is indexed</li>
+ * </ul>
+ * Everything the analysis cannot see, like a function called from an array element or through a parameter, makes
+ * the function impure.
+ */
+final class PurityAnalysis {
+    private static final Set<BuiltinFunction> PURE_BUILTINS = Set.of(
+            Objects.LEN, Objects.FIRST, Objects.REST, Objects.PUSH, Objects.APPEND, Objects.RANGE,
+            SequenceFunctions.MAP, SequenceFunctions.FILTER, SequenceFunctions.REDUCE, SequenceFunctions.TAKE,
+            SequenceFunctions.ZIP,
+            BytesFunctions.BYTES, BytesFunctions.SLICE, BytesFunctions.READ_INT, BytesFunctions.DECODE,
+            TableFunctions.TABLE, TableFunctions.TABLE_COLUMN, TableFunctions.TABLE_FILTER, TableFunctions.TABLE_SELECT,
+            TableFunctions.TABLE_SUM, TableFunctions.TABLE_MIN, TableFunctions.TABLE_MAX, TableFunctions.TABLE_COUNT,
+            TableFunctions.TABLE_GROUP_BY,
+            SetFunctions.SET, SetFunctions.SET_CONTAINS, SetFunctions.UNION, SetFunctions.INTERSECTION,
+            OrderedMapFunctions.ORDERED_GET, OrderedMapFunctions.ORDERED_RANGE, OrderedMapFunctions.ORDERED_FLOOR,
+            OrderedMapFunctions.ORDERED_CEILING, OrderedMapFunctions.ORDERED_MIN, OrderedMapFunctions.ORDERED_MAX,
+            PriorityQueueFunctions.QUEUE_PEEK, PriorityQueueFunctions.QUEUE_SIZE,
+            CollectionFunctions.SORT, CollectionFunctions.BINARY_SEARCH, CollectionFunctions.REVERSE,
+            CollectionFunctions.INDEX_OF, CollectionFunctions.CONTAINS, CollectionFunctions.MIN, CollectionFunctions.MAX,
+            VectorFunctions.VADD, VectorFunctions.VMUL, VectorFunctions.DOT, VectorFunctions.SUM, VectorFunctions.SCAN,
+            TextFunctions.SPLIT, TextFunctions.JOIN, TextFunctions.REPLACE, TextFunctions.FIND, TextFunctions.MATCHES,
+            TextFunctions.FORMAT,
+            CodecFunctions.PARSE_JSON, CodecFunctions.TO_JSON, CodecFunctions.PARSE_CSV, CodecFunctions.TO_CSV,
+            ParallelFunctions.PMAP, ParallelFunctions.PREDUCE
+    );
+    // position of the function parameter of the pure builtins that call a function
+    private static final Map<BuiltinFunction, Integer> FUNCTION_PARAMETERS = Map.of(
+            SequenceFunctions.MAP, 1,
+            SequenceFunctions.FILTER, 1,
+            SequenceFunctions.REDUCE, 1,
+            CollectionFunctions.SORT, 1,
+            CollectionFunctions.BINARY_SEARCH, 2,
+            ParallelFunctions.PMAP, 1,
+            ParallelFunctions.PREDUCE, 1
+    );
+
+    private final BuiltinRegistry builtinRegistry;
+    // functions already analyzed or being analyzed: a recursive call does not analyze the function again
+    private final Set<FunctionObject> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private PurityAnalysis(BuiltinRegistry builtinRegistry) {
+        this.builtinRegistry = builtinRegistry;
+    }
+
+    /**
+     * @param function        the {@link FunctionObject} or {@link BuiltinFunction} to analyze
+     * @param builtinRegistry the registry used to resolve the names of the builtin functions
+     * @return {@code true} if the function can be called by several threads at the same time
+     */
+    static boolean isPure(EvaluatedObject function, BuiltinRegistry builtinRegistry) {
+        return new PurityAnalysis(builtinRegistry).isPureValue(function);
+    }
+
+    private boolean isPureValue(EvaluatedObject value) {
+        if (value instanceof BuiltinFunction builtinFunction) {
+            return PURE_BUILTINS.contains(builtinFunction);
+        } else if (value instanceof FunctionObject functionObject) {
+            if (!visited.add(functionObject)) {
+                return true;
+            }
+
+            Scope scope = new Scope(functionObject.getFunctionEnvironment(), new HashSet<>(), new HashSet<>());
+            return isPureFunction(functionObject.getFormalParameters(), functionObject.getFunctionBody(), scope);
+        } else {
+            return !(value instanceof SequenceObject);
+        }
+    }
+
+    private boolean isPureFunction(List<IdentifierExpression> parameters, BlockStatement body, Scope scope) {
+        for (IdentifierExpression parameter : parameters) {
+            if (!scope.declare(parameter.getValue(), false)) {
+                return false;
+            }
+        }
+
+        return isPureStatement(body, scope);
+    }
+
+    private boolean isPureStatement(Statement statement, Scope scope) {
+        if (statement instanceof BlockStatement blockStatement) {
+            for (Statement inner : blockStatement.getStatements()) {
+                if (!isPureStatement(inner, scope)) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (statement instanceof ExpressionStatement expressionStatement) {
+            return isPureExpression(expressionStatement.getExpression(), scope);
+        } else if (statement instanceof LetStatement letStatement) {
+            String name = letStatement.getName().getValue();
+
+            // a function declared with let can call itself: the name is bound before the body runs
+            if (letStatement.getValue() instanceof FunctionExpression) {
+                return scope.declare(name, true) && isPureExpression(letStatement.getValue(), scope);
+            }
+
+            return isPureExpression(letStatement.getValue(), scope) && scope.declare(name, false);
+        } else if (statement instanceof ReturnStatement returnStatement) {
+            return isPureExpression(returnStatement.getReturnValue(), scope);
+        } else if (statement instanceof WhileStatement whileStatement) {
+            return isPureExpression(whileStatement.getCondition(), scope)
+                    && isPureStatement(whileStatement.getWhileBlock(), scope);
+        } else if (statement instanceof ForStatement forStatement) {
+            return isPureExpression(forStatement.getIterable(), scope)
+                    && scope.declare(forStatement.getVariable().getValue(), false)
+                    && isPureStatement(forStatement.getForBlock(), scope);
+        } else {
+            return false;
+        }
+    }
+
+    private boolean isPureExpression(Expression expression, Scope scope) {
+        if (expression instanceof IntegerLiteral || expression instanceof BooleanLiteral
+                || expression instanceof StringExpression) {
+            return true;
+        } else if (expression instanceof IdentifierExpression identifier) {
+            return scope.isLocal(identifier.getValue()) || isPureValue(resolve(identifier, scope));
+        } else if (expression instanceof PrefixExpression prefixExpression) {
+            return isPureExpression(prefixExpression.getRight(), scope);
+        } else if (expression instanceof InfixExpression infixExpression) {
+            return isPureExpression(infixExpression.getLeft(), scope) && isPureExpression(infixExpression.getRight(), scope);
+        } else if (expression instanceof PostfixExpression postfixExpression) {
+            return isLocalVariable(postfixExpression.getLeft(), scope);
+        } else if (expression instanceof AssignExpression assignExpression) {
+            return isLocalVariable(assignExpression.getTarget(), scope) && isPureExpression(assignExpression.getValue(), scope);
+        } else if (expression instanceof ConditionalExpression conditionalExpression) {
+            return isPureExpression(conditionalExpression.getCondition(), scope)
+                    && isPureStatement(conditionalExpression.getIfBranch(), scope)
+                    && conditionalExpression.getElseBranch().map(elseBranch -> isPureStatement(elseBranch, scope)).orElse(true);
+        } else if (expression instanceof ArrayExpression arrayExpression) {
+            return arrayExpression.getElements().stream().allMatch(element -> isPureExpression(element, scope));
+        } else if (expression instanceof RecordExpression recordExpression) {
+            return recordExpression.getFieldValues().stream().allMatch(value -> isPureExpression(value, scope));
+        } else if (expression instanceof IndexExpression indexExpression) {
+            return isPureExpression(indexExpression.getIndexableExpression(), scope)
+                    && isPureExpression(indexExpression.getIndex(), scope);
+        } else if (expression instanceof MemberExpression memberExpression) {
+            return isPureExpression(memberExpression.getRecordExpression(), scope);
+        } else if (expression instanceof FunctionExpression functionExpression) {
+            // the nested function runs in a scope of its own, enclosed by the current one
+            return isPureFunction(functionExpression.getFormalParameters(), functionExpression.getFunctionBody(), scope.nested());
+        } else if (expression instanceof CallExpression callExpression) {
+            return isPureCall(callExpression, scope);
+        } else {
+            return false;
+        }
+    }
+
+    private boolean isPureCall(CallExpression callExpression, Scope scope) {
+        Expression callee = callExpression.getCallableExpression();
+        List<Expression> parameters = callExpression.getActualParameters();
+
+        if (!isKnownFunction(callee, scope) || !isPureExpression(callee, scope)) {
+            return false;
+        }
+
+        for (Expression parameter : parameters) {
+            if (!isPureExpression(parameter, scope)) {
+                return false;
+            }
+        }
+
+        // a builtin that calls a function parameter is pure only if the function is known to be pure
+        if (callee instanceof IdentifierExpression identifier && !scope.isLocal(identifier.getValue())
+                && resolve(identifier, scope) instanceof BuiltinFunction builtinFunction) {
+            Integer position = FUNCTION_PARAMETERS.get(builtinFunction);
+            return position == null || position >= parameters.size() || isKnownFunction(parameters.get(position), scope);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the expression is a function literal, a function declared by the call or a name of an
+     * enclosing scope (whose value is then analyzed)
+     */
+    private boolean isKnownFunction(Expression expression, Scope scope) {
+        if (expression instanceof FunctionExpression) {
+            return true;
+        } else if (expression instanceof IdentifierExpression identifier) {
+            if (scope.isLocal(identifier.getValue())) {
+                return scope.isLocalFunction(identifier.getValue());
+            }
+
+            EvaluatedObject value = resolve(identifier, scope);
+            return value instanceof FunctionObject || value instanceof BuiltinFunction;
+        } else {
+            return false;
+        }
+    }
+
+    private boolean isLocalVariable(Expression target, Scope scope) {
+        return target instanceof IdentifierExpression identifier
+                && scope.isLocal(identifier.getValue())
+                && !scope.isLocalFunction(identifier.getValue());
+    }
+
+    /**
+     * Resolves a name that is not declared by the call like the evaluator does: core builtin functions first, then the
+     * enclosing scopes, then the library builtin functions.
+     */
+    private EvaluatedObject resolve(IdentifierExpression identifier, Scope scope) {
+        BuiltinRegistry.Binding binding = builtinRegistry.resolve(identifier.getValue());
+
+        if (binding.core()) {
+            return binding.function();
+        }
+
+        EvaluatedObject value = scope.environment().find(identifier);
+
+        if (value != null) {
+            return value;
+        }
+
+        return binding.function() != null ? binding.function() : Objects.NULL;
+    }
+
+    /**
+     * Names declared by the analyzed call, in the order of the statements.
+     *
+     * @param environment the scope enclosing the analyzed function
+     * @param locals      the names declared by the call
+     * @param functions   the names declared by the call bound to a function literal
+     */
+    private record Scope(Environment environment, Set<String> locals, Set<String> functions) {
+        Scope nested() {
+            return new Scope(environment, new HashSet<>(locals), new HashSet<>(functions));
+        }
+
+        boolean isLocal(String name) {
+            return locals.contains(name);
+        }
+
+        boolean isLocalFunction(String name) {
+            return functions.contains(name);
+        }
+
+        /**
+         * @return {@code false} if the name of a local function is declared again with another value: a call written
+         * before the declaration could then call an unknown function
+         */
+        boolean declare(String name, boolean function) {
+            if (functions.contains(name) && !function) {
+                return false;
+            }
+
+            locals.add(name);
+
+            if (function) {
+                functions.add(name);
+            }
+
+            return true;
+        }
+    }
+}
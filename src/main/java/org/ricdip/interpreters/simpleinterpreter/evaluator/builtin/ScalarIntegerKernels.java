@@ -0,0 +1,50 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+/**
+ * {@link IntegerKernels} written as simple counted loops, that the JIT compiler can unroll and vectorize on its own.
+ */
+final class ScalarIntegerKernels implements IntegerKernels {
+    @Override
+    public long[] add(long[] left, long[] right) {
+        long[] result = new long[left.length];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] + right[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public long[] multiply(long[] left, long[] right) {
+        long[] result = new long[left.length];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = left[i] * right[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public long dot(long[] left, long[] right) {
+        long result = 0;
+
+        for (int i = 0; i < left.length; i++) {
+            result += left[i] * right[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public long sum(long[] values) {
+        long result = 0;
+
+        for (long value : values) {
+            result += value;
+        }
+
+        return result;
+    }
+}
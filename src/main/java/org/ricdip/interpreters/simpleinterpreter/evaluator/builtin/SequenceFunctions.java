@@ -0,0 +1,188 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.Evaluator;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Builtin functions that build and consume lazy {@link SequenceObject}s. {@code map}, {@code filter}, {@code take}
+ * and {@code zip} only describe the pipeline; the elements are produced when the sequence is iterated, indexed,
+ * printed or reduced.
+ */
+public final class SequenceFunctions {
+    public static final BuiltinFunction MAP = new BuiltinFunction(
+            "map",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof IterableObject iterableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.STRING, ObjectTypes.RANGE, ObjectTypes.SEQUENCE);
+                }
+
+                if (!isFunction(args[1])) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                }
+
+                EvaluatedObject function = args[1];
+
+                return toSequence(iterableObject).map(element -> call(evaluator, function, element));
+            },
+            """
+                    map(x -> array|string|range|sequence, f -> function) -> sequence: returns a lazy sequence of the results of 'f' applied to every element of 'x'
+                    """
+    );
+    public static final BuiltinFunction FILTER = new BuiltinFunction(
+            "filter",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof IterableObject iterableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.STRING, ObjectTypes.RANGE, ObjectTypes.SEQUENCE);
+                }
+
+                if (!isFunction(args[1])) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                }
+
+                EvaluatedObject function = args[1];
+
+                return toSequence(iterableObject).filter(element -> {
+                    if (call(evaluator, function, element) instanceof BooleanObject booleanObject) {
+                        return booleanObject.getValue();
+                    }
+
+                    throw new EvaluatorException("Filter function must return a %s", ObjectTypes.BOOLEAN);
+                });
+            },
+            """
+                    filter(x -> array|string|range|sequence, f -> function) -> sequence: returns a lazy sequence of the elements of 'x' for which 'f' returns true
+                    """
+    );
+    public static final BuiltinFunction REDUCE = new BuiltinFunction(
+            "reduce",
+            (evaluator, args) -> {
+                if (args.length != 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 3", args.length);
+                }
+
+                if (!(args[0] instanceof IterableObject iterableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.STRING, ObjectTypes.RANGE, ObjectTypes.SEQUENCE);
+                }
+
+                if (!isFunction(args[1])) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.FUNCTION, ObjectTypes.BUILTIN);
+                }
+
+                // the elements are consumed one at a time: a lazy sequence is never materialized
+                EvaluatedObject accumulator = args[2];
+
+                for (EvaluatedObject element : iterableObject) {
+                    accumulator = evaluator.callFunction(args[1], List.of(accumulator, element));
+
+                    if (accumulator instanceof ErrorObject) {
+                        return accumulator;
+                    }
+                }
+
+                return accumulator;
+            },
+            """
+                    reduce(x -> array|string|range|sequence, f -> function, initial -> any) -> any: combines the elements of 'x' calling f(accumulator, element), starting from 'initial'
+                    """
+    );
+    public static final BuiltinFunction TAKE = new BuiltinFunction(
+            "take",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof IterableObject iterableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.STRING, ObjectTypes.RANGE, ObjectTypes.SEQUENCE);
+                }
+
+                if (!(args[1] instanceof IntegerObject integerObject)) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.INTEGER);
+                }
+
+                return toSequence(iterableObject).take(integerObject.getValue());
+            },
+            """
+                    take(x -> array|string|range|sequence, n -> integer) -> sequence: returns a lazy sequence of the first 'n' elements of 'x'
+                    """
+    );
+    public static final BuiltinFunction ZIP = new BuiltinFunction(
+            "zip",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                for (EvaluatedObject arg : args) {
+                    if (!(arg instanceof IterableObject)) {
+                        return Utils.unexpectedObjectTypeError(arg.getType(), ObjectTypes.ARRAY, ObjectTypes.STRING, ObjectTypes.RANGE, ObjectTypes.SEQUENCE);
+                    }
+                }
+
+                IterableObject first = (IterableObject) args[0];
+                IterableObject second = (IterableObject) args[1];
+
+                return new SequenceObject(() -> new Iterator<>() {
+                    private final Iterator<EvaluatedObject> firstIterator = first.iterator();
+                    private final Iterator<EvaluatedObject> secondIterator = second.iterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        return firstIterator.hasNext() && secondIterator.hasNext();
+                    }
+
+                    @Override
+                    public EvaluatedObject next() {
+                        List<EvaluatedObject> pair = new ArrayList<>();
+                        pair.add(firstIterator.next());
+                        pair.add(secondIterator.next());
+                        return new ArrayObject(pair);
+                    }
+                });
+            },
+            """
+                    zip(x -> array|string|range|sequence, y -> array|string|range|sequence) -> sequence: returns a lazy sequence of [a, b] pairs taken from 'x' and 'y', as long as the shorter one
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of("sequence", MAP, FILTER, REDUCE, TAKE, ZIP);
+
+    private SequenceFunctions() {
+    }
+
+    private static boolean isFunction(EvaluatedObject evaluatedObject) {
+        return evaluatedObject instanceof FunctionObject || evaluatedObject instanceof BuiltinFunction;
+    }
+
+    private static SequenceObject toSequence(IterableObject iterableObject) {
+        return iterableObject instanceof SequenceObject sequenceObject ? sequenceObject : new SequenceObject(iterableObject);
+    }
+
+    /**
+     * Calls a function passed to a sequence builtin on one element. The call happens while the sequence is being
+     * iterated, outside the builtin that created the stage, so an error is thrown and converted to an
+     * {@link ErrorObject} by whoever is consuming the sequence.
+     */
+    private static EvaluatedObject call(Evaluator evaluator, EvaluatedObject function, EvaluatedObject element) {
+        EvaluatedObject result = evaluator.callFunction(function, List.of(element));
+
+        if (result instanceof ErrorObject errorObject) {
+            throw new EvaluatorException(errorObject.getError());
+        }
+
+        return result;
+    }
+}
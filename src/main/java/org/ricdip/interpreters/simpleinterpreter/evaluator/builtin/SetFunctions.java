@@ -0,0 +1,125 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * Builtin functions that create, change and combine {@link SetObject}s. The members that cannot be stored in a set
+ * (arrays, records, functions, ...) are reported by {@link SetObject#add} with an exception that the evaluator returns
+ * as an {@link ErrorObject}.
+ */
+public final class SetFunctions {
+    public static final BuiltinFunction SET = new BuiltinFunction(
+            "set",
+            (evaluator, args) -> {
+                if (args.length > 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 0 or 1", args.length);
+                }
+
+                SetObject setObject = new SetObject();
+
+                if (args.length == 1) {
+                    if (!(args[0] instanceof IterableObject iterableObject)) {
+                        return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY, ObjectTypes.STRING, ObjectTypes.RANGE, ObjectTypes.SEQUENCE, ObjectTypes.SET);
+                    }
+
+                    for (EvaluatedObject member : iterableObject) {
+                        setObject.add(member);
+                    }
+                }
+
+                return setObject;
+            },
+            """
+                    set([x -> array|string|range|sequence|set]) -> set: returns a new set with the elements of 'x' (empty if 'x' is missing)
+                    """
+    );
+    public static final BuiltinFunction SET_ADD = memberFunction(
+            "setAdd",
+            SetObject::add,
+            """
+                    setAdd(s -> set, x -> integer|string|boolean) -> boolean: adds 'x' to 's' and returns true if 'x' was not in 's'
+                    """
+    );
+    public static final BuiltinFunction SET_CONTAINS = memberFunction(
+            "setContains",
+            SetObject::contains,
+            """
+                    setContains(s -> set, x -> any) -> boolean: returns true if 'x' is in 's'
+                    """
+    );
+    public static final BuiltinFunction SET_REMOVE = memberFunction(
+            "setRemove",
+            SetObject::remove,
+            """
+                    setRemove(s -> set, x -> any) -> boolean: removes 'x' from 's' and returns true if 'x' was in 's'
+                    """
+    );
+    public static final BuiltinFunction UNION = algebraFunction(
+            "union",
+            SetObject::union,
+            """
+                    union(a -> set, b -> set) -> set: returns a new set with the members of 'a' and of 'b'
+                    """
+    );
+    public static final BuiltinFunction INTERSECTION = algebraFunction(
+            "intersection",
+            SetObject::intersection,
+            """
+                    intersection(a -> set, b -> set) -> set: returns a new set with the members present both in 'a' and in 'b'
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "set",
+            SET,
+            SET_ADD,
+            SET_CONTAINS,
+            SET_REMOVE,
+            UNION,
+            INTERSECTION
+    );
+
+    private SetFunctions() {
+    }
+
+    private static BuiltinFunction memberFunction(String name, BiPredicate<SetObject, EvaluatedObject> operation, String usageMessage) {
+        return new BuiltinFunction(
+                name,
+                (evaluator, args) -> {
+                    if (args.length != 2) {
+                        return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                    }
+
+                    if (!(args[0] instanceof SetObject setObject)) {
+                        return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.SET);
+                    }
+
+                    return new BooleanObject(operation.test(setObject, args[1]));
+                },
+                usageMessage
+        );
+    }
+
+    private static BuiltinFunction algebraFunction(String name, BiFunction<SetObject, SetObject, SetObject> operation, String usageMessage) {
+        return new BuiltinFunction(
+                name,
+                (evaluator, args) -> {
+                    if (args.length != 2) {
+                        return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                    }
+
+                    for (EvaluatedObject arg : args) {
+                        if (!(arg instanceof SetObject)) {
+                            return Utils.unexpectedObjectTypeError(arg.getType(), ObjectTypes.SET);
+                        }
+                    }
+
+                    return operation.apply((SetObject) args[0], (SetObject) args[1]);
+                },
+                usageMessage
+        );
+    }
+}
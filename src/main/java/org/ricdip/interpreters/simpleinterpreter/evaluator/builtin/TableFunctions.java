@@ -0,0 +1,556 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Builtin functions that create and query {@link TableObject}s. Filters, projections and aggregations run as loops
+ * over the primitive column arrays: no function of the script is called per row. The argument errors found while
+ * looking up a column are thrown as {@link EvaluatorException} and returned by the evaluator as an {@link ErrorObject}.
+ */
+public final class TableFunctions {
+    public static final BuiltinFunction TABLE = new BuiltinFunction(
+            "table",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (args[0] instanceof RecordObject recordObject) {
+                    return fromColumns(recordObject);
+                } else if (args[0] instanceof ArrayObject arrayObject) {
+                    return fromRows(arrayObject);
+                } else {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.RECORD, ObjectTypes.ARRAY);
+                }
+            },
+            """
+                    table(x -> record|array) -> table: returns a table from a record of column arrays or from an array of records with the same fields
+                    """
+    );
+    public static final BuiltinFunction TABLE_COLUMN = new BuiltinFunction(
+            "tableColumn",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof TableObject tableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.TABLE);
+                }
+
+                TableColumn column = column(tableObject, args[1]);
+                List<EvaluatedObject> values = new ArrayList<>(tableObject.getRowCount());
+
+                for (int row = 0; row < tableObject.getRowCount(); row++) {
+                    values.add(column.get(row));
+                }
+
+                return new ArrayObject(values);
+            },
+            """
+                    tableColumn(t -> table, column -> string) -> array: returns the values of 'column'
+                    """
+    );
+    public static final BuiltinFunction TABLE_FILTER = new BuiltinFunction(
+            "tableFilter",
+            (evaluator, args) -> {
+                if (args.length != 4) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 4", args.length);
+                }
+
+                if (!(args[0] instanceof TableObject tableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.TABLE);
+                }
+
+                TableColumn column = column(tableObject, args[1]);
+                IntPredicate comparison = args[2] instanceof StringObject operator ? comparison(operator.getValue()) : null;
+
+                if (comparison == null) {
+                    return new ErrorObject("Unknown comparison operator %s: must be one of ==, !=, <, >, <=, >=", args[2]);
+                } else if (args[3].getType() != column.getType()) {
+                    return new ErrorObject(
+                            "Cannot compare %s column %s with %s",
+                            column.getType().name(),
+                            args[1],
+                            args[3].getType().name()
+                    );
+                }
+
+                int[] selection = new int[tableObject.getRowCount()];
+                int count = column.select(comparison, args[3], selection);
+
+                return tableObject.gather(selection, count);
+            },
+            """
+                    tableFilter(t -> table, column -> string, operator -> string, value -> integer|boolean|string) -> table: returns the rows of 't' whose 'column' value compared with 'value' by 'operator' (==, !=, <, >, <=, >=) is true
+                    """
+    );
+    public static final BuiltinFunction TABLE_SELECT = new BuiltinFunction(
+            "tableSelect",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof TableObject tableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.TABLE);
+                }
+
+                if (!(args[1] instanceof ArrayObject names)) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.ARRAY);
+                }
+
+                List<String> columnNames = new ArrayList<>();
+                List<TableColumn> columns = new ArrayList<>();
+
+                for (EvaluatedObject name : names.getElements()) {
+                    TableColumn column = column(tableObject, name);
+
+                    if (columnNames.contains(((StringObject) name).getValue())) {
+                        return new ErrorObject("Duplicate table column %s", name);
+                    }
+
+                    // the selected columns are shared with the original table, not copied
+                    columnNames.add(((StringObject) name).getValue());
+                    columns.add(column);
+                }
+
+                return new TableObject(columnNames, columns);
+            },
+            """
+                    tableSelect(t -> table, columns -> array) -> table: returns a table with only the given columns of 't'
+                    """
+    );
+    public static final BuiltinFunction TABLE_SUM = aggregateFunction(
+            "tableSum",
+            Aggregate.SUM,
+            """
+                    tableSum(t -> table, column -> string) -> integer: returns the sum of the integer 'column'
+                    """
+    );
+    public static final BuiltinFunction TABLE_MIN = aggregateFunction(
+            "tableMin",
+            Aggregate.MIN,
+            """
+                    tableMin(t -> table, column -> string) -> integer: returns the minimum of the integer 'column', or null if 't' is empty
+                    """
+    );
+    public static final BuiltinFunction TABLE_MAX = aggregateFunction(
+            "tableMax",
+            Aggregate.MAX,
+            """
+                    tableMax(t -> table, column -> string) -> integer: returns the maximum of the integer 'column', or null if 't' is empty
+                    """
+    );
+    public static final BuiltinFunction TABLE_COUNT = new BuiltinFunction(
+            "tableCount",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof TableObject tableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.TABLE);
+                }
+
+                return IntegerObject.valueOf(tableObject.getRowCount());
+            },
+            """
+                    tableCount(t -> table) -> integer: returns the number of rows of 't'
+                    """
+    );
+    public static final BuiltinFunction TABLE_GROUP_BY = new BuiltinFunction(
+            "tableGroupBy",
+            (evaluator, args) -> {
+                if (args.length < 3 || args.length > 4) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 3 or 4", args.length);
+                }
+
+                if (!(args[0] instanceof TableObject tableObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.TABLE);
+                }
+
+                TableColumn keyColumn = column(tableObject, args[1]);
+                Aggregate aggregate = args[2] instanceof StringObject name ? Aggregate.of(name.getValue()) : null;
+
+                if (aggregate == null) {
+                    return new ErrorObject("Unknown aggregate %s: must be one of sum, min, max, count", args[2]);
+                } else if (aggregate != Aggregate.COUNT && args.length != 4) {
+                    return new ErrorObject("Aggregate %s needs a column", aggregate.getName());
+                }
+
+                long[] values = aggregate != Aggregate.COUNT ? integerColumn(tableObject, args[3]).values() : null;
+
+                // assign a group id to every row, in order of first appearance of the key
+                int[] groupIds = new int[tableObject.getRowCount()];
+                int[] firstRows = new int[tableObject.getRowCount()];
+                int groupCount = groupIds(keyColumn, groupIds, firstRows);
+
+                long[] results;
+
+                try {
+                    results = aggregate.apply(values, groupIds, groupCount);
+                } catch (ArithmeticException e) {
+                    // the column of the result stores 64-bit integers
+                    return new ErrorObject("Integer overflow in %s of column %s", aggregate.getName(), args[3]);
+                }
+
+                return new TableObject(
+                        List.of(((StringObject) args[1]).getValue(), aggregate.getName()),
+                        List.of(keyColumn.gather(firstRows, groupCount), new TableColumn.IntColumn(results))
+                );
+            },
+            """
+                    tableGroupBy(t -> table, key -> string, aggregate -> string[, column -> string]) -> table: returns a table with a row for every distinct value of the 'key' column and the 'aggregate' (sum, min, max or count) of the integer 'column' computed on the rows of the group
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "table",
+            TABLE,
+            TABLE_COLUMN,
+            TABLE_FILTER,
+            TABLE_SELECT,
+            TABLE_SUM,
+            TABLE_MIN,
+            TABLE_MAX,
+            TABLE_COUNT,
+            TABLE_GROUP_BY
+    );
+    // integer keys spanning up to this many values per row are grouped with an array indexed by the key
+    private static final int DENSE_KEY_RANGE_FACTOR = 2;
+
+    private TableFunctions() {
+    }
+
+    private enum Aggregate {
+        SUM("sum"),
+        MIN("min"),
+        MAX("max"),
+        COUNT("count");
+
+        private final String name;
+
+        Aggregate(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        static Aggregate of(String name) {
+            return Arrays.stream(values()).filter(aggregate -> aggregate.name.equals(name)).findFirst().orElse(null);
+        }
+
+        /**
+         * Computes the aggregate of every group in a single pass over the values.
+         *
+         * @param values     the values of the aggregated column ({@code null} for count)
+         * @param groupIds   the group of every row, or {@code null} if all the rows belong to one group
+         * @param groupCount the number of groups
+         * @return the aggregate of every group
+         * @throws ArithmeticException if a sum overflows
+         */
+        long[] apply(long[] values, int[] groupIds, int groupCount) {
+            long[] results = new long[groupCount];
+            int rowCount = values != null ? values.length : groupIds.length;
+
+            switch (this) {
+                case SUM -> {
+                    for (int row = 0; row < rowCount; row++) {
+                        int group = groupIds == null ? 0 : groupIds[row];
+                        results[group] = Math.addExact(results[group], values[row]);
+                    }
+                }
+                case MIN -> {
+                    Arrays.fill(results, Long.MAX_VALUE);
+
+                    for (int row = 0; row < rowCount; row++) {
+                        int group = groupIds == null ? 0 : groupIds[row];
+                        results[group] = Math.min(results[group], values[row]);
+                    }
+                }
+                case MAX -> {
+                    Arrays.fill(results, Long.MIN_VALUE);
+
+                    for (int row = 0; row < rowCount; row++) {
+                        int group = groupIds == null ? 0 : groupIds[row];
+                        results[group] = Math.max(results[group], values[row]);
+                    }
+                }
+                case COUNT -> {
+                    for (int row = 0; row < rowCount; row++) {
+                        results[groupIds == null ? 0 : groupIds[row]]++;
+                    }
+                }
+            }
+
+            return results;
+        }
+    }
+
+    private static BuiltinFunction aggregateFunction(String name, Aggregate aggregate, String usageMessage) {
+        return new BuiltinFunction(
+                name,
+                (evaluator, args) -> {
+                    if (args.length != 2) {
+                        return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                    }
+
+                    if (!(args[0] instanceof TableObject tableObject)) {
+                        return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.TABLE);
+                    }
+
+                    TableColumn.IntColumn column = integerColumn(tableObject, args[1]);
+
+                    if (tableObject.getRowCount() == 0 && aggregate != Aggregate.SUM) {
+                        return Objects.NULL;
+                    }
+
+                    try {
+                        return IntegerObject.valueOf(aggregate.apply(column.values(), null, 1)[0]);
+                    } catch (ArithmeticException e) {
+                        // only a sum can overflow: it is computed again with arbitrary precision
+                        BigInteger sum = BigInteger.ZERO;
+
+                        for (long value : column.values()) {
+                            sum = sum.add(BigInteger.valueOf(value));
+                        }
+
+                        return BigIntegerObject.valueOf(sum);
+                    }
+                },
+                usageMessage
+        );
+    }
+
+    /**
+     * Returns the column of the table whose name is the {@code name} argument.
+     *
+     * @throws EvaluatorException if the argument is not a string or the table has no such column
+     */
+    private static TableColumn column(TableObject tableObject, EvaluatedObject name) {
+        if (!(name instanceof StringObject stringObject)) {
+            throw new EvaluatorException(Utils.unexpectedObjectTypeError(name.getType(), ObjectTypes.STRING).getError());
+        }
+
+        TableColumn column = tableObject.getColumn(stringObject.getValue());
+
+        if (column == null) {
+            throw new EvaluatorException("Table has no column %s", name);
+        }
+
+        return column;
+    }
+
+    private static TableColumn.IntColumn integerColumn(TableObject tableObject, EvaluatedObject name) {
+        TableColumn column = column(tableObject, name);
+
+        if (!(column instanceof TableColumn.IntColumn intColumn)) {
+            throw new EvaluatorException("Cannot aggregate %s column %s", column.getType().name(), name);
+        }
+
+        return intColumn;
+    }
+
+    private static IntPredicate comparison(String operator) {
+        return switch (operator) {
+            case "==" -> result -> result == 0;
+            case "!=" -> result -> result != 0;
+            case "<" -> result -> result < 0;
+            case ">" -> result -> result > 0;
+            case "<=" -> result -> result <= 0;
+            case ">=" -> result -> result >= 0;
+            default -> null;
+        };
+    }
+
+    /**
+     * Assigns a group id to every row: rows with the same key value have the same id. String keys are grouped by
+     * their dictionary code, boolean keys by their value and integer keys by their value too, when the keys span a
+     * range at most {@value #DENSE_KEY_RANGE_FACTOR} times the number of rows, or else with a primitive hash table.
+     *
+     * @return the number of groups
+     */
+    private static int groupIds(TableColumn keyColumn, int[] groupIds, int[] firstRows) {
+        return switch (keyColumn) {
+            case TableColumn.StringColumn stringColumn ->
+                    groupCodes(stringColumn.codes(), stringColumn.dictionary().size(), groupIds, firstRows);
+            case TableColumn.BooleanColumn booleanColumn -> groupBooleans(booleanColumn.values(), groupIds, firstRows);
+            case TableColumn.IntColumn intColumn -> groupIntegers(intColumn.values(), groupIds, firstRows);
+        };
+    }
+
+    private static int groupCodes(int[] codes, int codeCount, int[] groupIds, int[] firstRows) {
+        int[] groupOfCode = new int[codeCount];
+        Arrays.fill(groupOfCode, -1);
+        int groupCount = 0;
+
+        for (int row = 0; row < groupIds.length; row++) {
+            int code = codes[row];
+
+            if (groupOfCode[code] == -1) {
+                groupOfCode[code] = groupCount;
+                firstRows[groupCount++] = row;
+            }
+
+            groupIds[row] = groupOfCode[code];
+        }
+
+        return groupCount;
+    }
+
+    private static int groupBooleans(boolean[] keys, int[] groupIds, int[] firstRows) {
+        int[] groupOfKey = {-1, -1};
+        int groupCount = 0;
+
+        for (int row = 0; row < keys.length; row++) {
+            int index = keys[row] ? 1 : 0;
+
+            if (groupOfKey[index] == -1) {
+                groupOfKey[index] = groupCount;
+                firstRows[groupCount++] = row;
+            }
+
+            groupIds[row] = groupOfKey[index];
+        }
+
+        return groupCount;
+    }
+
+    private static int groupIntegers(long[] keys, int[] groupIds, int[] firstRows) {
+        if (keys.length == 0) {
+            return 0;
+        }
+
+        long min = keys[0];
+        long max = keys[0];
+
+        for (long key : keys) {
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+
+        // negative if the range overflows
+        long range = max - min;
+
+        if (range >= 0 && range < (long) DENSE_KEY_RANGE_FACTOR * keys.length) {
+            int[] groupOfKey = new int[(int) range + 1];
+            Arrays.fill(groupOfKey, -1);
+            int groupCount = 0;
+
+            for (int row = 0; row < keys.length; row++) {
+                int index = (int) (keys[row] - min);
+
+                if (groupOfKey[index] == -1) {
+                    groupOfKey[index] = groupCount;
+                    firstRows[groupCount++] = row;
+                }
+
+                groupIds[row] = groupOfKey[index];
+            }
+
+            return groupCount;
+        }
+
+        // open addressing with linear probing, at most half full
+        int capacity = Integer.highestOneBit(keys.length) << 2;
+        long[] tableKeys = new long[capacity];
+        int[] tableGroups = new int[capacity];
+        Arrays.fill(tableGroups, -1);
+        int groupCount = 0;
+
+        for (int row = 0; row < keys.length; row++) {
+            long key = keys[row];
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (capacity - 1);
+
+            while (tableGroups[slot] != -1 && tableKeys[slot] != key) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            if (tableGroups[slot] == -1) {
+                tableKeys[slot] = key;
+                tableGroups[slot] = groupCount;
+                firstRows[groupCount++] = row;
+            }
+
+            groupIds[row] = tableGroups[slot];
+        }
+
+        return groupCount;
+    }
+
+    private static EvaluatedObject fromColumns(RecordObject recordObject) {
+        List<String> columnNames = recordObject.getShape().getFieldNames();
+        List<TableColumn> columns = new ArrayList<>();
+
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (!(recordObject.get(i) instanceof ArrayObject arrayObject)) {
+                return new ErrorObject("Table column \"%s\" must be an %s", columnNames.get(i), ObjectTypes.ARRAY.name());
+            }
+
+            TableColumn column = TableColumn.of(arrayObject.getElements());
+
+            if (column == null) {
+                return columnTypeError(columnNames.get(i));
+            } else if (!columns.isEmpty() && column.size() != columns.getFirst().size()) {
+                return new ErrorObject("Table columns must have the same number of rows");
+            }
+
+            columns.add(column);
+        }
+
+        return new TableObject(columnNames, columns);
+    }
+
+    private static EvaluatedObject fromRows(ArrayObject arrayObject) {
+        List<EvaluatedObject> rows = arrayObject.getElements();
+
+        if (rows.isEmpty()) {
+            return new TableObject(List.of(), List.of());
+        }
+
+        if (!(rows.getFirst() instanceof RecordObject firstRow)) {
+            return new ErrorObject("Table rows must be records with the same fields");
+        }
+
+        RecordShape shape = firstRow.getShape();
+        List<TableColumn> columns = new ArrayList<>();
+
+        for (EvaluatedObject row : rows) {
+            if (!(row instanceof RecordObject recordObject) || !recordObject.getShape().equals(shape)) {
+                return new ErrorObject("Table rows must be records with the same fields");
+            }
+        }
+
+        for (int i = 0; i < shape.size(); i++) {
+            List<EvaluatedObject> values = new ArrayList<>(rows.size());
+
+            for (EvaluatedObject row : rows) {
+                values.add(((RecordObject) row).get(i));
+            }
+
+            TableColumn column = TableColumn.of(values);
+
+            if (column == null) {
+                return columnTypeError(shape.getFieldNames().get(i));
+            }
+
+            columns.add(column);
+        }
+
+        return new TableObject(shape.getFieldNames(), columns);
+    }
+
+    private static ErrorObject columnTypeError(String columnName) {
+        return new ErrorObject("Table column \"%s\" must contain only 64-bit integers, only booleans or only strings", columnName);
+    }
+}
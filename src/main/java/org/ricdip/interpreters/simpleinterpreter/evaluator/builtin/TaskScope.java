@@ -0,0 +1,234 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.Evaluator;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ErrorObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.TaskObject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Group of the tasks spawned by a thread while it runs a task or a {@code scope} function. Every thread has a current
+ * scope, where the tasks it spawns are registered:
+ * <ul>
+ *     <li>when the function of the scope returns, the scope waits for all its tasks, so no task outlives the code that
+ *     spawned it</li>
+ *     <li>when a task fails, the scope is cancelled and the error becomes the result of the scope, even if the task
+ *     has not been awaited</li>
+ *     <li>when a scope is cancelled, because a task failed or its function failed, all its tasks and the tasks of
+ *     the nested scopes are cancelled too</li>
+ * </ul>
+ * Cancellation is cooperative: a cancelled task stops at its next {@code await}, {@code send} or {@code recv}, that
+ * returns an error, and is still waited for by its scope. A task waiting in one of them is woken up with an interrupt,
+ * that is only sent while the thread is waiting there: an interrupt during file I/O would close the file.
+ * <p>
+ * The tasks spawned outside of any task or {@code scope} function belong to the root scope of the thread, which
+ * lasts until the end of the program: a failed task does not cancel the others, and its error is returned by
+ * {@code await} or, if it has not been awaited, reported when the root scope is closed.
+ */
+final class TaskScope {
+    private static final ThreadLocal<TaskScope> CURRENT = ThreadLocal.withInitial(() -> new TaskScope(null, false));
+    // the threads waiting for another task, with their scope
+    private static final Map<Thread, TaskScope> WAITING = new ConcurrentHashMap<>();
+
+    private final TaskScope parent;
+    private final boolean structured;
+    private final Set<TaskObject> tasks = ConcurrentHashMap.newKeySet();
+    // the failed tasks of the root scope, in the order they failed
+    private final Queue<TaskObject> failedTasks = new ConcurrentLinkedQueue<>();
+    private volatile boolean cancelled;
+    private volatile ErrorObject failure;
+
+    private TaskScope(TaskScope parent, boolean structured) {
+        this.parent = parent;
+        this.structured = structured;
+    }
+
+    /**
+     * @return the scope of the current thread
+     */
+    static TaskScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs a function on the current thread in a new scope nested in the current one.
+     *
+     * @return the result of the function, or the error of the first task that failed
+     */
+    static EvaluatedObject run(Evaluator evaluator, EvaluatedObject function) {
+        TaskScope outer = CURRENT.get();
+        TaskScope scope = new TaskScope(outer, true);
+        CURRENT.set(scope);
+
+        try {
+            return scope.close(evaluator.callFunction(function, List.of()));
+        } finally {
+            CURRENT.set(outer);
+        }
+    }
+
+    /**
+     * Closes the root scope of the current thread, that must not be running a task or a {@code scope} function: waits
+     * for the tasks spawned in it. The next task spawned by the thread starts a new root scope.
+     *
+     * @return the error of the first task that failed and has not been awaited, or {@code null} if there is none
+     */
+    static ErrorObject closeRoot() {
+        TaskScope root = CURRENT.get();
+        CURRENT.remove();
+
+        for (TaskObject task : List.copyOf(root.tasks)) {
+            task.join();
+        }
+
+        for (TaskObject task : root.failedTasks) {
+            if (!task.isAwaited()) {
+                return (ErrorObject) task.join();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Calls a function on a new virtual thread, in a new scope nested in this one.
+     *
+     * @param function the function, that must not read the scopes of the current thread
+     * @param args     the parameters of the function
+     * @return the new task
+     */
+    TaskObject spawn(Evaluator evaluator, EvaluatedObject function, List<EvaluatedObject> args) {
+        TaskObject task = new TaskObject();
+        TaskScope scope = new TaskScope(this, true);
+        tasks.add(task);
+
+        Thread.ofVirtual().name("task").start(() -> {
+            CURRENT.set(scope);
+            EvaluatedObject result;
+
+            try {
+                result = scope.close(evaluator.callFunction(function, args));
+            } catch (StackOverflowError e) {
+                result = scope.close(new ErrorObject("Task failed: stack overflow"));
+            } catch (Throwable e) {
+                // e.g. an array changed by two tasks at the same time, or an OutOfMemoryError: the task must complete
+                // anyway, or its await and its scope would wait for it forever
+                result = scope.close(new ErrorObject("Task failed: %s", e));
+            }
+
+            if (result instanceof ErrorObject errorObject) {
+                fail(task, errorObject);
+            }
+
+            task.complete(result);
+            tasks.remove(task);
+        });
+
+        return task;
+    }
+
+    /**
+     * Runs an operation that waits for another task, so that the cancellation of the current scope can interrupt it.
+     *
+     * @return the result of the operation, or the cancellation error if the scope is cancelled before or while the
+     * operation waits
+     */
+    static EvaluatedObject waitFor(Wait operation) {
+        TaskScope scope = CURRENT.get();
+        Thread thread = Thread.currentThread();
+        WAITING.put(thread, scope);
+
+        try {
+            // checked after the registration: an earlier cancellation is seen here, a later one interrupts the thread
+            if (scope.isCancelled()) {
+                return scope.cancellationError();
+            }
+
+            return operation.get();
+        } catch (InterruptedException e) {
+            return scope.cancellationError();
+        } finally {
+            // the interrupts are sent only to the registered threads: one sent before the removal is cleared here
+            WAITING.remove(thread);
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * @return {@code true} if this scope or an enclosing one has been cancelled
+     */
+    boolean isCancelled() {
+        for (TaskScope scope = this; scope != null; scope = scope.parent) {
+            if (scope.cancelled) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the error returned by the operations of a cancelled task: the error of the task that caused the
+     * cancellation, if any
+     */
+    ErrorObject cancellationError() {
+        for (TaskScope scope = this; scope != null; scope = scope.parent) {
+            if (scope.failure != null) {
+                return scope.failure;
+            }
+        }
+
+        return new ErrorObject("Task cancelled");
+    }
+
+    private synchronized void fail(TaskObject task, ErrorObject errorObject) {
+        if (!structured) {
+            failedTasks.add(task);
+        } else if (!isCancelled()) {
+            // the errors of the tasks stopped by the cancellation are not the cause of the failure
+            failure = errorObject;
+            cancel();
+        }
+    }
+
+    private void cancel() {
+        cancelled = true;
+
+        for (Thread thread : WAITING.keySet()) {
+            // atomic with the removal of the thread, so the thread is not interrupted after it stopped waiting
+            WAITING.computeIfPresent(thread, (waiting, scope) -> {
+                if (scope.isCancelled()) {
+                    waiting.interrupt();
+                }
+
+                return scope;
+            });
+        }
+    }
+
+    private EvaluatedObject close(EvaluatedObject result) {
+        if (result instanceof ErrorObject) {
+            cancel();
+        }
+
+        for (TaskObject task : List.copyOf(tasks)) {
+            task.join();
+        }
+
+        return failure != null ? failure : result;
+    }
+
+    /**
+     * Operation that waits for another task.
+     */
+    @FunctionalInterface
+    interface Wait {
+        EvaluatedObject get() throws InterruptedException;
+    }
+}
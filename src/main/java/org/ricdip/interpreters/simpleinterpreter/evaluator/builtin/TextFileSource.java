@@ -0,0 +1,273 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.ResourceCleaner;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.StringObject;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Text of a UTF-8 file, produced as lines or as chunks of characters. Every iteration opens a {@link FileChannel} and
+ * decodes the file a buffer at a time, so the memory used does not depend on the size of the file: files smaller than
+ * {@link #MAPPING_THRESHOLD} are read in a buffer, larger files are mapped in memory a window at a time and decoded
+ * directly from the mapped pages. Malformed UTF-8 sequences are replaced by U+FFFD.
+ * <p>
+ * The channel is closed when the iteration reaches the end of the file, or when the iterator is no longer reachable
+ * if the iteration stops before.
+ */
+final class TextFileSource implements Iterable<EvaluatedObject> {
+    static final long MAPPING_THRESHOLD = 1024 * 1024;
+    private static final long MAPPING_WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+
+    private final Path path;
+    // number of characters of a chunk, 0 if the file is produced as lines
+    private final int chunkSize;
+
+    private TextFileSource(Path path, int chunkSize) {
+        this.path = path;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the lines of a file, without the line terminators ({@code \n}, {@code \r} or {@code \r\n}).
+     */
+    static TextFileSource lines(Path path) {
+        return new TextFileSource(path, 0);
+    }
+
+    /**
+     * Returns the text of a file in chunks of {@code chunkSize} characters; the last chunk can be shorter.
+     */
+    static TextFileSource chunks(Path path, int chunkSize) {
+        return new TextFileSource(path, chunkSize);
+    }
+
+    /**
+     * @throws EvaluatorException if the file cannot be opened
+     */
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new TextIterator();
+    }
+
+    /**
+     * Decoder of the bytes of a file: {@link #fill()} makes the next characters available in {@link #chars}.
+     */
+    private static final class FileDecoder {
+        private final FileChannel channel;
+        private final long size;
+        private final boolean mapped;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE).flip();
+        private ByteBuffer bytes;
+        // position in the file of the first byte of a mapped window
+        private long windowStart;
+        private boolean endOfInput;
+        private boolean flushed;
+
+        FileDecoder(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.mapped = size >= MAPPING_THRESHOLD;
+            this.bytes = mapped ? ByteBuffer.allocate(0) : ByteBuffer.allocate(READ_BUFFER_SIZE).flip();
+        }
+
+        /**
+         * Decodes the next characters if all the decoded ones have been consumed.
+         *
+         * @return true if {@link #chars} has remaining characters, false at the end of the file
+         */
+        boolean fill() throws IOException {
+            if (chars.hasRemaining()) {
+                return true;
+            }
+
+            chars.clear();
+
+            while (chars.position() == 0 && !flushed) {
+                CoderResult result = decoder.decode(bytes, chars, endOfInput);
+
+                if (result.isUnderflow()) {
+                    if (endOfInput) {
+                        decoder.flush(chars);
+                        flushed = true;
+                    } else if (!readBytes()) {
+                        // the bytes of an incomplete character at the end of the file are decoded as U+FFFD
+                        endOfInput = true;
+                    }
+                }
+            }
+
+            chars.flip();
+            return chars.hasRemaining();
+        }
+
+        /**
+         * Makes the next bytes of the file available, keeping the bytes of a character split between two reads.
+         *
+         * @return false if there are no more bytes in the file
+         */
+        private boolean readBytes() throws IOException {
+            if (!mapped) {
+                bytes.compact();
+                int count = channel.read(bytes);
+                bytes.flip();
+                return count > 0;
+            }
+
+            if (windowStart + bytes.limit() >= size) {
+                return false;
+            }
+
+            // the new window starts at the first byte not decoded yet
+            windowStart += bytes.position();
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(MAPPING_WINDOW_SIZE, size - windowStart));
+            return true;
+        }
+    }
+
+    private final class TextIterator implements Iterator<EvaluatedObject> {
+        private final Cleaner.Cleanable channelCloser;
+        private final FileDecoder fileDecoder;
+        private String nextText;
+        private boolean exhausted;
+        // the previous line ended with \r: a following \n belongs to the same terminator
+        private boolean skipLineFeed;
+
+        TextIterator() {
+            FileChannel channel;
+
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw readError(e);
+            }
+
+            channelCloser = ResourceCleaner.closeOnCleanup(this, channel);
+
+            try {
+                fileDecoder = new FileDecoder(channel);
+            } catch (IOException e) {
+                channelCloser.clean();
+                throw readError(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextText == null && !exhausted) {
+                try {
+                    nextText = chunkSize > 0 ? readChunk() : readLine();
+                } catch (IOException e) {
+                    throw readError(e);
+                }
+
+                if (nextText == null) {
+                    exhausted = true;
+                    channelCloser.clean();
+                }
+            }
+
+            return nextText != null;
+        }
+
+        @Override
+        public EvaluatedObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            StringObject element = new StringObject(nextText);
+            nextText = null;
+            return element;
+        }
+
+        /**
+         * @return the next line, or {@code null} at the end of the file
+         */
+        private String readLine() throws IOException {
+            CharBuffer chars = fileDecoder.chars;
+            StringBuilder builder = null;
+
+            while (fileDecoder.fill()) {
+                char[] array = chars.array();
+                int start = chars.position();
+
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+
+                    if (array[start] == '\n') {
+                        chars.position(start + 1);
+                        continue;
+                    }
+                }
+
+                for (int i = start; i < chars.limit(); i++) {
+                    if (array[i] == '\n' || array[i] == '\r') {
+                        chars.position(i + 1);
+                        skipLineFeed = array[i] == '\r';
+
+                        if (builder == null) {
+                            return new String(array, start, i - start);
+                        }
+
+                        return builder.append(array, start, i - start).toString();
+                    }
+                }
+
+                // the line continues in the next characters
+                if (builder == null) {
+                    builder = new StringBuilder();
+                }
+
+                builder.append(array, start, chars.limit() - start);
+                chars.position(chars.limit());
+            }
+
+            return builder != null ? builder.toString() : null;
+        }
+
+        /**
+         * @return the next chunk, or {@code null} at the end of the file
+         */
+        private String readChunk() throws IOException {
+            CharBuffer chars = fileDecoder.chars;
+            StringBuilder builder = new StringBuilder(Math.min(chunkSize, CHAR_BUFFER_SIZE));
+
+            while (builder.length() < chunkSize && fileDecoder.fill()) {
+                int count = Math.min(chunkSize - builder.length(), chars.remaining());
+                builder.append(chars.array(), chars.position(), count);
+                chars.position(chars.position() + count);
+            }
+
+            // a surrogate pair is not split between two chunks
+            if (!builder.isEmpty() && Character.isHighSurrogate(builder.charAt(builder.length() - 1))
+                && fileDecoder.fill()) {
+                builder.append(chars.get());
+            }
+
+            return !builder.isEmpty() ? builder.toString() : null;
+        }
+
+        private EvaluatorException readError(IOException e) {
+            return new EvaluatorException("Cannot read %s: %s", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builtin functions that split, search and build strings. The patterns are Java regular expressions, compiled once
+ * and kept in the {@link PatternCache}; {@code patternCacheStats} returns the counters of the cache.
+ */
+public final class TextFunctions {
+    private static final RecordShape STATS_SHAPE = RecordShape.of(List.of("hits", "misses", "size"));
+
+    public static final BuiltinFunction SPLIT = new BuiltinFunction(
+            "split",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                ErrorObject error = checkStrings(args);
+
+                if (error != null) {
+                    return error;
+                }
+
+                List<EvaluatedObject> parts = new ArrayList<>();
+
+                // a negative limit keeps the trailing empty strings
+                for (String part : pattern(args[1]).split(value(args[0]), -1)) {
+                    parts.add(new StringObject(part));
+                }
+
+                return new ArrayObject(parts);
+            },
+            """
+                    split(x -> string, pattern -> string) -> array: returns the array of the parts of 'x' between the matches of 'pattern'
+                    """
+    );
+    public static final BuiltinFunction JOIN = new BuiltinFunction(
+            "join",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                if (!(args[0] instanceof ArrayObject arrayObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY);
+                }
+
+                if (!(args[1] instanceof StringObject separator)) {
+                    return Utils.unexpectedObjectTypeError(args[1].getType(), ObjectTypes.STRING);
+                }
+
+                List<EvaluatedObject> elements = arrayObject.getElements();
+                StringBuilder builder = new StringBuilder();
+
+                for (int i = 0; i < elements.size(); i++) {
+                    if (i > 0) {
+                        builder.append(separator.getValue());
+                    }
+
+                    builder.append(text(elements.get(i)));
+                }
+
+                return new StringObject(builder.toString());
+            },
+            """
+                    join(x -> array, separator -> string) -> string: returns the elements of 'x' (the strings without quotes) separated by 'separator'
+                    """
+    );
+    public static final BuiltinFunction REPLACE = new BuiltinFunction(
+            "replace",
+            (evaluator, args) -> {
+                if (args.length != 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 3", args.length);
+                }
+
+                ErrorObject error = checkStrings(args);
+
+                if (error != null) {
+                    return error;
+                }
+
+                try {
+                    return new StringObject(pattern(args[1]).matcher(value(args[0])).replaceAll(value(args[2])));
+                } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                    // reference to a group that does not exist in the pattern
+                    return new ErrorObject("Invalid replacement %s: %s", value(args[2]), e.getMessage());
+                }
+            },
+            """
+                    replace(x -> string, pattern -> string, replacement -> string) -> string: returns 'x' with every match of 'pattern' replaced by 'replacement', where $n stands for the n-th group of the match
+                    """
+    );
+    public static final BuiltinFunction FIND = new BuiltinFunction(
+            "find",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                ErrorObject error = checkStrings(args);
+
+                if (error != null) {
+                    return error;
+                }
+
+                Matcher matcher = pattern(args[1]).matcher(value(args[0]));
+
+                if (!matcher.find()) {
+                    return Objects.NULL;
+                }
+
+                List<EvaluatedObject> groups = new ArrayList<>(matcher.groupCount() + 1);
+
+                for (int i = 0; i <= matcher.groupCount(); i++) {
+                    String group = matcher.group(i);
+                    groups.add(group != null ? new StringObject(group) : Objects.NULL);
+                }
+
+                return new ArrayObject(groups);
+            },
+            """
+                    find(x -> string, pattern -> string) -> array: returns the first match of 'pattern' in 'x' followed by its groups, or null if 'pattern' does not occur in 'x'
+                    """
+    );
+    public static final BuiltinFunction MATCHES = new BuiltinFunction(
+            "matches",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                ErrorObject error = checkStrings(args);
+
+                if (error != null) {
+                    return error;
+                }
+
+                return new BooleanObject(pattern(args[1]).matcher(value(args[0])).matches());
+            },
+            """
+                    matches(x -> string, pattern -> string) -> boolean: returns true if the whole 'x' matches 'pattern'
+                    """
+    );
+    public static final BuiltinFunction FORMAT = new BuiltinFunction(
+            "format",
+            (evaluator, args) -> {
+                if (args.length == 0) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be at least 1", args.length);
+                }
+
+                if (!(args[0] instanceof StringObject template)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.STRING);
+                }
+
+                Object[] values = new Object[args.length - 1];
+
+                for (int i = 1; i < args.length; i++) {
+                    values[i - 1] = formatArgument(args[i]);
+                }
+
+                try {
+                    return new StringObject(String.format(template.getValue(), values));
+                } catch (IllegalFormatException e) {
+                    return new ErrorObject("Invalid format %s: %s", template.getValue(), e.getMessage());
+                }
+            },
+            """
+                    format(template -> string, x -> any, ...) -> string: returns 'template' with its Java format specifiers (%s, %d, %5d, %x, %b, ...) replaced by the following arguments
+                    """
+    );
+    public static final BuiltinFunction PATTERN_CACHE_STATS = new BuiltinFunction(
+            "patternCacheStats",
+            (evaluator, args) -> {
+                if (args.length != 0) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 0", args.length);
+                }
+
+                PatternCache cache = PatternCache.INSTANCE;
+
+                return new RecordObject(STATS_SHAPE, new EvaluatedObject[]{
+                        IntegerObject.valueOf(cache.getHits()),
+                        IntegerObject.valueOf(cache.getMisses()),
+                        IntegerObject.valueOf(cache.size())
+                });
+            },
+            """
+                    patternCacheStats() -> record: returns the number of lookups that found a compiled pattern (hits), the number of patterns compiled (misses) and the number of patterns in the cache (size)
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of(
+            "text",
+            SPLIT,
+            JOIN,
+            REPLACE,
+            FIND,
+            MATCHES,
+            FORMAT,
+            PATTERN_CACHE_STATS
+    );
+
+    private TextFunctions() {
+    }
+
+    private static ErrorObject checkStrings(EvaluatedObject[] args) {
+        for (EvaluatedObject arg : args) {
+            if (!(arg instanceof StringObject)) {
+                return Utils.unexpectedObjectTypeError(arg.getType(), ObjectTypes.STRING);
+            }
+        }
+
+        return null;
+    }
+
+    private static String value(EvaluatedObject stringObject) {
+        return ((StringObject) stringObject).getValue();
+    }
+
+    /**
+     * @throws EvaluatorException if the pattern is not a valid regular expression
+     */
+    private static Pattern pattern(EvaluatedObject regex) {
+        return PatternCache.INSTANCE.get(value(regex));
+    }
+
+    /**
+     * Returns the text of a value inside a string: a string without quotes, any other value as it is printed.
+     */
+    private static String text(EvaluatedObject evaluatedObject) {
+        return evaluatedObject instanceof StringObject stringObject ? stringObject.getValue() : evaluatedObject.toString();
+    }
+
+    /**
+     * Converts a value to the Java object expected by the format specifiers: integers to numbers, so that {@code %d}
+     * and {@code %x} accept them, strings without quotes and booleans to {@link Boolean}.
+     */
+    private static Object formatArgument(EvaluatedObject evaluatedObject) {
+        if (evaluatedObject instanceof IntegerObject integerObject) {
+            return integerObject.getValue();
+        } else if (evaluatedObject instanceof BigIntegerObject) {
+            return BigIntegerObject.toBigInteger(evaluatedObject);
+        } else if (evaluatedObject instanceof BooleanObject booleanObject) {
+            return booleanObject.getValue();
+        } else {
+            return text(evaluatedObject);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.*;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Bulk arithmetic builtin functions over arrays of integers. The elements are unboxed once into a {@code long[]} and
+ * the loops run in {@link IntegerKernels}, on the Vector API when it is available. While unboxing, the functions
+ * record how many bits the largest magnitude needs: if the result cannot overflow, the kernels are used as they are;
+ * otherwise (or if an element is already an arbitrary-precision integer) the result is computed with
+ * {@link BigInteger}s, so the functions give the same results as the {@code +} and {@code *} operators.
+ */
+public final class VectorFunctions {
+    // results whose magnitude needs at most this many bits fit in a long
+    private static final int SAFE_BITS = 62;
+
+    public static final BuiltinFunction VADD = elementWiseFunction(
+            "vadd",
+            IntegerKernels.INSTANCE::add,
+            BigInteger::add,
+            (leftBits, rightBits) -> Math.max(leftBits, rightBits) + 1,
+            """
+                    vadd(x -> array, y -> array) -> array: returns the array of the sums of the elements of 'x' and 'y' at the same index
+                    """
+    );
+    public static final BuiltinFunction VMUL = elementWiseFunction(
+            "vmul",
+            IntegerKernels.INSTANCE::multiply,
+            BigInteger::multiply,
+            Integer::sum,
+            """
+                    vmul(x -> array, y -> array) -> array: returns the array of the products of the elements of 'x' and 'y' at the same index
+                    """
+    );
+    public static final BuiltinFunction DOT = new BuiltinFunction(
+            "dot",
+            (evaluator, args) -> {
+                if (args.length != 2) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                }
+
+                ErrorObject error = checkOperands(args);
+
+                if (error != null) {
+                    return error;
+                }
+
+                IntegerArray left = IntegerArray.of((ArrayObject) args[0]);
+                IntegerArray right = IntegerArray.of((ArrayObject) args[1]);
+
+                if (left.isUnboxed() && right.isUnboxed()
+                    && left.bits() + right.bits() + bitLength(left.size()) <= SAFE_BITS) {
+                    return IntegerObject.valueOf(IntegerKernels.INSTANCE.dot(left.values(), right.values()));
+                }
+
+                BigInteger result = BigInteger.ZERO;
+
+                for (int i = 0; i < left.size(); i++) {
+                    result = result.add(left.bigInteger(i).multiply(right.bigInteger(i)));
+                }
+
+                return BigIntegerObject.valueOf(result);
+            },
+            """
+                    dot(x -> array, y -> array) -> integer: returns the sum of the products of the elements of 'x' and 'y' at the same index
+                    """
+    );
+    public static final BuiltinFunction SUM = new BuiltinFunction(
+            "sum",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof ArrayObject arrayObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY);
+                }
+
+                IntegerArray values = IntegerArray.of(arrayObject);
+
+                if (values.isUnboxed() && values.bits() + bitLength(values.size()) <= SAFE_BITS) {
+                    return IntegerObject.valueOf(IntegerKernels.INSTANCE.sum(values.values()));
+                }
+
+                BigInteger result = BigInteger.ZERO;
+
+                for (int i = 0; i < values.size(); i++) {
+                    result = result.add(values.bigInteger(i));
+                }
+
+                return BigIntegerObject.valueOf(result);
+            },
+            """
+                    sum(x -> array) -> integer: returns the sum of the elements of 'x'
+                    """
+    );
+    public static final BuiltinFunction SCAN = new BuiltinFunction(
+            "scan",
+            (evaluator, args) -> {
+                if (args.length != 1) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
+                }
+
+                if (!(args[0] instanceof ArrayObject arrayObject)) {
+                    return Utils.unexpectedObjectTypeError(args[0].getType(), ObjectTypes.ARRAY);
+                }
+
+                IntegerArray values = IntegerArray.of(arrayObject);
+                List<EvaluatedObject> result = new ArrayList<>(values.size());
+
+                // every prefix sum depends on the previous one: the loop stays scalar
+                if (values.isUnboxed() && values.bits() + bitLength(values.size()) <= SAFE_BITS) {
+                    long prefixSum = 0;
+
+                    for (long value : values.values()) {
+                        prefixSum += value;
+                        result.add(IntegerObject.valueOf(prefixSum));
+                    }
+                } else {
+                    BigInteger prefixSum = BigInteger.ZERO;
+
+                    for (int i = 0; i < values.size(); i++) {
+                        prefixSum = prefixSum.add(values.bigInteger(i));
+                        result.add(BigIntegerObject.valueOf(prefixSum));
+                    }
+                }
+
+                return new ArrayObject(result);
+            },
+            """
+                    scan(x -> array) -> array: returns the array of the prefix sums of 'x': the element at index i is the sum of the elements of 'x' from 0 to i
+                    """
+    );
+    public static final BuiltinModule MODULE = BuiltinModule.of("vector", VADD, VMUL, DOT, SUM, SCAN);
+
+    private VectorFunctions() {
+    }
+
+    /**
+     * Builds a function that combines the elements of two arrays at the same index.
+     *
+     * @param kernel     the operation on unboxed arrays
+     * @param exact      the same operation on arbitrary-precision integers
+     * @param resultBits the bits needed by the magnitude of a result, given the bits of the operands
+     */
+    private static BuiltinFunction elementWiseFunction(
+            String functionName,
+            BinaryOperator<long[]> kernel,
+            BinaryOperator<BigInteger> exact,
+            IntBinaryOperator resultBits,
+            String usage
+    ) {
+        return new BuiltinFunction(
+                functionName,
+                (evaluator, args) -> {
+                    if (args.length != 2) {
+                        return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
+                    }
+
+                    ErrorObject error = checkOperands(args);
+
+                    if (error != null) {
+                        return error;
+                    }
+
+                    IntegerArray left = IntegerArray.of((ArrayObject) args[0]);
+                    IntegerArray right = IntegerArray.of((ArrayObject) args[1]);
+                    List<EvaluatedObject> result = new ArrayList<>(left.size());
+
+                    if (left.isUnboxed() && right.isUnboxed()
+                        && resultBits.applyAsInt(left.bits(), right.bits()) <= SAFE_BITS) {
+                        for (long value : kernel.apply(left.values(), right.values())) {
+                            result.add(IntegerObject.valueOf(value));
+                        }
+                    } else {
+                        for (int i = 0; i < left.size(); i++) {
+                            result.add(BigIntegerObject.valueOf(exact.apply(left.bigInteger(i), right.bigInteger(i))));
+                        }
+                    }
+
+                    return new ArrayObject(result);
+                },
+                usage
+        );
+    }
+
+    private static ErrorObject checkOperands(EvaluatedObject[] args) {
+        for (EvaluatedObject arg : args) {
+            if (!(arg instanceof ArrayObject)) {
+                return Utils.unexpectedObjectTypeError(arg.getType(), ObjectTypes.ARRAY);
+            }
+        }
+
+        int leftSize = ((ArrayObject) args[0]).getElements().size();
+        int rightSize = ((ArrayObject) args[1]).getElements().size();
+
+        if (leftSize != rightSize) {
+            return new ErrorObject("Arrays must have the same length: got %d and %d", leftSize, rightSize);
+        }
+
+        return null;
+    }
+
+    private static int bitLength(int value) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Integer elements of an array.
+     *
+     * @param elements the elements
+     * @param values   the unboxed elements, or {@code null} if an element does not fit in a long
+     * @param bits     the bits needed by the largest magnitude: every element is between -2^bits and 2^bits - 1
+     */
+    private record IntegerArray(List<EvaluatedObject> elements, long[] values, int bits) {
+        /**
+         * Unboxes the elements of an array.
+         *
+         * @throws EvaluatorException if an element is not an integer
+         */
+        static IntegerArray of(ArrayObject arrayObject) {
+            List<EvaluatedObject> elements = arrayObject.getElements();
+            long[] values = new long[elements.size()];
+            // bitwise or of the magnitudes (v for v >= 0, -v - 1 for v < 0)
+            long magnitudes = 0;
+
+            for (int i = 0; i < values.length; i++) {
+                EvaluatedObject element = elements.get(i);
+
+                if (element instanceof IntegerObject integerObject) {
+                    values[i] = integerObject.getValue();
+                    magnitudes |= values[i] ^ (values[i] >> 63);
+                } else if (element instanceof BigIntegerObject) {
+                    // the elements are kept boxed and the functions use the exact path
+                    checkIntegers(elements, i + 1);
+                    return new IntegerArray(elements, null, Long.SIZE);
+                } else {
+                    throw notIntegerError(element, i);
+                }
+            }
+
+            return new IntegerArray(elements, values, Long.SIZE - Long.numberOfLeadingZeros(magnitudes));
+        }
+
+        private static void checkIntegers(List<EvaluatedObject> elements, int from) {
+            for (int i = from; i < elements.size(); i++) {
+                if (elements.get(i).getType() != ObjectTypes.INTEGER) {
+                    throw notIntegerError(elements.get(i), i);
+                }
+            }
+        }
+
+        private static EvaluatorException notIntegerError(EvaluatedObject element, int index) {
+            return new EvaluatorException(
+                    "Expected an array of %s, got %s at index %d",
+                    ObjectTypes.INTEGER.name(),
+                    element.getType().name(),
+                    index
+            );
+        }
+
+        boolean isUnboxed() {
+            return values != null;
+        }
+
+        int size() {
+            return elements.size();
+        }
+
+        BigInteger bigInteger(int index) {
+            return BigIntegerObject.toBigInteger(elements.get(index));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link IntegerKernels} written with the Vector API: the arrays are processed {@code SPECIES.length()} elements at a
+ * time and the remaining tail element by element. This class is loaded only if the {@code jdk.incubator.vector} module
+ * is in the boot layer.
+ */
+final class VectorIntegerKernels implements IntegerKernels {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public long[] add(long[] left, long[] right) {
+        long[] result = new long[left.length];
+        int bound = SPECIES.loopBound(result.length);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, left, i).add(LongVector.fromArray(SPECIES, right, i)).intoArray(result, i);
+        }
+
+        for (; i < result.length; i++) {
+            result[i] = left[i] + right[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public long[] multiply(long[] left, long[] right) {
+        long[] result = new long[left.length];
+        int bound = SPECIES.loopBound(result.length);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, left, i).mul(LongVector.fromArray(SPECIES, right, i)).intoArray(result, i);
+        }
+
+        for (; i < result.length; i++) {
+            result[i] = left[i] * right[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public long dot(long[] left, long[] right) {
+        LongVector accumulator = LongVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(left.length);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            accumulator = accumulator.add(LongVector.fromArray(SPECIES, left, i).mul(LongVector.fromArray(SPECIES, right, i)));
+        }
+
+        long result = accumulator.reduceLanes(VectorOperators.ADD);
+
+        for (; i < left.length; i++) {
+            result += left[i] * right[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public long sum(long[] values) {
+        LongVector accumulator = LongVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(values.length);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            accumulator = accumulator.add(LongVector.fromArray(SPECIES, values, i));
+        }
+
+        long result = accumulator.reduceLanes(VectorOperators.ADD);
+
+        for (; i < values.length; i++) {
+            result += values[i];
+        }
+
+        return result;
+    }
+}
@@ -4,12 +4,14 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RequiredArgsConstructor
 @Getter
 @EqualsAndHashCode
-public class ArrayObject implements EvaluatedObject {
+public class ArrayObject implements IterableObject {
     private final List<EvaluatedObject> elements;
 
     @Override
@@ -17,6 +19,33 @@ public class ArrayObject implements EvaluatedObject {
         return ObjectTypes.ARRAY;
     }
 
+    /**
+     * Returns an iterator over the current elements of the array. The iterator reads the elements by position, so
+     * elements added or removed while iterating (e.g. with {@code pop}) are reflected instead of failing the iteration.
+     *
+     * @return an iterator over the elements of the array
+     */
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.size();
+            }
+
+            @Override
+            public EvaluatedObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return elements.get(index++);
+            }
+        };
+    }
+
     @Override
     public String toString() {
         return String.format("[%s]", String.join(",", elements.stream().map(Object::toString).toList()));
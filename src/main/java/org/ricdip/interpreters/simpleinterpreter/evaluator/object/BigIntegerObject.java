@@ -0,0 +1,58 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigInteger;
+
+/**
+ * Arbitrary-precision integer, created only when the result of an integer operation does not fit in a {@code long}.
+ * The value is always outside the {@code long} range: results that fit again are returned as {@link IntegerObject},
+ * so every integer has a single representation and two integers can be compared with {@code equals}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@EqualsAndHashCode
+public class BigIntegerObject implements EvaluatedObject {
+    private final BigInteger value;
+
+    /**
+     * Returns the integer object that represents {@code value}.
+     *
+     * @param value the integer value
+     * @return an {@link IntegerObject} if the value fits in a {@code long}, a {@link BigIntegerObject} otherwise
+     */
+    public static EvaluatedObject valueOf(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return IntegerObject.valueOf(value.longValue());
+        }
+
+        return new BigIntegerObject(value);
+    }
+
+    /**
+     * Returns the value of an integer object as a {@link BigInteger}.
+     *
+     * @param integer an {@link IntegerObject} or a {@link BigIntegerObject}
+     * @return the value of the integer
+     */
+    public static BigInteger toBigInteger(EvaluatedObject integer) {
+        if (integer instanceof BigIntegerObject bigIntegerObject) {
+            return bigIntegerObject.getValue();
+        }
+
+        return BigInteger.valueOf(((IntegerObject) integer).getValue());
+    }
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.INTEGER;
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+}
@@ -0,0 +1,229 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary encoding of values: a tag byte followed by the content. Integers are zigzag varints (1 byte for
+ * -64..63), strings are a varint length followed by their UTF-8 bytes, arrays and records a varint count followed by
+ * their elements (a record also by its field names). Only the data types can be encoded: null, booleans, integers,
+ * strings, arrays and records.
+ */
+final class BinaryEncoding {
+    private static final int MAX_DEPTH = 512;
+
+    private static final byte NULL_TAG = 0;
+    private static final byte FALSE_TAG = 1;
+    private static final byte TRUE_TAG = 2;
+    private static final byte INTEGER_TAG = 3;
+    private static final byte BIG_INTEGER_TAG = 4;
+    private static final byte STRING_TAG = 5;
+    private static final byte ARRAY_TAG = 6;
+    private static final byte RECORD_TAG = 7;
+
+    private BinaryEncoding() {
+    }
+
+    /**
+     * Growable byte array the values are encoded into.
+     */
+    static final class Encoder {
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        /**
+         * @throws EvaluatorException if the value (or one of its elements) cannot be encoded, or the nesting is
+         *                            deeper than 512 levels (as in an array that contains itself)
+         */
+        Encoder write(EvaluatedObject value) {
+            write(value, 0);
+            return this;
+        }
+
+        byte[] array() {
+            return bytes;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void write(EvaluatedObject value, int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new EvaluatorException("Cannot encode a value with more than %d nested values", MAX_DEPTH);
+            }
+
+            if (value instanceof NullObject) {
+                writeByte(NULL_TAG);
+            } else if (value instanceof BooleanObject booleanObject) {
+                writeByte(booleanObject.getValue() ? TRUE_TAG : FALSE_TAG);
+            } else if (value instanceof IntegerObject integerObject) {
+                writeByte(INTEGER_TAG);
+                long integer = integerObject.getValue();
+                writeVarLong((integer << 1) ^ (integer >> 63));
+            } else if (value instanceof BigIntegerObject bigIntegerObject) {
+                writeByte(BIG_INTEGER_TAG);
+                writeBytes(bigIntegerObject.getValue().toByteArray());
+            } else if (value instanceof StringObject stringObject) {
+                writeByte(STRING_TAG);
+                writeString(stringObject.getValue());
+            } else if (value instanceof ArrayObject arrayObject) {
+                List<EvaluatedObject> elements = arrayObject.getElements();
+                writeByte(ARRAY_TAG);
+                writeVarLong(elements.size());
+
+                for (EvaluatedObject element : elements) {
+                    write(element, depth + 1);
+                }
+            } else if (value instanceof RecordObject recordObject) {
+                List<String> fieldNames = recordObject.getShape().getFieldNames();
+                writeByte(RECORD_TAG);
+                writeVarLong(fieldNames.size());
+
+                for (int i = 0; i < fieldNames.size(); i++) {
+                    writeString(fieldNames.get(i));
+                    write(recordObject.get(i), depth + 1);
+                }
+            } else {
+                throw new EvaluatorException(
+                        "Cannot encode %s: must be NULL, BOOLEAN, INTEGER, STRING, ARRAY or RECORD",
+                        value.getType().name()
+                );
+            }
+        }
+
+        private void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeBytes(byte[] value) {
+            writeVarLong(value.length);
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+
+            writeByte((byte) value);
+        }
+
+        private void writeByte(byte value) {
+            ensureCapacity(1);
+            bytes[size++] = value;
+        }
+
+        private void ensureCapacity(int count) {
+            if (size + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + count));
+            }
+        }
+    }
+
+    /**
+     * Decodes a value from a buffer, reading only the bytes of the value.
+     *
+     * @param buffer   the buffer, not modified (the reads use absolute positions)
+     * @param position the position of the tag of the value
+     * @return the value
+     * @throws EvaluatorException if the bytes are not a valid encoding
+     */
+    static EvaluatedObject decode(ByteBuffer buffer, int position) {
+        return new Decoder(buffer, position).read();
+    }
+
+    private static final class Decoder {
+        private final ByteBuffer buffer;
+        private int position;
+
+        Decoder(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        EvaluatedObject read() {
+            byte tag = buffer.get(position++);
+
+            return switch (tag) {
+                case NULL_TAG -> Objects.NULL;
+                case FALSE_TAG -> new BooleanObject(false);
+                case TRUE_TAG -> new BooleanObject(true);
+                case INTEGER_TAG -> {
+                    long zigzag = readVarLong();
+                    yield IntegerObject.valueOf((zigzag >>> 1) ^ -(zigzag & 1));
+                }
+                case BIG_INTEGER_TAG -> BigIntegerObject.valueOf(new BigInteger(readBytes()));
+                case STRING_TAG -> new StringObject(readString());
+                case ARRAY_TAG -> {
+                    int count = readCount();
+                    List<EvaluatedObject> elements = new ArrayList<>(count);
+
+                    for (int i = 0; i < count; i++) {
+                        elements.add(read());
+                    }
+
+                    yield new ArrayObject(elements);
+                }
+                case RECORD_TAG -> {
+                    int count = readCount();
+                    List<String> fieldNames = new ArrayList<>(count);
+                    EvaluatedObject[] values = new EvaluatedObject[count];
+
+                    for (int i = 0; i < count; i++) {
+                        fieldNames.add(readString());
+                        values[i] = read();
+                    }
+
+                    yield new RecordObject(RecordShape.of(fieldNames), values);
+                }
+                default -> throw new EvaluatorException("Invalid encoded value: unknown tag %d", tag);
+            };
+        }
+
+        private String readString() {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+
+        private byte[] readBytes() {
+            byte[] bytes = new byte[readCount()];
+            buffer.get(position, bytes);
+            position += bytes.length;
+            return bytes;
+        }
+
+        private int readCount() {
+            long count = readVarLong();
+
+            if (count < 0 || count > buffer.limit() - position) {
+                throw new EvaluatorException("Invalid encoded value: count %d out of bounds", count);
+            }
+
+            return (int) count;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte current = buffer.get(position++);
+                value |= (long) (current & 0x7F) << shift;
+
+                if (current >= 0) {
+                    return value;
+                }
+            }
+
+            throw new EvaluatorException("Invalid encoded value: varint longer than 10 bytes");
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
 
+import org.ricdip.interpreters.simpleinterpreter.evaluator.Evaluator;
+
 @FunctionalInterface
 public interface BuiltinFunctionalInterface {
-    EvaluatedObject apply(EvaluatedObject... input);
+    EvaluatedObject apply(Evaluator evaluator, EvaluatedObject... input);
 }
@@ -0,0 +1,143 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Sequence of bytes backed by a {@link ByteBuffer}. The elements are read as unsigned integers (0-255). Slices share
+ * the buffer of the original object, so writing a slice changes the original bytes too.
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class BytesObject implements IterableObject {
+    // always read with absolute indexes: position and limit of the buffer are never changed
+    private final ByteBuffer buffer;
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.BYTES;
+    }
+
+    public int size() {
+        return buffer.limit();
+    }
+
+    public int get(int index) {
+        return Byte.toUnsignedInt(buffer.get(index));
+    }
+
+    public void set(int index, int value) {
+        buffer.put(index, (byte) value);
+    }
+
+    /**
+     * Returns a view of the bytes from {@code fromIndex} (included) to {@code toIndex} (excluded) without copying them.
+     *
+     * @param fromIndex the index of the first byte
+     * @param toIndex   the index after the last byte
+     * @return the {@link BytesObject} that shares the bytes of this object
+     */
+    public BytesObject slice(int fromIndex, int toIndex) {
+        return new BytesObject(buffer.slice(fromIndex, toIndex - fromIndex));
+    }
+
+    /**
+     * Returns a fixed-size list view of the bytes, used to assign the elements like the ones of an array. Only integers
+     * from -128 to 255 can be stored.
+     *
+     * @return the list view of the bytes
+     */
+    public List<EvaluatedObject> asList() {
+        return new AbstractList<>() {
+            @Override
+            public EvaluatedObject get(int index) {
+                return IntegerObject.valueOf(BytesObject.this.get(index));
+            }
+
+            @Override
+            public EvaluatedObject set(int index, EvaluatedObject element) {
+                if (!(element instanceof IntegerObject integerObject) || integerObject.getValue() < Byte.MIN_VALUE || integerObject.getValue() > 0xFF) {
+                    throw new EvaluatorException("Cannot store %s in bytes", element);
+                }
+
+                EvaluatedObject previous = get(index);
+                BytesObject.this.set(index, (int) integerObject.getValue());
+                return previous;
+            }
+
+            @Override
+            public int size() {
+                return BytesObject.this.size();
+            }
+        };
+    }
+
+    public int getInt(int index, ByteOrder order) {
+        int value = buffer.getInt(index);
+        return order == buffer.order() ? value : Integer.reverseBytes(value);
+    }
+
+    public void putInt(int index, int value, ByteOrder order) {
+        buffer.putInt(index, order == buffer.order() ? value : Integer.reverseBytes(value));
+    }
+
+    /**
+     * Decodes the bytes as an UTF-8 string. Heap buffers are decoded directly from their backing array.
+     *
+     * @return the decoded string
+     */
+    public String decode() {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset(), buffer.limit(), StandardCharsets.UTF_8);
+        }
+
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public EvaluatedObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return IntegerObject.valueOf(get(index++));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder hex = new StringBuilder("bytes(");
+
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                hex.append(' ');
+            }
+
+            hex.append(String.format("%02x", get(i)));
+        }
+
+        return hex.append(')').toString();
+    }
+}
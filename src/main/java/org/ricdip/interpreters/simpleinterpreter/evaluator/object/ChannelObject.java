@@ -0,0 +1,118 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded first-in first-out queue of values shared by tasks. A send waits while the channel is full, so a producer
+ * faster than its consumers is slowed down to their pace instead of filling the memory (back-pressure); a receive
+ * waits while the channel is empty. After the channel is closed the values already sent can still be received, then
+ * every receive returns {@code null}. The waits can be interrupted.
+ */
+public final class ChannelObject implements EvaluatedObject {
+    private final Deque<EvaluatedObject> values = new ArrayDeque<>();
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+    private boolean closed;
+
+    public ChannelObject(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.CHANNEL;
+    }
+
+    /**
+     * Adds a value at the end of the channel, waiting until there is room for it.
+     *
+     * @param value the value
+     * @throws EvaluatorException   if the channel is closed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void send(EvaluatedObject value) throws InterruptedException {
+        lock.lockInterruptibly();
+
+        try {
+            while (values.size() == capacity && !closed) {
+                notFull.await();
+            }
+
+            if (closed) {
+                throw new EvaluatorException("Cannot send to a closed channel");
+            }
+
+            values.addLast(value);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the first value of the channel, waiting until there is one.
+     *
+     * @return the value, or {@link Objects#NULL} if the channel is closed and empty
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public EvaluatedObject receive() throws InterruptedException {
+        lock.lockInterruptibly();
+
+        try {
+            while (values.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+
+            if (values.isEmpty()) {
+                return Objects.NULL;
+            }
+
+            EvaluatedObject value = values.removeFirst();
+            notFull.signal();
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the channel: the following sends fail, and the waiting receivers get {@link Objects#NULL} once the
+     * channel is empty.
+     *
+     * @return {@code false} if the channel was already closed
+     */
+    public boolean close() {
+        lock.lock();
+
+        try {
+            if (closed) {
+                return false;
+            }
+
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+
+        try {
+            return String.format("channel(%d of %d values%s)", values.size(), capacity, closed ? ", closed" : "");
+        } finally {
+            lock.unlock();
+        }
+    }
+}
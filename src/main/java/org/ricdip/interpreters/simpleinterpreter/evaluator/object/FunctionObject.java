@@ -16,6 +16,13 @@ public class FunctionObject implements EvaluatedObject {
     private final List<IdentifierExpression> formalParameters;
     private final BlockStatement functionBody;
     private final Environment functionEnvironment;
+    // a call returns a sequence of the values yielded by the body, instead of evaluating it
+    private final boolean generator;
+
+    public FunctionObject(List<IdentifierExpression> formalParameters, BlockStatement functionBody,
+                          Environment functionEnvironment) {
+        this(formalParameters, functionBody, functionEnvironment, false);
+    }
 
     @Override
     public ObjectTypes getType() {
@@ -0,0 +1,522 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Compressed bitmap of non-negative ints, organized like a Roaring bitmap: the values are grouped by their high 16 bits
+ * and the low 16 bits of every group are stored in a container. A group with at most {@value #ARRAY_CONTAINER_MAX}
+ * values uses a sorted array; a bigger group uses a bitmap of 2^16 bits, so dense ranges of integers take one bit per
+ * value. Union and intersection of two bitmap containers combine 64 values at a time.
+ */
+public final class IntBitmap {
+    private static final int ARRAY_CONTAINER_MAX = 4096;
+
+    // high 16 bits of the values, sorted, and the container of the low 16 bits of each group
+    private char[] keys;
+    private Container[] containers;
+    private int containerCount;
+    private int cardinality;
+
+    public IntBitmap() {
+        this(new char[4], new Container[4], 0);
+    }
+
+    private IntBitmap(char[] keys, Container[] containers, int containerCount) {
+        this.keys = keys;
+        this.containers = containers;
+        this.containerCount = containerCount;
+
+        for (int i = 0; i < containerCount; i++) {
+            cardinality += containers[i].cardinality();
+        }
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean contains(int value) {
+        int index = indexOf(highBits(value));
+
+        return index >= 0 && containers[index].contains(lowBits(value));
+    }
+
+    /**
+     * Adds a value to the bitmap.
+     *
+     * @param value the value, it must not be negative
+     * @return {@code true} if the value was not in the bitmap
+     */
+    public boolean add(int value) {
+        char key = highBits(value);
+        int index = indexOf(key);
+
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+
+        Container container = containers[index];
+        int previousCardinality = container.cardinality();
+        containers[index] = container.add(lowBits(value));
+
+        if (containers[index].cardinality() == previousCardinality) {
+            return false;
+        }
+
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Removes a value from the bitmap.
+     *
+     * @param value the value
+     * @return {@code true} if the value was in the bitmap
+     */
+    public boolean remove(int value) {
+        int index = indexOf(highBits(value));
+
+        if (index < 0 || !containers[index].contains(lowBits(value))) {
+            return false;
+        }
+
+        containers[index] = containers[index].remove(lowBits(value));
+        cardinality--;
+
+        if (containers[index].cardinality() == 0) {
+            removeContainer(index);
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns a new bitmap with the values of both bitmaps. The containers of the two bitmaps are visited in key
+     * order, so only the groups present in both bitmaps are merged.
+     *
+     * @param other the other bitmap
+     * @return the union of the two bitmaps
+     */
+    public IntBitmap or(IntBitmap other) {
+        char[] newKeys = new char[containerCount + other.containerCount];
+        Container[] newContainers = new Container[newKeys.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < containerCount || j < other.containerCount) {
+            if (j == other.containerCount || (i < containerCount && keys[i] < other.keys[j])) {
+                newKeys[count] = keys[i];
+                newContainers[count++] = containers[i++].copy();
+            } else if (i == containerCount || other.keys[j] < keys[i]) {
+                newKeys[count] = other.keys[j];
+                newContainers[count++] = other.containers[j++].copy();
+            } else {
+                newKeys[count] = keys[i];
+                newContainers[count++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+
+        return new IntBitmap(newKeys, newContainers, count);
+    }
+
+    /**
+     * Returns a new bitmap with the values present in both bitmaps.
+     *
+     * @param other the other bitmap
+     * @return the intersection of the two bitmaps
+     */
+    public IntBitmap and(IntBitmap other) {
+        char[] newKeys = new char[Math.min(containerCount, other.containerCount)];
+        Container[] newContainers = new Container[newKeys.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < containerCount && j < other.containerCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (other.keys[j] < keys[i]) {
+                j++;
+            } else {
+                Container container = containers[i++].and(other.containers[j++]);
+
+                if (container.cardinality() > 0) {
+                    newKeys[count] = keys[i - 1];
+                    newContainers[count++] = container;
+                }
+            }
+        }
+
+        return new IntBitmap(newKeys, newContainers, count);
+    }
+
+    /**
+     * Returns an iterator over the values in ascending order. The values are not boxed.
+     *
+     * @return an iterator over the values
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int containerIndex = 0;
+            private int high;
+            private PrimitiveIterator.OfInt lowIterator;
+
+            @Override
+            public boolean hasNext() {
+                while ((lowIterator == null || !lowIterator.hasNext()) && containerIndex < containerCount) {
+                    high = keys[containerIndex] << 16;
+                    lowIterator = containers[containerIndex++].iterator();
+                }
+
+                return lowIterator != null && lowIterator.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return high | lowIterator.nextInt();
+            }
+        };
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, containerCount, key);
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (containerCount == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(keys.length * 2, 4));
+            containers = Arrays.copyOf(containers, keys.length);
+        }
+
+        System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+        keys[index] = key;
+        containers[index] = container;
+        containerCount++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, containerCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, containerCount - index - 1);
+        containers[--containerCount] = null;
+    }
+
+    private static char highBits(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char lowBits(int value) {
+        return (char) value;
+    }
+
+    /**
+     * Set of the low 16 bits of the values of a group. The operations that change the number of values return the
+     * container that holds the result: it is a different container when the representation changes.
+     */
+    private abstract static sealed class Container permits ArrayContainer, BitmapContainer {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract Container or(Container other);
+
+        abstract Container and(Container other);
+
+        abstract Container copy();
+
+        abstract PrimitiveIterator.OfInt iterator();
+    }
+
+    /**
+     * Sparse group: the values are stored in a sorted array.
+     */
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+
+            if (index >= 0) {
+                return this;
+            } else if (cardinality == ARRAY_CONTAINER_MAX) {
+                return toBitmapContainer().add(value);
+            }
+
+            index = -index - 1;
+
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(values.length * 2, 4), ARRAY_CONTAINER_MAX));
+            }
+
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+
+            return this;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer bitmapContainer) {
+                return bitmapContainer.or(this);
+            }
+
+            ArrayContainer otherArray = (ArrayContainer) other;
+            char[] merged = new char[cardinality + otherArray.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+
+            while (i < cardinality || j < otherArray.cardinality) {
+                if (j == otherArray.cardinality || (i < cardinality && values[i] < otherArray.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i == cardinality || otherArray.values[j] < values[i]) {
+                    merged[count++] = otherArray.values[j++];
+                } else {
+                    merged[count++] = values[i++];
+                    j++;
+                }
+            }
+
+            ArrayContainer result = new ArrayContainer(merged, count);
+
+            return count > ARRAY_CONTAINER_MAX ? result.toBitmapContainer() : result;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] common = new char[cardinality];
+            int count = 0;
+
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    common[count++] = values[i];
+                }
+            }
+
+            return new ArrayContainer(common, count);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < cardinality;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return values[index++];
+                }
+            };
+        }
+
+        private BitmapContainer toBitmapContainer() {
+            BitmapContainer bitmapContainer = new BitmapContainer(new long[BitmapContainer.WORDS], 0);
+
+            for (int i = 0; i < cardinality; i++) {
+                bitmapContainer.add(values[i]);
+            }
+
+            return bitmapContainer;
+        }
+    }
+
+    /**
+     * Dense group: one bit for every possible value, stored in 1024 longs.
+     */
+    private static final class BitmapContainer extends Container {
+        private static final int WORDS = (1 << 16) / Long.SIZE;
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            long word = words[value >>> 6];
+            long newWord = word | (1L << value);
+
+            if (newWord != word) {
+                words[value >>> 6] = newWord;
+                cardinality++;
+            }
+
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long word = words[value >>> 6];
+            long newWord = word & ~(1L << value);
+
+            if (newWord != word) {
+                words[value >>> 6] = newWord;
+                cardinality--;
+            }
+
+            return cardinality <= ARRAY_CONTAINER_MAX ? toArrayContainer() : this;
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] newWords = words.clone();
+
+            if (other instanceof BitmapContainer bitmapContainer) {
+                int newCardinality = 0;
+
+                for (int i = 0; i < WORDS; i++) {
+                    newWords[i] |= bitmapContainer.words[i];
+                    newCardinality += Long.bitCount(newWords[i]);
+                }
+
+                return new BitmapContainer(newWords, newCardinality);
+            }
+
+            BitmapContainer result = new BitmapContainer(newWords, cardinality);
+            PrimitiveIterator.OfInt iterator = other.iterator();
+
+            while (iterator.hasNext()) {
+                result.add((char) iterator.nextInt());
+            }
+
+            return result;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] newWords = new long[WORDS];
+            int newCardinality = 0;
+
+            for (int i = 0; i < WORDS; i++) {
+                newWords[i] = words[i] & otherWords[i];
+                newCardinality += Long.bitCount(newWords[i]);
+            }
+
+            BitmapContainer result = new BitmapContainer(newWords, newCardinality);
+
+            return newCardinality <= ARRAY_CONTAINER_MAX ? result.toArrayContainer() : result;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private int wordIndex = 0;
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (word == 0 && wordIndex < WORDS - 1) {
+                        word = words[++wordIndex];
+                    }
+
+                    return word != 0;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    int value = (wordIndex << 6) | Long.numberOfTrailingZeros(word);
+                    // clear the lowest set bit
+                    word &= word - 1;
+                    return value;
+                }
+            };
+        }
+
+        private ArrayContainer toArrayContainer() {
+            char[] values = new char[cardinality];
+            int count = 0;
+            PrimitiveIterator.OfInt iterator = iterator();
+
+            while (iterator.hasNext()) {
+                values[count++] = (char) iterator.nextInt();
+            }
+
+            return new ArrayContainer(values, count);
+        }
+    }
+}
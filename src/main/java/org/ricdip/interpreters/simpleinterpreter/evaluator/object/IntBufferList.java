@@ -0,0 +1,259 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-size list of integers stored outside the Java heap, used as elements of an {@link ArrayObject}. The values are
+ * kept as raw 32-bit ints in direct or memory-mapped buffers: an {@link IntegerObject} is created only when an element
+ * is read. A single buffer cannot exceed 2 GiB, so the storage is split into segments of {@value #SEGMENT_SIZE} ints.
+ * <p>
+ * The lists returned by {@link #tail(int)} are views of the same storage. A writable storage is copied on the first
+ * write after a view has been taken: a view copies its own elements, while the list that created the storage keeps it
+ * (so the writes to a mapped file still reach the file) and gives a copy to the views.
+ */
+public final class IntBufferList extends AbstractList<EvaluatedObject> implements RandomAccess {
+    private static final int SEGMENT_SHIFT = 28;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private Storage storage;
+    // position of the first element in the storage
+    private int offset;
+    private final int size;
+    private final boolean readOnly;
+    // the list created with the storage, that covers all of it
+    private boolean owner;
+
+    private IntBufferList(Storage storage, int offset, int size, boolean readOnly, boolean owner) {
+        this.storage = storage;
+        this.offset = offset;
+        this.size = size;
+        this.readOnly = readOnly;
+        this.owner = owner;
+    }
+
+    private IntBufferList(IntBuffer[] segments, int size, boolean readOnly) {
+        this(new Storage(segments), 0, size, readOnly, true);
+    }
+
+    /**
+     * Allocates a zero-filled list in direct (off-heap) memory.
+     *
+     * @param size  the number of elements
+     * @param order the byte order of the stored ints
+     * @return the created {@link IntBufferList}
+     */
+    public static IntBufferList allocateDirect(int size, ByteOrder order) {
+        return new IntBufferList(allocateSegments(size, order), size, false);
+    }
+
+    private static IntBuffer[] allocateSegments(int size, ByteOrder order) {
+        IntBuffer[] segments = new IntBuffer[segmentCount(size)];
+
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentLength(size, i) * Integer.BYTES).order(order).asIntBuffer();
+        }
+
+        return segments;
+    }
+
+    /**
+     * Maps an existing file of ints in memory as a read-only list. The elements are read from the page cache on
+     * access: the file is never copied on the heap.
+     *
+     * @param path  the path of the file
+     * @param order the byte order of the ints stored in the file
+     * @return the created {@link IntBufferList}
+     * @throws IOException if the file cannot be mapped
+     */
+    public static IntBufferList mapReadOnly(Path path, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            if (fileSize % Integer.BYTES != 0) {
+                throw new IOException(String.format("file size %d is not a multiple of %d", fileSize, Integer.BYTES));
+            } else if (fileSize / Integer.BYTES > Integer.MAX_VALUE) {
+                throw new IOException(String.format("file contains more than %d ints", Integer.MAX_VALUE));
+            }
+
+            int size = (int) (fileSize / Integer.BYTES);
+
+            return new IntBufferList(map(channel, FileChannel.MapMode.READ_ONLY, size, order), size, true);
+        }
+    }
+
+    /**
+     * Creates (or resizes) a file that holds {@code size} ints and maps it in memory as a writable list: the changes
+     * to the elements are written back to the file by the operating system.
+     *
+     * @param path  the path of the file
+     * @param size  the number of elements
+     * @param order the byte order of the ints stored in the file
+     * @return the created {@link IntBufferList}
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static IntBufferList mapReadWrite(Path path, int size, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new IntBufferList(map(channel, FileChannel.MapMode.READ_WRITE, size, order), size, false);
+        }
+    }
+
+    private static IntBuffer[] map(FileChannel channel, FileChannel.MapMode mode, int size, ByteOrder order) throws IOException {
+        IntBuffer[] segments = new IntBuffer[segmentCount(size)];
+
+        for (int i = 0; i < segments.length; i++) {
+            long position = (long) i * SEGMENT_SIZE * Integer.BYTES;
+            long length = (long) segmentLength(size, i) * Integer.BYTES;
+
+            // a mapping stays valid after the channel is closed
+            segments[i] = channel.map(mode, position, length).order(order).asIntBuffer();
+        }
+
+        return segments;
+    }
+
+    private static int segmentCount(int size) {
+        return (int) (((long) size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+    }
+
+    private static int segmentLength(int size, int segment) {
+        return (int) Math.min(SEGMENT_SIZE, (long) size - (long) segment * SEGMENT_SIZE);
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public int getInt(int index) {
+        int position = offset + index;
+        return storage.segments[position >>> SEGMENT_SHIFT].get(position & SEGMENT_MASK);
+    }
+
+    public void setInt(int index, int value) {
+        if (storage.shared) {
+            detach();
+        }
+
+        int position = offset + index;
+        storage.segments[position >>> SEGMENT_SHIFT].put(position & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Returns the elements from {@code fromIndex} to the end of the list, in a view that shares the storage of this
+     * list: taking a tail costs no copy, and the elements are copied only if one of the lists is written.
+     *
+     * @param fromIndex the index of the first element
+     * @return the new {@link IntBufferList}
+     */
+    public IntBufferList tail(int fromIndex) {
+        if (!readOnly) {
+            storage.shared = true;
+        }
+
+        return new IntBufferList(storage, offset + fromIndex, size - fromIndex, readOnly, false);
+    }
+
+    /**
+     * Stops sharing the storage with the other lists, copying the elements of this list.
+     */
+    private void detach() {
+        IntBuffer[] copy = copySegments();
+
+        if (owner) {
+            // this list covers the whole storage: the views read the copy, this list keeps its buffers
+            IntBuffer[] segments = storage.segments;
+            storage.segments = copy;
+            storage = new Storage(segments);
+        } else {
+            storage = new Storage(copy);
+            offset = 0;
+            owner = true;
+        }
+    }
+
+    private IntBuffer[] copySegments() {
+        IntBuffer[] segments = storage.segments;
+        IntBuffer[] copy = allocateSegments(size, segments.length > 0 ? segments[0].order() : ByteOrder.BIG_ENDIAN);
+        int copied = 0;
+
+        while (copied < size) {
+            int position = offset + copied;
+            IntBuffer source = segments[position >>> SEGMENT_SHIFT];
+            IntBuffer target = copy[copied >>> SEGMENT_SHIFT];
+            int sourceIndex = position & SEGMENT_MASK;
+            int targetIndex = copied & SEGMENT_MASK;
+            int length = Math.min(size - copied, Math.min(source.limit() - sourceIndex, target.limit() - targetIndex));
+
+            target.put(targetIndex, source, sourceIndex, length);
+            copied += length;
+        }
+
+        return copy;
+    }
+
+    @Override
+    public EvaluatedObject get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        return IntegerObject.valueOf(getInt(index));
+    }
+
+    @Override
+    public EvaluatedObject set(int index, EvaluatedObject element) {
+        if (readOnly) {
+            throw new EvaluatorException("Cannot modify a read-only array");
+        }
+
+        if (!(element instanceof IntegerObject integerObject)) {
+            throw new EvaluatorException("Cannot store %s in an integer array", element.getType().name());
+        }
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        EvaluatedObject previous = IntegerObject.valueOf(getInt(index));
+        setInt(index, integerObject.intValue());
+        return previous;
+    }
+
+    @Override
+    public void add(int index, EvaluatedObject element) {
+        throw new EvaluatorException("Cannot change the size of an off-heap array");
+    }
+
+    @Override
+    public EvaluatedObject remove(int index) {
+        throw new EvaluatorException("Cannot change the size of an off-heap array");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Buffers shared by a list and its views.
+     */
+    private static final class Storage {
+        private IntBuffer[] segments;
+        // a view has been taken: the next write copies the elements
+        private boolean shared;
+
+        private Storage(IntBuffer[] segments) {
+            this.segments = segments;
+        }
+    }
+}
@@ -1,14 +1,64 @@
 package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
 
-@RequiredArgsConstructor
+/**
+ * 64-bit integer. The values that do not fit in a {@code long} are represented by {@link BigIntegerObject}: both
+ * objects have the {@link ObjectTypes#INTEGER} type.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 @Getter
 @EqualsAndHashCode
 public class IntegerObject implements EvaluatedObject {
-    private final Integer value;
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+    private static final IntegerObject[] CACHE = new IntegerObject[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new IntegerObject(CACHE_LOW + i);
+        }
+    }
+
+    private final long value;
+
+    /**
+     * Returns an {@link IntegerObject} with the given value. Small values (counters, indexes, flags) are shared
+     * instances, so the most common arithmetic results do not allocate a new object.
+     *
+     * @param value the integer value
+     * @return the {@link IntegerObject}
+     */
+    public static IntegerObject valueOf(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+
+        return new IntegerObject(value);
+    }
+
+    /**
+     * Returns the value as an {@code int}, used for sizes, offsets and positions.
+     *
+     * @return the value
+     * @throws EvaluatorException if the value does not fit in 32 bits
+     */
+    public int intValue() {
+        if (value != (int) value) {
+            throw new EvaluatorException(
+                    "Integer %d out of range: must be between %d and %d",
+                    value,
+                    Integer.MIN_VALUE,
+                    Integer.MAX_VALUE
+            );
+        }
+
+        return (int) value;
+    }
 
     @Override
     public ObjectTypes getType() {
@@ -17,6 +67,6 @@ public class IntegerObject implements EvaluatedObject {
 
     @Override
     public String toString() {
-        return value.toString();
+        return Long.toString(value);
     }
 }
@@ -0,0 +1,12 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import java.util.Iterator;
+
+/**
+ * Interface that represent an object whose elements can be visited one at a time, without index arithmetic.
+ * Example: the array {@code [1,2,3]} in the for statement {@code for (x in [1,2,3]) { print(x) }}.
+ */
+public interface IterableObject extends EvaluatedObject, Iterable<EvaluatedObject> {
+    @Override
+    Iterator<EvaluatedObject> iterator();
+}
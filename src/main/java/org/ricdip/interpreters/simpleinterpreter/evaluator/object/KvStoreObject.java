@@ -0,0 +1,404 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent key-value store: an append-only log of records in a memory-mapped file, indexed by an in-memory hash map
+ * from every key to the position of its last value in the log.
+ * <p>
+ * A put appends a record with the key and the value in the {@link BinaryEncoding}, a delete appends a record with the
+ * key only; a get decodes just the value found through the index. Every record starts with its length and the CRC32
+ * of its content: when the store is opened the log is scanned to rebuild the index, and the scan stops at the first
+ * record that is not complete (the end of a write interrupted by a crash). The file is written through the mapping,
+ * so the operating system persists the records even if the interpreter exits without closing the store.
+ * <p>
+ * The records that have been overwritten or deleted are garbage; when the garbage is larger than the live records,
+ * the live records are copied to a new file that atomically replaces the log. A store is opened once per process
+ * (opening the same file again returns the same store) and a lock file keeps other processes out.
+ */
+public final class KvStoreObject implements EvaluatedObject {
+    private static final Map<Path, KvStoreObject> OPEN_STORES = new HashMap<>();
+
+    private static final int MAGIC = 0x53494B56;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    // length and CRC32 of the content
+    private static final int RECORD_HEADER_SIZE = 8;
+    // type and key length, at the start of the content
+    private static final int CONTENT_HEADER_SIZE = 5;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    // logs smaller than this are never compacted
+    private static final int MIN_COMPACTION_SIZE = 64 * 1024;
+
+    private final Path path;
+    // kept open for the lifetime of the process to hold the lock
+    private final FileChannel lockChannel;
+    private Map<Object, Entry> index = new HashMap<>();
+    private MappedByteBuffer buffer;
+    // position of the first free byte of the log
+    private int end;
+    // total size of the records of the index
+    private long liveBytes;
+
+    /**
+     * Position of a record in the log.
+     *
+     * @param recordOffset the position of the record header
+     * @param valueOffset  the position of the encoded value
+     */
+    private record Entry(int recordOffset, int valueOffset) {
+    }
+
+    private KvStoreObject(Path path, FileChannel lockChannel) {
+        this.path = path;
+        this.lockChannel = lockChannel;
+    }
+
+    /**
+     * Opens the store in a file, creating the file if it does not exist.
+     *
+     * @param path the path of the file
+     * @return the store, the same one if the file has already been opened by this process
+     * @throws EvaluatorException if the file cannot be opened, is not a store or is used by another process
+     */
+    public static KvStoreObject open(Path path) {
+        Path normalizedPath = path.toAbsolutePath().normalize();
+
+        synchronized (OPEN_STORES) {
+            KvStoreObject store = OPEN_STORES.get(normalizedPath);
+
+            if (store == null) {
+                store = new KvStoreObject(normalizedPath, lock(normalizedPath));
+
+                try {
+                    store.load();
+                } catch (IOException | RuntimeException e) {
+                    store.releaseLock();
+                    throw e instanceof EvaluatorException evaluatorException
+                            ? evaluatorException
+                            : new EvaluatorException("Cannot open key-value store %s: %s", normalizedPath, e.getMessage());
+                }
+
+                OPEN_STORES.put(normalizedPath, store);
+            }
+
+            return store;
+        }
+    }
+
+    private static FileChannel lock(Path path) {
+        Path lockPath = path.resolveSibling(path.getFileName() + ".lock");
+        FileChannel channel = null;
+
+        try {
+            channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+
+            if (lock == null) {
+                channel.close();
+                throw new EvaluatorException("Key-value store %s is used by another process", path);
+            }
+
+            return channel;
+        } catch (IOException e) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+
+            throw new EvaluatorException("Cannot open key-value store %s: %s", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Forgets the store and releases its lock, so that the next {@link #open(Path)} of the file reads the log again.
+     * The store must not be used afterwards.
+     */
+    void close() {
+        synchronized (OPEN_STORES) {
+            OPEN_STORES.remove(path, this);
+        }
+
+        releaseLock();
+    }
+
+    private void releaseLock() {
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            // the lock is released when the process exits
+        }
+    }
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.KV_STORE;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the value of a key, decoding only that value.
+     *
+     * @param key a string or an integer
+     * @return the value, or {@code null} if the store does not contain the key
+     * @throws EvaluatorException if the key is not a string or an integer
+     */
+    public synchronized EvaluatedObject get(EvaluatedObject key) {
+        Entry entry = index.get(indexKey(key));
+        return entry != null ? BinaryEncoding.decode(buffer, entry.valueOffset()) : null;
+    }
+
+    /**
+     * Associates a value with a key, appending a record to the log.
+     *
+     * @param key   a string or an integer
+     * @param value a null, boolean, integer, string, or an array or record of them
+     * @throws EvaluatorException if the key or the value cannot be stored, or the log cannot grow
+     */
+    public synchronized void put(EvaluatedObject key, EvaluatedObject value) {
+        Object indexKey = indexKey(key);
+        Entry entry = append(PUT, key, value);
+        removeLiveRecord(index.put(indexKey, entry));
+        liveBytes += recordSize(entry.recordOffset());
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes a key, appending a record to the log if the store contains it.
+     *
+     * @param key a string or an integer
+     * @return true if the store contained the key
+     * @throws EvaluatorException if the key is not a string or an integer, or the log cannot grow
+     */
+    public synchronized boolean delete(EvaluatedObject key) {
+        Object indexKey = indexKey(key);
+
+        if (!index.containsKey(indexKey)) {
+            return false;
+        }
+
+        append(DELETE, key, null);
+        removeLiveRecord(index.remove(indexKey));
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Returns the key of the index: the value of a string or of an integer.
+     */
+    private static Object indexKey(EvaluatedObject key) {
+        if (key instanceof StringObject stringObject) {
+            return stringObject.getValue();
+        } else if (key instanceof IntegerObject integerObject) {
+            return integerObject.getValue();
+        }
+
+        throw new EvaluatorException(
+                "Key-value store keys must be %s or %s, got %s",
+                ObjectTypes.STRING.name(),
+                ObjectTypes.INTEGER.name(),
+                key.getType().name()
+        );
+    }
+
+    private void load() throws IOException {
+        boolean created = !Files.exists(path) || Files.size(path) == 0;
+        map(created ? INITIAL_CAPACITY : Files.size(path));
+
+        if (created) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            end = FILE_HEADER_SIZE;
+            return;
+        }
+
+        if (buffer.capacity() < FILE_HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new EvaluatorException("Cannot open key-value store %s: not a key-value store file", path);
+        }
+
+        int position = FILE_HEADER_SIZE;
+
+        while (position <= buffer.capacity() - RECORD_HEADER_SIZE) {
+            int length = buffer.getInt(position);
+
+            if (length < CONTENT_HEADER_SIZE || length > buffer.capacity() - position - RECORD_HEADER_SIZE
+                || buffer.getInt(position + 4) != checksum(position + RECORD_HEADER_SIZE, length)) {
+                break;
+            }
+
+            replay(position);
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        end = position;
+
+        // the rest of an interrupted write is cleared, so that it cannot be taken for a record after the next writes
+        if (end <= buffer.capacity() - RECORD_HEADER_SIZE && buffer.getInt(end) != 0) {
+            for (int i = end; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Applies a record of the log to the index.
+     */
+    private void replay(int recordOffset) {
+        int contentOffset = recordOffset + RECORD_HEADER_SIZE;
+        int keyOffset = contentOffset + CONTENT_HEADER_SIZE;
+        Object indexKey = indexKey(BinaryEncoding.decode(buffer, keyOffset));
+
+        if (buffer.get(contentOffset) == PUT) {
+            Entry entry = new Entry(recordOffset, keyOffset + buffer.getInt(contentOffset + 1));
+            removeLiveRecord(index.put(indexKey, entry));
+            liveBytes += recordSize(recordOffset);
+        } else {
+            removeLiveRecord(index.remove(indexKey));
+        }
+    }
+
+    private Entry append(byte type, EvaluatedObject key, EvaluatedObject value) {
+        BinaryEncoding.Encoder encoder = new BinaryEncoding.Encoder().write(key);
+        int keyLength = encoder.size();
+
+        if (value != null) {
+            encoder.write(value);
+        }
+
+        long length = CONTENT_HEADER_SIZE + (long) encoder.size();
+        ensureCapacity(RECORD_HEADER_SIZE + length);
+
+        int contentOffset = end + RECORD_HEADER_SIZE;
+        buffer.put(contentOffset, type);
+        buffer.putInt(contentOffset + 1, keyLength);
+        buffer.put(contentOffset + CONTENT_HEADER_SIZE, encoder.array(), 0, encoder.size());
+        buffer.putInt(end + 4, checksum(contentOffset, (int) length));
+        // the length is written last: a record without it is not read
+        buffer.putInt(end, (int) length);
+
+        Entry entry = new Entry(end, contentOffset + CONTENT_HEADER_SIZE + keyLength);
+        end += RECORD_HEADER_SIZE + (int) length;
+        return entry;
+    }
+
+    private void removeLiveRecord(Entry entry) {
+        if (entry != null) {
+            liveBytes -= recordSize(entry.recordOffset());
+        }
+    }
+
+    private int recordSize(int recordOffset) {
+        return RECORD_HEADER_SIZE + buffer.getInt(recordOffset);
+    }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private void ensureCapacity(long size) {
+        if (end + size <= buffer.capacity()) {
+            return;
+        }
+
+        if (end + size > MAX_CAPACITY) {
+            throw new EvaluatorException("Key-value store %s is full", path);
+        }
+
+        try {
+            map(Math.max(Math.min((long) buffer.capacity() * 2, MAX_CAPACITY), end + size));
+        } catch (IOException e) {
+            throw new EvaluatorException("Cannot grow key-value store %s: %s", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Maps the first {@code capacity} bytes of the file, extending it with zeros if it is smaller. The mapping stays
+     * valid after the channel is closed.
+     */
+    private void map(long capacity) throws IOException {
+        if (capacity > MAX_CAPACITY) {
+            throw new EvaluatorException("Cannot open key-value store %s: file larger than 2 GB", path);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (end >= MIN_COMPACTION_SIZE && end - FILE_HEADER_SIZE - liveBytes > liveBytes) {
+            try {
+                compact();
+            } catch (IOException e) {
+                throw new EvaluatorException("Cannot compact key-value store %s: %s", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Copies the live records, as they are, to a new file that replaces the log.
+     */
+    private void compact() throws IOException {
+        Path compactedPath = path.resolveSibling(path.getFileName() + ".compact");
+        long capacity = Math.min(Math.max(INITIAL_CAPACITY, (FILE_HEADER_SIZE + liveBytes) * 2), MAX_CAPACITY);
+        Map<Object, Entry> compactedIndex = new HashMap<>();
+        MappedByteBuffer compacted;
+        int position = FILE_HEADER_SIZE;
+
+        try (FileChannel channel = FileChannel.open(
+                compactedPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        )) {
+            compacted = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        compacted.putInt(0, MAGIC);
+        compacted.putInt(4, VERSION);
+
+        for (Map.Entry<Object, Entry> indexEntry : index.entrySet()) {
+            Entry entry = indexEntry.getValue();
+            int size = recordSize(entry.recordOffset());
+            compacted.put(position, buffer, entry.recordOffset(), size);
+            compactedIndex.put(indexEntry.getKey(), new Entry(position, position + entry.valueOffset() - entry.recordOffset()));
+            position += size;
+        }
+
+        compacted.force();
+        Files.move(compactedPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        buffer = compacted;
+        index = compactedIndex;
+        end = position;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("kvStore(%s, %d keys)", path, index.size());
+    }
+}
@@ -0,0 +1,45 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.Comparator;
+
+/**
+ * Default ordering of the values used by the builtin functions that order elements: integers are ordered by value,
+ * strings lexicographically and booleans with {@code false} before {@code true}. Values of different types cannot be
+ * compared.
+ */
+public final class NaturalOrder implements Comparator<EvaluatedObject> {
+    public static final NaturalOrder INSTANCE = new NaturalOrder();
+
+    private NaturalOrder() {
+    }
+
+    /**
+     * Compares two values.
+     *
+     * @param left  the first value
+     * @param right the second value
+     * @return a negative integer, zero or a positive integer if {@code left} is smaller than, equal to or greater than
+     * {@code right}
+     * @throws EvaluatorException if the values have different types or a type that has no order
+     */
+    @Override
+    public int compare(EvaluatedObject left, EvaluatedObject right) {
+        if (left instanceof IntegerObject leftInteger && right instanceof IntegerObject rightInteger) {
+            return Long.compare(leftInteger.getValue(), rightInteger.getValue());
+        } else if (isInteger(left) && isInteger(right)) {
+            return BigIntegerObject.toBigInteger(left).compareTo(BigIntegerObject.toBigInteger(right));
+        } else if (left instanceof StringObject leftString && right instanceof StringObject rightString) {
+            return leftString.compareValue(rightString);
+        } else if (left instanceof BooleanObject leftBoolean && right instanceof BooleanObject rightBoolean) {
+            return Boolean.compare(leftBoolean.getValue(), rightBoolean.getValue());
+        }
+
+        throw new EvaluatorException("Cannot compare %s with %s", left.getType().name(), right.getType().name());
+    }
+
+    private static boolean isInteger(EvaluatedObject evaluatedObject) {
+        return evaluatedObject instanceof IntegerObject || evaluatedObject instanceof BigIntegerObject;
+    }
+}
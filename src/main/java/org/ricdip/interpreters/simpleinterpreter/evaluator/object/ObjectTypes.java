@@ -9,5 +9,16 @@ public enum ObjectTypes {
     RETURN,
     BUILTIN,
     ARRAY,
-    STRING
+    STRING,
+    RECORD,
+    RANGE,
+    SEQUENCE,
+    BYTES,
+    TABLE,
+    SET,
+    PRIORITY_QUEUE,
+    ORDERED_MAP,
+    KV_STORE,
+    TASK,
+    CHANNEL
 }
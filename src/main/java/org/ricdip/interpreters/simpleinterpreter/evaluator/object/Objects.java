@@ -9,7 +9,7 @@ public final class Objects {
     public static final NullObject NULL = new NullObject();
     public static final BuiltinFunction PRINT = new BuiltinFunction(
             "print",
-            args -> {
+            (evaluator, args) -> {
                 if (args.length < 1) {
                     return new ErrorObject("Unexpected number of arguments: got %d, must be > 1", args.length);
                 }
@@ -27,7 +27,7 @@ public final class Objects {
     );
     public static final BuiltinFunction LEN = new BuiltinFunction(
             "len",
-            args -> {
+            (evaluator, args) -> {
                 if (args.length != 1) {
                     return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
                 }
@@ -35,20 +35,36 @@ public final class Objects {
                 EvaluatedObject arg = args[0];
 
                 if (arg instanceof ArrayObject arrayObject) {
-                    return new IntegerObject(arrayObject.getElements().size());
+                    return IntegerObject.valueOf(arrayObject.getElements().size());
                 } else if (arg instanceof StringObject stringObject) {
-                    return new IntegerObject(stringObject.getValue().length());
+                    return IntegerObject.valueOf(stringObject.getValue().length());
+                } else if (arg instanceof RangeObject rangeObject) {
+                    return IntegerObject.valueOf(rangeObject.size());
+                } else if (arg instanceof SequenceObject sequenceObject) {
+                    return IntegerObject.valueOf(sequenceObject.materialize().size());
+                } else if (arg instanceof BytesObject bytesObject) {
+                    return IntegerObject.valueOf(bytesObject.size());
+                } else if (arg instanceof TableObject tableObject) {
+                    return IntegerObject.valueOf(tableObject.getRowCount());
+                } else if (arg instanceof SetObject setObject) {
+                    return IntegerObject.valueOf(setObject.size());
+                } else if (arg instanceof PriorityQueueObject priorityQueueObject) {
+                    return IntegerObject.valueOf(priorityQueueObject.size());
+                } else if (arg instanceof OrderedMapObject orderedMapObject) {
+                    return IntegerObject.valueOf(orderedMapObject.size());
+                } else if (arg instanceof KvStoreObject kvStoreObject) {
+                    return IntegerObject.valueOf(kvStoreObject.size());
                 } else {
-                    return Utils.unexpectedObjectTypeError(arg.getType(), ObjectTypes.ARRAY, ObjectTypes.STRING);
+                    return Utils.unexpectedObjectTypeError(arg.getType(), ObjectTypes.ARRAY, ObjectTypes.STRING, ObjectTypes.RANGE, ObjectTypes.SEQUENCE, ObjectTypes.BYTES, ObjectTypes.TABLE, ObjectTypes.SET, ObjectTypes.PRIORITY_QUEUE, ObjectTypes.ORDERED_MAP, ObjectTypes.KV_STORE);
                 }
             },
             """
-                    len(x -> array|string) -> integer: returns the number of elements in 'x'
+                    len(x -> array|string|range|sequence|bytes|table|set|priorityQueue|orderedMap|kvStore) -> integer: returns the number of elements in 'x'
                     """
     );
     public static final BuiltinFunction FIRST = new BuiltinFunction(
             "first",
-            args -> {
+            (evaluator, args) -> {
                 if (args.length != 1) {
                     return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
                 }
@@ -70,17 +86,21 @@ public final class Objects {
     );
     public static final BuiltinFunction REST = new BuiltinFunction(
             "rest",
-            args -> {
+            (evaluator, args) -> {
                 if (args.length != 1) {
                     return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
                 }
 
                 EvaluatedObject arg = args[0];
 
-                if (arg instanceof ArrayObject arrayObject) {
+                if (arg instanceof ArrayObject arrayObject && arrayObject.getElements() instanceof IntBufferList intBufferList) {
+                    // off-heap arrays stay off-heap, in a view copied on write
+                    return !intBufferList.isEmpty() ? new ArrayObject(intBufferList.tail(1)) : NULL;
+                } else if (arg instanceof ArrayObject arrayObject) {
                     List<EvaluatedObject> arrayElements = arrayObject.getElements();
 
-                    return !arrayElements.isEmpty() ? new ArrayObject(arrayElements.subList(1, arrayElements.size())) : NULL;
+                    // copy the elements: the new array must not be a view of the (mutable) original one
+                    return !arrayElements.isEmpty() ? new ArrayObject(new ArrayList<>(arrayElements.subList(1, arrayElements.size()))) : NULL;
                 } else if (arg instanceof StringObject stringObject) {
                     String stringValue = stringObject.getValue();
 
@@ -90,12 +110,12 @@ public final class Objects {
                 }
             },
             """
-                    rest(x -> array|string) -> array|string: returns all the elements in 'x' excluded the first element
+                    rest(x -> array|string) -> array|string: returns all the elements in 'x' excluded the first element, in a copy of 'x' (an off-heap array shares the storage of 'x' and is copied only on the next write to one of them)
                     """
     );
     public static final BuiltinFunction PUSH = new BuiltinFunction(
             "push",
-            args -> {
+            (evaluator, args) -> {
                 if (args.length != 2) {
                     return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
                 }
@@ -128,7 +148,7 @@ public final class Objects {
     );
     public static final BuiltinFunction APPEND = new BuiltinFunction(
             "append",
-            args -> {
+            (evaluator, args) -> {
                 if (args.length != 2) {
                     return new ErrorObject("Unexpected number of arguments: got %d, must be 2", args.length);
                 }
@@ -161,7 +181,7 @@ public final class Objects {
     );
     public static final BuiltinFunction POP = new BuiltinFunction(
             "pop",
-            args -> {
+            (evaluator, args) -> {
                 if (args.length != 1) {
                     return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
                 }
@@ -197,7 +217,7 @@ public final class Objects {
     );
     public static final BuiltinFunction REMOVE_LAST = new BuiltinFunction(
             "removeLast",
-            args -> {
+            (evaluator, args) -> {
                 if (args.length != 1) {
                     return new ErrorObject("Unexpected number of arguments: got %d, must be 1", args.length);
                 }
@@ -232,6 +252,44 @@ public final class Objects {
                     """
     );
 
+    public static final BuiltinFunction RANGE = new BuiltinFunction(
+            "range",
+            (evaluator, args) -> {
+                if (args.length < 1 || args.length > 3) {
+                    return new ErrorObject("Unexpected number of arguments: got %d, must be 1, 2 or 3", args.length);
+                }
+
+                long[] bounds = new long[args.length];
+
+                for (int i = 0; i < args.length; i++) {
+                    if (args[i] instanceof IntegerObject integerObject) {
+                        bounds[i] = integerObject.getValue();
+                    } else {
+                        return Utils.unexpectedObjectTypeError(args[i].getType(), ObjectTypes.INTEGER);
+                    }
+                }
+
+                if (bounds.length == 3 && bounds[2] == 0) {
+                    return new ErrorObject("Range step must not be zero");
+                }
+
+                RangeObject rangeObject = switch (bounds.length) {
+                    case 1 -> new RangeObject(0, bounds[0], 1);
+                    case 2 -> new RangeObject(bounds[0], bounds[1], 1);
+                    default -> new RangeObject(bounds[0], bounds[1], bounds[2]);
+                };
+
+                if (rangeObject.size() < 0) {
+                    return new ErrorObject("Range too large: must have at most %d elements", Long.MAX_VALUE);
+                }
+
+                return rangeObject;
+            },
+            """
+                    range([start -> integer,] end -> integer[, step -> integer]) -> range: returns the integers from 'start' (default 0) to 'end' (excluded) by 'step' (default 1) without creating them in advance
+                    """
+    );
+
     private Objects() {
     }
 }
@@ -0,0 +1,389 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Mutable map whose keys (integers, strings or booleans) are kept in their {@link NaturalOrder}. The entries are
+ * stored in a B+ tree with nodes of up to {@value #MAX_KEYS} keys: a lookup visits a few wide nodes, each searched with
+ * a binary search on a contiguous array, and the leaves are linked, so a range scan walks the leaves without going
+ * back to the root. The entries are returned as records with the fields {@code key} and {@code value}.
+ */
+public class OrderedMapObject implements IterableObject {
+    private static final int MAX_KEYS = 64;
+    private static final RecordShape ENTRY_SHAPE = RecordShape.of(List.of("key", "value"));
+
+    private Node root = new LeafNode();
+    private LeafNode firstLeaf = (LeafNode) root;
+    private LeafNode lastLeaf = firstLeaf;
+    private int size;
+    // number of inserted keys, used to stop the iterations over a map whose leaves may have been split
+    private int modificationCount;
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.ORDERED_MAP;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Associates {@code value} with {@code key}, replacing the previous value of the key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws EvaluatorException if the key cannot be ordered with the other keys
+     */
+    public void put(EvaluatedObject key, EvaluatedObject value) {
+        // a string key is copied: pop and removeLast change a string in place
+        EvaluatedObject storedKey = key instanceof StringObject stringObject ? new StringObject(stringObject.getValue()) : key;
+        NaturalOrder.INSTANCE.compare(storedKey, size > 0 ? firstLeaf.keys[0] : storedKey);
+
+        Split split = root.put(storedKey, value);
+
+        if (split != null) {
+            InnerNode newRoot = new InnerNode();
+            newRoot.keys[0] = split.separator();
+            newRoot.children[0] = root;
+            newRoot.children[1] = split.right();
+            newRoot.size = 1;
+            root = newRoot;
+        }
+    }
+
+    /**
+     * Returns the value associated with {@code key}.
+     *
+     * @param key the key
+     * @return the value of the key, or {@code null} if the map does not contain the key
+     */
+    public EvaluatedObject get(EvaluatedObject key) {
+        LeafNode leaf = findLeaf(key);
+        int index = leaf.indexOf(key);
+
+        return index >= 0 ? leaf.values[index] : null;
+    }
+
+    /**
+     * Returns the entry with the greatest key smaller than or equal to {@code key}.
+     *
+     * @param key the key
+     * @return the entry, or {@code null} if there is no such key
+     */
+    public RecordObject floor(EvaluatedObject key) {
+        LeafNode leaf = findLeaf(key);
+        // position of the first key greater than the searched key
+        int index = leaf.upperBound(key) - 1;
+
+        if (index < 0) {
+            // all the keys of the leaf are greater: the floor is the last key of the previous leaf
+            leaf = leaf.previous;
+            index = leaf != null ? leaf.size - 1 : -1;
+        }
+
+        return index >= 0 ? leaf.entry(index) : null;
+    }
+
+    /**
+     * Returns the entry with the smallest key greater than or equal to {@code key}.
+     *
+     * @param key the key
+     * @return the entry, or {@code null} if there is no such key
+     */
+    public RecordObject ceiling(EvaluatedObject key) {
+        LeafNode leaf = findLeaf(key);
+        int index = leaf.lowerBound(key);
+
+        if (index == leaf.size) {
+            // all the keys of the leaf are smaller: the ceiling is the first key of the next leaf
+            leaf = leaf.next;
+            index = 0;
+        }
+
+        return leaf != null && index < leaf.size ? leaf.entry(index) : null;
+    }
+
+    public RecordObject min() {
+        return size > 0 ? firstLeaf.entry(0) : null;
+    }
+
+    public RecordObject max() {
+        return size > 0 ? lastLeaf.entry(lastLeaf.size - 1) : null;
+    }
+
+    /**
+     * Returns the entries whose key is greater than or equal to {@code from} and smaller than {@code to}, in key
+     * order. The entries are read from the leaves while they are iterated.
+     *
+     * @param from the smallest key (included)
+     * @param to   the greatest key (excluded)
+     * @return the entries in the range
+     * @throws EvaluatorException if the bounds cannot be ordered with the keys
+     */
+    public Iterable<EvaluatedObject> range(EvaluatedObject from, EvaluatedObject to) {
+        NaturalOrder.INSTANCE.compare(from, to);
+
+        if (size > 0) {
+            NaturalOrder.INSTANCE.compare(from, firstLeaf.keys[0]);
+        }
+
+        return () -> {
+            LeafNode leaf = findLeaf(from);
+            return new EntryIterator(leaf, leaf.lowerBound(from), to);
+        };
+    }
+
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new EntryIterator(firstLeaf, 0, null);
+    }
+
+    private LeafNode findLeaf(EvaluatedObject key) {
+        Node node = root;
+
+        while (node instanceof InnerNode innerNode) {
+            node = innerNode.children[innerNode.upperBound(key)];
+        }
+
+        return (LeafNode) node;
+    }
+
+    @Override
+    public String toString() {
+        List<String> entries = new ArrayList<>(size);
+
+        for (LeafNode leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                entries.add(String.format("%s: %s", leaf.keys[i], leaf.values[i]));
+            }
+        }
+
+        return String.format("orderedMap(%s)", String.join(", ", entries));
+    }
+
+    /**
+     * Result of a node split: the new right node and the smallest key reachable from it.
+     */
+    private record Split(EvaluatedObject separator, Node right) {
+    }
+
+    private abstract static sealed class Node permits LeafNode, InnerNode {
+        final EvaluatedObject[] keys = new EvaluatedObject[MAX_KEYS];
+        int size;
+
+        /**
+         * Inserts or replaces an entry in the subtree of this node.
+         *
+         * @return the split of this node, or {@code null} if the node did not split
+         */
+        abstract Split put(EvaluatedObject key, EvaluatedObject value);
+
+        /**
+         * Returns the position of the first key greater than or equal to {@code key}.
+         */
+        int lowerBound(EvaluatedObject key) {
+            int low = 0;
+            int high = size;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (NaturalOrder.INSTANCE.compare(keys[middle], key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Returns the position of the first key greater than {@code key}.
+         */
+        int upperBound(EvaluatedObject key) {
+            int low = 0;
+            int high = size;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (NaturalOrder.INSTANCE.compare(keys[middle], key) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+
+    private final class LeafNode extends Node {
+        final EvaluatedObject[] values = new EvaluatedObject[MAX_KEYS];
+        LeafNode previous;
+        LeafNode next;
+
+        int indexOf(EvaluatedObject key) {
+            int index = lowerBound(key);
+
+            return index < size && NaturalOrder.INSTANCE.compare(keys[index], key) == 0 ? index : -1;
+        }
+
+        RecordObject entry(int index) {
+            return new RecordObject(ENTRY_SHAPE, new EvaluatedObject[]{keys[index], values[index]});
+        }
+
+        @Override
+        Split put(EvaluatedObject key, EvaluatedObject value) {
+            int index = lowerBound(key);
+
+            if (index < size && NaturalOrder.INSTANCE.compare(keys[index], key) == 0) {
+                values[index] = value;
+                return null;
+            }
+
+            OrderedMapObject.this.size++;
+            modificationCount++;
+
+            if (size < MAX_KEYS) {
+                insert(index, key, value);
+                return null;
+            }
+
+            // split the full leaf in two halves and insert the entry in the right one
+            LeafNode right = new LeafNode();
+            int half = MAX_KEYS / 2;
+            System.arraycopy(keys, half, right.keys, 0, MAX_KEYS - half);
+            System.arraycopy(values, half, right.values, 0, MAX_KEYS - half);
+            Arrays.fill(keys, half, MAX_KEYS, null);
+            Arrays.fill(values, half, MAX_KEYS, null);
+            right.size = MAX_KEYS - half;
+            size = half;
+
+            right.next = next;
+            right.previous = this;
+
+            if (next != null) {
+                next.previous = right;
+            } else {
+                lastLeaf = right;
+            }
+
+            next = right;
+
+            if (index <= half) {
+                insert(index, key, value);
+            } else {
+                right.insert(index - half, key, value);
+            }
+
+            return new Split(right.keys[0], right);
+        }
+
+        private void insert(int index, EvaluatedObject key, EvaluatedObject value) {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+    }
+
+    /**
+     * Inner node with {@code size} separator keys and {@code size + 1} children: {@code keys[i]} is the smallest key of
+     * the subtree {@code children[i + 1]}.
+     */
+    private final class InnerNode extends Node {
+        final Node[] children = new Node[MAX_KEYS + 1];
+
+        @Override
+        Split put(EvaluatedObject key, EvaluatedObject value) {
+            int childIndex = upperBound(key);
+            Split childSplit = children[childIndex].put(key, value);
+
+            if (childSplit == null) {
+                return null;
+            }
+
+            if (size < MAX_KEYS) {
+                insert(childIndex, childSplit);
+                return null;
+            }
+
+            // split the full node: the middle separator moves up to the parent
+            InnerNode right = new InnerNode();
+            int half = MAX_KEYS / 2;
+            EvaluatedObject separator = keys[half];
+            System.arraycopy(keys, half + 1, right.keys, 0, MAX_KEYS - half - 1);
+            System.arraycopy(children, half + 1, right.children, 0, MAX_KEYS - half);
+            Arrays.fill(keys, half, MAX_KEYS, null);
+            Arrays.fill(children, half + 1, MAX_KEYS + 1, null);
+            right.size = MAX_KEYS - half - 1;
+            size = half;
+
+            if (childIndex <= half) {
+                insert(childIndex, childSplit);
+            } else {
+                right.insert(childIndex - half - 1, childSplit);
+            }
+
+            return new Split(separator, right);
+        }
+
+        private void insert(int childIndex, Split childSplit) {
+            System.arraycopy(keys, childIndex, keys, childIndex + 1, size - childIndex);
+            System.arraycopy(children, childIndex + 1, children, childIndex + 2, size - childIndex);
+            keys[childIndex] = childSplit.separator();
+            children[childIndex + 1] = childSplit.right();
+            size++;
+        }
+    }
+
+    /**
+     * Iterator over the entries of the leaves, from a position to the end of the map or to a key (excluded).
+     * Inserting a new key while iterating stops the iteration with an {@link EvaluatorException}.
+     */
+    private final class EntryIterator implements Iterator<EvaluatedObject> {
+        private final EvaluatedObject to;
+        private final int expectedModificationCount = modificationCount;
+        private LeafNode leaf;
+        private int index;
+
+        EntryIterator(LeafNode leaf, int index, EvaluatedObject to) {
+            this.leaf = leaf;
+            this.index = index;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modificationCount != expectedModificationCount) {
+                throw new EvaluatorException("Ordered map changed while iterating over it");
+            }
+
+            while (leaf != null && index == leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+
+            return leaf != null && (to == null || NaturalOrder.INSTANCE.compare(leaf.keys[index], to) < 0);
+        }
+
+        @Override
+        public EvaluatedObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return leaf.entry(index++);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Mutable priority queue stored as an array-based binary min-heap: push and pop take O(log n) comparisons and peek
+ * takes O(1). While the queue uses the {@link NaturalOrder} and contains only 64-bit integers, the heap is a
+ * {@code long[]} and the elements are compared as primitives; pushing another value moves the heap to an array of
+ * objects.
+ */
+public class PriorityQueueObject implements EvaluatedObject {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Comparator<EvaluatedObject> comparator;
+    // heap of the integer fast path, null once the queue stores objects
+    private long[] longHeap;
+    private EvaluatedObject[] objectHeap;
+    private int size;
+
+    /**
+     * Creates an empty priority queue.
+     *
+     * @param comparator the order of the elements, or {@code null} for the {@link NaturalOrder}
+     */
+    public PriorityQueueObject(Comparator<EvaluatedObject> comparator) {
+        this.comparator = comparator;
+
+        if (comparator == null) {
+            longHeap = new long[INITIAL_CAPACITY];
+        } else {
+            objectHeap = new EvaluatedObject[INITIAL_CAPACITY];
+        }
+    }
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.PRIORITY_QUEUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an element to the queue.
+     *
+     * @param element the element to add
+     * @throws EvaluatorException if the element cannot be compared with the elements of the queue
+     */
+    public void push(EvaluatedObject element) {
+        if (longHeap != null && element instanceof IntegerObject integerObject) {
+            pushLong(integerObject.getValue());
+            return;
+        }
+
+        if (comparator == null) {
+            // fails before the heap is changed if the element cannot be ordered with the other elements
+            NaturalOrder.INSTANCE.compare(element, size > 0 ? peek() : element);
+        }
+
+        if (longHeap != null) {
+            moveToObjectHeap();
+        }
+
+        if (size == objectHeap.length) {
+            objectHeap = Arrays.copyOf(objectHeap, size * 2);
+        }
+
+        objectHeap[size] = element;
+        int child = size++;
+
+        // the elements are swapped one step at a time: if a comparator fails, no element is lost
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+
+            if (order().compare(objectHeap[child], objectHeap[parent]) >= 0) {
+                break;
+            }
+
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    /**
+     * Returns the smallest element without removing it.
+     *
+     * @return the smallest element, or {@code null} if the queue is empty
+     */
+    public EvaluatedObject peek() {
+        if (size == 0) {
+            return null;
+        }
+
+        return longHeap != null ? IntegerObject.valueOf(longHeap[0]) : objectHeap[0];
+    }
+
+    /**
+     * Removes the smallest element.
+     *
+     * @return the removed element, or {@code null} if the queue is empty
+     */
+    public EvaluatedObject pop() {
+        if (size == 0) {
+            return null;
+        }
+
+        if (longHeap != null) {
+            return IntegerObject.valueOf(popLong());
+        }
+
+        EvaluatedObject smallest = objectHeap[0];
+        objectHeap[0] = objectHeap[--size];
+        objectHeap[size] = null;
+        int parent = 0;
+
+        while (true) {
+            int smallestChild = 2 * parent + 1;
+
+            if (smallestChild >= size) {
+                break;
+            } else if (smallestChild + 1 < size && order().compare(objectHeap[smallestChild + 1], objectHeap[smallestChild]) < 0) {
+                smallestChild++;
+            }
+
+            if (order().compare(objectHeap[smallestChild], objectHeap[parent]) >= 0) {
+                break;
+            }
+
+            swap(parent, smallestChild);
+            parent = smallestChild;
+        }
+
+        return smallest;
+    }
+
+    private void pushLong(long value) {
+        if (size == longHeap.length) {
+            longHeap = Arrays.copyOf(longHeap, size * 2);
+        }
+
+        int child = size++;
+
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+
+            if (value >= longHeap[parent]) {
+                break;
+            }
+
+            longHeap[child] = longHeap[parent];
+            child = parent;
+        }
+
+        longHeap[child] = value;
+    }
+
+    private long popLong() {
+        long smallest = longHeap[0];
+        long last = longHeap[--size];
+        int parent = 0;
+
+        while (true) {
+            int smallestChild = 2 * parent + 1;
+
+            if (smallestChild >= size) {
+                break;
+            } else if (smallestChild + 1 < size && longHeap[smallestChild + 1] < longHeap[smallestChild]) {
+                smallestChild++;
+            }
+
+            if (longHeap[smallestChild] >= last) {
+                break;
+            }
+
+            longHeap[parent] = longHeap[smallestChild];
+            parent = smallestChild;
+        }
+
+        longHeap[parent] = last;
+        return smallest;
+    }
+
+    private void moveToObjectHeap() {
+        objectHeap = new EvaluatedObject[longHeap.length];
+
+        // a min-heap of longs is still a valid heap for the natural order of the integer objects
+        for (int i = 0; i < size; i++) {
+            objectHeap[i] = IntegerObject.valueOf(longHeap[i]);
+        }
+
+        longHeap = null;
+    }
+
+    private Comparator<EvaluatedObject> order() {
+        return comparator != null ? comparator : NaturalOrder.INSTANCE;
+    }
+
+    private void swap(int i, int j) {
+        EvaluatedObject element = objectHeap[i];
+        objectHeap[i] = objectHeap[j];
+        objectHeap[j] = element;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("priorityQueue(size %d)", size);
+    }
+}
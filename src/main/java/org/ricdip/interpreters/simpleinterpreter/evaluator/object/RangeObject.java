@@ -0,0 +1,80 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy sequence of integers from {@code start} (inclusive) to {@code end} (exclusive) with the given {@code step}.
+ * The elements are never materialized: they are computed from their position when visited or indexed.
+ */
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class RangeObject implements IterableObject {
+    private final long start;
+    private final long end;
+    private final long step;
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.RANGE;
+    }
+
+    /**
+     * Returns the number of elements in the range, that can be more than {@link Integer#MAX_VALUE}.
+     *
+     * @return the number of elements in the range, or a negative number if it is more than {@link Long#MAX_VALUE}
+     */
+    public long size() {
+        if (step > 0 ? end <= start : start <= end) {
+            return 0;
+        }
+
+        // the distance and the absolute step can exceed Long.MAX_VALUE: they are computed as unsigned values
+        long distance = step > 0 ? end - start : start - end;
+        long absoluteStep = step > 0 ? step : -step;
+
+        return Long.divideUnsigned(distance - 1, absoluteStep) + 1;
+    }
+
+    /**
+     * Returns the element at the given position in the range.
+     *
+     * @param index the position of the element, must be between 0 and {@code size() - 1}
+     * @return the element at the given position
+     */
+    public long get(long index) {
+        return start + index * step;
+    }
+
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new Iterator<>() {
+            private final long size = size();
+            private long index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public EvaluatedObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return IntegerObject.valueOf(get(index++));
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format("range(%d, %d, %d)", start, end, step);
+    }
+}
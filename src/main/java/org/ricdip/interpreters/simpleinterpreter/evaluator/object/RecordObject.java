@@ -0,0 +1,41 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class RecordObject implements EvaluatedObject {
+    private final RecordShape shape;
+    private final EvaluatedObject[] values;
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.RECORD;
+    }
+
+    public EvaluatedObject get(int index) {
+        return values[index];
+    }
+
+    public void set(int index, EvaluatedObject value) {
+        values[index] = value;
+    }
+
+    @Override
+    public String toString() {
+        List<String> fields = new ArrayList<>();
+        List<String> fieldNames = shape.getFieldNames();
+
+        for (int i = 0; i < values.length; i++) {
+            fields.add(String.format("%s: %s", fieldNames.get(i), values[i]));
+        }
+
+        return String.format("{%s}", String.join(", ", fields));
+    }
+}
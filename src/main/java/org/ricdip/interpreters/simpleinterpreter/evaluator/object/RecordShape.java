@@ -0,0 +1,85 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Layout descriptor (hidden class) of a {@link RecordObject}: it maps every field name to the position of the field
+ * value in the record values array. Shapes are interned by their ordered list of field names, so the records created
+ * with the same fields usually share the same shape instance, and a comparison by reference is enough for the inline
+ * caches. The interning table is bounded: when it is full, as when reading records whose fields depend on the data,
+ * new shapes are not interned, and two shapes with the same fields are only {@link #equals(Object) equal}.
+ */
+public final class RecordShape {
+    // the table stops growing after this size, so the shapes read from a stream of data do not fill the memory
+    private static final int SHAPES_MAX_SIZE = 1 << 12;
+    private static final Map<List<String>, RecordShape> SHAPES = new ConcurrentHashMap<>();
+
+    @Getter
+    private final List<String> fieldNames;
+    private final Map<String, Slot> slots = new HashMap<>();
+
+    private RecordShape(List<String> fieldNames) {
+        this.fieldNames = fieldNames;
+
+        for (int i = 0; i < fieldNames.size(); i++) {
+            slots.put(fieldNames.get(i), new Slot(this, i));
+        }
+    }
+
+    /**
+     * Returns the shared shape that describes a record with the given fields.
+     *
+     * @param fieldNames the ordered list of field names
+     * @return the interned {@link RecordShape}, or a new one if the interning table is full
+     */
+    public static RecordShape of(List<String> fieldNames) {
+        RecordShape shape = SHAPES.get(fieldNames);
+
+        if (shape != null) {
+            return shape;
+        }
+
+        List<String> names = List.copyOf(fieldNames);
+
+        return SHAPES.size() < SHAPES_MAX_SIZE ? SHAPES.computeIfAbsent(names, RecordShape::new) : new RecordShape(names);
+    }
+
+    /**
+     * Returns the slot of the field with the given name.
+     *
+     * @param fieldName the field name
+     * @return the {@link Slot} of the field or {@code null} if this shape has no field with the given name
+     */
+    public Slot getSlot(String fieldName) {
+        return slots.get(fieldName);
+    }
+
+    public int size() {
+        return fieldNames.size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof RecordShape other && fieldNames.equals(other.fieldNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return fieldNames.hashCode();
+    }
+
+    /**
+     * Position of a field inside the records described by {@code shape}. Slots are immutable and created once per
+     * shape, so they can be stored as inline caches in the AST and read without synchronization.
+     *
+     * @param shape the shape that owns the slot
+     * @param index the position of the field value in the record values array
+     */
+    public record Slot(RecordShape shape, int index) {
+    }
+}
@@ -0,0 +1,197 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lazy sequence of elements produced by a source and transformed by a pipeline of stages (map, filter, take).
+ * Chaining a stage on a sequence does not create an intermediate collection: the new sequence shares the source
+ * and appends the stage to the pipeline, so every element flows through all the stages in a single pass.
+ * The elements are materialized (and kept) only when the sequence is indexed, printed or passed to {@code len}.
+ */
+public class SequenceObject implements IterableObject {
+    private final Iterable<EvaluatedObject> source;
+    private final List<Stage> stages;
+    private List<EvaluatedObject> materializedElements;
+
+    public SequenceObject(Iterable<EvaluatedObject> source) {
+        this(source, List.of());
+    }
+
+    private SequenceObject(Iterable<EvaluatedObject> source, List<Stage> stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.SEQUENCE;
+    }
+
+    /**
+     * Returns the source of the elements, shared by all the sequences chained on it.
+     *
+     * @return the source of the sequence
+     */
+    public Iterable<EvaluatedObject> getSource() {
+        return source;
+    }
+
+    /**
+     * Returns a new sequence that applies {@code function} to every element of this sequence.
+     *
+     * @param function the function applied to the elements
+     * @return the new {@link SequenceObject}
+     */
+    public SequenceObject map(UnaryOperator<EvaluatedObject> function) {
+        return then(new MapStage(function));
+    }
+
+    /**
+     * Returns a new sequence that keeps only the elements of this sequence that satisfy {@code predicate}.
+     *
+     * @param predicate the predicate tested on the elements
+     * @return the new {@link SequenceObject}
+     */
+    public SequenceObject filter(Predicate<EvaluatedObject> predicate) {
+        return then(new FilterStage(predicate));
+    }
+
+    /**
+     * Returns a new sequence that stops after the first {@code limit} elements of this sequence.
+     *
+     * @param limit the maximum number of elements
+     * @return the new {@link SequenceObject}
+     */
+    public SequenceObject take(long limit) {
+        return then(new TakeStage(limit));
+    }
+
+    private SequenceObject then(Stage stage) {
+        List<Stage> newStages = new ArrayList<>(stages);
+        newStages.add(stage);
+        return new SequenceObject(source, newStages);
+    }
+
+    /**
+     * Evaluates all the elements of the sequence and keeps them, so the following accesses do not evaluate the
+     * pipeline again.
+     *
+     * @return the elements of the sequence
+     * @throws EvaluatorException if the evaluation of an element fails
+     */
+    public List<EvaluatedObject> materialize() {
+        if (materializedElements == null) {
+            List<EvaluatedObject> elements = new ArrayList<>();
+
+            for (EvaluatedObject element : this) {
+                elements.add(element);
+            }
+
+            materializedElements = elements;
+        }
+
+        return materializedElements;
+    }
+
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        if (materializedElements != null) {
+            return materializedElements.iterator();
+        }
+
+        return new PipelineIterator();
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return String.format("[%s]", String.join(",", materialize().stream().map(Object::toString).toList()));
+        } catch (EvaluatorException e) {
+            return new ErrorObject(e.getMessage()).toString();
+        }
+    }
+
+    private sealed interface Stage permits MapStage, FilterStage, TakeStage {
+    }
+
+    private record MapStage(UnaryOperator<EvaluatedObject> function) implements Stage {
+    }
+
+    private record FilterStage(Predicate<EvaluatedObject> predicate) implements Stage {
+    }
+
+    private record TakeStage(long limit) implements Stage {
+    }
+
+    /**
+     * Pulls the elements from the source and pushes each of them through all the stages before pulling the next
+     * one. Every iterator keeps its own take counters, so a sequence can be visited more than once.
+     */
+    private class PipelineIterator implements Iterator<EvaluatedObject> {
+        private final Iterator<EvaluatedObject> sourceIterator = source.iterator();
+        private final long[] takenElements = new long[stages.size()];
+        private EvaluatedObject nextElement;
+        private boolean exhausted = stages.stream()
+                .anyMatch(stage -> stage instanceof TakeStage takeStage && takeStage.limit() <= 0);
+
+        @Override
+        public boolean hasNext() {
+            while (nextElement == null && !exhausted) {
+                if (!sourceIterator.hasNext()) {
+                    exhausted = true;
+                } else {
+                    nextElement = applyStages(sourceIterator.next());
+                }
+            }
+
+            return nextElement != null;
+        }
+
+        @Override
+        public EvaluatedObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            EvaluatedObject element = nextElement;
+            nextElement = null;
+            return element;
+        }
+
+        /**
+         * Applies the stages to one element of the source.
+         *
+         * @param element the element of the source
+         * @return the transformed element, or {@code null} if it has been discarded by a stage
+         */
+        private EvaluatedObject applyStages(EvaluatedObject element) {
+            for (int i = 0; i < stages.size(); i++) {
+                Stage stage = stages.get(i);
+
+                if (stage instanceof MapStage mapStage) {
+                    element = mapStage.function().apply(element);
+                } else if (stage instanceof FilterStage filterStage) {
+                    if (!filterStage.predicate().test(element)) {
+                        return null;
+                    }
+                } else if (stage instanceof TakeStage takeStage) {
+                    takenElements[i]++;
+
+                    if (takenElements[i] >= takeStage.limit()) {
+                        // no other element can pass this stage: the pipeline ends after this element
+                        exhausted = true;
+                    }
+                }
+            }
+
+            return element;
+        }
+    }
+}
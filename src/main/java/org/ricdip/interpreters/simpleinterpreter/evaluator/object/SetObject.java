@@ -0,0 +1,176 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+/**
+ * Mutable set of integers, strings and booleans. The non-negative integers that fit in 32 bits are stored in an
+ * {@link IntBitmap}; all the other members are stored in a hash set. The iteration visits the integers of the bitmap
+ * in ascending order and then the other members in insertion order.
+ */
+public class SetObject implements IterableObject {
+    private final IntBitmap integers;
+    private final Set<EvaluatedObject> others;
+    // number of changes, used to stop the iterations over a set that has been changed
+    private int modificationCount;
+
+    public SetObject() {
+        this(new IntBitmap(), new LinkedHashSet<>());
+    }
+
+    private SetObject(IntBitmap integers, Set<EvaluatedObject> others) {
+        this.integers = integers;
+        this.others = others;
+    }
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.SET;
+    }
+
+    public int size() {
+        return integers.cardinality() + others.size();
+    }
+
+    /**
+     * Adds a member to the set.
+     *
+     * @param member the member to add
+     * @return {@code true} if the member was not in the set
+     * @throws EvaluatorException if the member is not an integer, a string or a boolean
+     */
+    public boolean add(EvaluatedObject member) {
+        boolean added = isBitmapMember(member)
+                ? integers.add((int) ((IntegerObject) member).getValue())
+                : others.add(key(member));
+
+        if (added) {
+            modificationCount++;
+        }
+
+        return added;
+    }
+
+    public boolean contains(EvaluatedObject member) {
+        if (isBitmapMember(member)) {
+            return integers.contains((int) ((IntegerObject) member).getValue());
+        }
+
+        return others.contains(member);
+    }
+
+    public boolean remove(EvaluatedObject member) {
+        boolean removed = isBitmapMember(member)
+                ? integers.remove((int) ((IntegerObject) member).getValue())
+                : others.remove(member);
+
+        if (removed) {
+            modificationCount++;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns a new set with the members of this set and of {@code other}.
+     *
+     * @param other the other set
+     * @return the union of the two sets
+     */
+    public SetObject union(SetObject other) {
+        Set<EvaluatedObject> unionOthers = new LinkedHashSet<>(others);
+        unionOthers.addAll(other.others);
+
+        return new SetObject(integers.or(other.integers), unionOthers);
+    }
+
+    /**
+     * Returns a new set with the members present both in this set and in {@code other}.
+     *
+     * @param other the other set
+     * @return the intersection of the two sets
+     */
+    public SetObject intersection(SetObject other) {
+        Set<EvaluatedObject> intersectionOthers = new LinkedHashSet<>(others);
+        intersectionOthers.retainAll(other.others);
+
+        return new SetObject(integers.and(other.integers), intersectionOthers);
+    }
+
+    private static boolean isBitmapMember(EvaluatedObject member) {
+        return member instanceof IntegerObject integerObject
+               && integerObject.getValue() >= 0
+               && integerObject.getValue() <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the object stored in the hash set for {@code member}. Strings are copied, because {@code pop} and
+     * {@code removeLast} change a string in place and a changed member would be lost in the hash set.
+     */
+    private static EvaluatedObject key(EvaluatedObject member) {
+        if (member instanceof StringObject stringObject) {
+            return new StringObject(stringObject.getValue());
+        } else if (member instanceof IntegerObject || member instanceof BigIntegerObject || member instanceof BooleanObject) {
+            return member;
+        }
+
+        throw new EvaluatorException(
+                "Cannot add %s to a set: must be an %s, a %s or a %s",
+                member.getType().name(),
+                ObjectTypes.INTEGER.name(),
+                ObjectTypes.STRING.name(),
+                ObjectTypes.BOOLEAN.name()
+        );
+    }
+
+    /**
+     * Returns an iterator over the members of the set. Changing the set while it is iterated stops the iteration with
+     * an {@link EvaluatorException}.
+     *
+     * @return an iterator over the members of the set
+     */
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new Iterator<>() {
+            private final int expectedModificationCount = modificationCount;
+            private final PrimitiveIterator.OfInt integerIterator = integers.iterator();
+            private final Iterator<EvaluatedObject> otherIterator = others.iterator();
+
+            @Override
+            public boolean hasNext() {
+                if (modificationCount != expectedModificationCount) {
+                    throw new EvaluatorException("Set changed while iterating over it");
+                }
+
+                return integerIterator.hasNext() || otherIterator.hasNext();
+            }
+
+            @Override
+            public EvaluatedObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return integerIterator.hasNext() ? IntegerObject.valueOf(integerIterator.nextInt()) : otherIterator.next();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        List<String> members = new ArrayList<>(size());
+
+        for (EvaluatedObject member : this) {
+            members.add(member.toString());
+        }
+
+        return String.format("set(%s)", String.join(",", members));
+    }
+}
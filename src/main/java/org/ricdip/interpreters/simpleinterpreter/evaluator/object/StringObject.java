@@ -1,18 +1,109 @@
 package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
 
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * String value. A string is changed in place by {@code pop} and {@code removeLast}, so every evaluation of a literal
+ * creates a new object; the literals and the short values share instead their {@link String} from an interning
+ * table, so two equal interned strings are the same {@link String} and are compared by reference. The other values
+ * are compared by their hash codes, that {@link String} computes once and keeps, before comparing their characters.
+ */
 @Getter
-@Setter
-@EqualsAndHashCode
-public class StringObject implements EvaluatedObject {
+public class StringObject implements IterableObject {
+    // values up to this length are interned, like the characters of a string
+    private static final int INTERNED_MAX_LENGTH = 16;
+    // the table stops growing after this size, so a script producing many distinct values does not fill the memory
+    private static final int INTERNED_MAX_SIZE = 1 << 16;
+    private static final Map<String, String> INTERNED = new ConcurrentHashMap<>();
+
     private String value;
+    // the value is the instance in the interning table
+    private boolean interned;
 
     public StringObject(@NonNull String value) {
+        assign(value);
+    }
+
+    private StringObject(String value, boolean interned) {
         this.value = value;
+        this.interned = interned;
+    }
+
+    /**
+     * Returns a string for the value of a literal, that is interned whatever its length.
+     *
+     * @param value the value of the literal
+     * @return the new {@link StringObject}
+     */
+    public static StringObject literal(@NonNull String value) {
+        String internedValue = intern(value);
+        return new StringObject(internedValue != null ? internedValue : value, internedValue != null);
+    }
+
+    /**
+     * Changes the value of the string.
+     *
+     * @param value the new value
+     */
+    public void setValue(@NonNull String value) {
+        assign(value);
+    }
+
+    // called by the constructor, that must not call the overridable setValue
+    private void assign(String value) {
+        String internedValue = value.length() <= INTERNED_MAX_LENGTH ? intern(value) : null;
+        this.value = internedValue != null ? internedValue : value;
+        this.interned = internedValue != null;
+    }
+
+    /**
+     * @return the instance of the value in the interning table, or {@code null} if the table is full
+     */
+    private static String intern(String value) {
+        String internedValue = INTERNED.get(value);
+
+        if (internedValue == null && INTERNED.size() < INTERNED_MAX_SIZE) {
+            internedValue = INTERNED.putIfAbsent(value, value);
+            return internedValue != null ? internedValue : value;
+        }
+
+        return internedValue;
+    }
+
+    /**
+     * Compares the values of two strings: two different interned values are different without comparing their
+     * characters.
+     *
+     * @param other the other string
+     * @return {@code true} if the strings have the same value
+     */
+    public boolean valueEquals(StringObject other) {
+        String otherValue = other.value;
+
+        if (value == otherValue) {
+            return true;
+        } else if (interned && other.interned) {
+            return false;
+        }
+
+        return value.hashCode() == otherValue.hashCode() && value.equals(otherValue);
+    }
+
+    /**
+     * Compares the values of two strings lexicographically.
+     *
+     * @param other the other string
+     * @return a negative integer, zero or a positive integer if this value is smaller than, equal to or greater than
+     * the other one
+     */
+    public int compareValue(StringObject other) {
+        return valueEquals(other) ? 0 : value.compareTo(other.value);
     }
 
     @Override
@@ -24,6 +115,45 @@ public class StringObject implements EvaluatedObject {
         return new StringObject(this.value + stringObject.getValue());
     }
 
+    /**
+     * Returns an iterator over the characters of the string, each one returned as a {@link StringObject}. The
+     * iterator visits the value the string had when the iteration started.
+     *
+     * @return an iterator over the characters of the string
+     */
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        String iteratedValue = value;
+
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < iteratedValue.length();
+            }
+
+            @Override
+            public EvaluatedObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return new StringObject(String.valueOf(iteratedValue.charAt(index++)));
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StringObject other && valueEquals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
     @Override
     public String toString() {
         return String.format("\"%s\"", value);
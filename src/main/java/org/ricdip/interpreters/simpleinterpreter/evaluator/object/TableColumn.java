@@ -0,0 +1,252 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Column of a {@link TableObject}, stored as a primitive array. Strings are dictionary encoded: every distinct value
+ * is stored once and the rows store its position in the dictionary.
+ */
+public sealed interface TableColumn permits TableColumn.IntColumn, TableColumn.BooleanColumn, TableColumn.StringColumn {
+    ObjectTypes getType();
+
+    int size();
+
+    /**
+     * Returns the value of a row, boxed in a new object.
+     *
+     * @param row the row index
+     * @return the value of the row
+     */
+    EvaluatedObject get(int row);
+
+    /**
+     * Tests every row against {@code value} and stores the index of the matching rows in {@code selection}.
+     *
+     * @param comparison tested on the result of the comparison between the row value and {@code value}
+     *                   (negative, zero or positive, like {@link Comparable#compareTo})
+     * @param value      the value compared with the rows: it must have the type of the column
+     * @param selection  receives the indexes of the matching rows, it must have one element per row
+     * @return the number of matching rows
+     */
+    int select(IntPredicate comparison, EvaluatedObject value, int[] selection);
+
+    /**
+     * Returns a new column with the values of the given rows.
+     *
+     * @param rows  the row indexes
+     * @param count the number of row indexes to read from {@code rows}
+     * @return the new column
+     */
+    TableColumn gather(int[] rows, int count);
+
+    /**
+     * Creates a column from the values of an array: all the values must be 64-bit integers, booleans or strings.
+     *
+     * @param values the column values
+     * @return the created column or {@code null} if the values have different or not supported types
+     */
+    static TableColumn of(List<EvaluatedObject> values) {
+        ObjectTypes type = values.isEmpty() ? ObjectTypes.INTEGER : values.getFirst().getType();
+
+        for (EvaluatedObject value : values) {
+            if (value.getType() != type || value instanceof BigIntegerObject) {
+                return null;
+            }
+        }
+
+        return switch (type) {
+            case INTEGER -> {
+                long[] longs = new long[values.size()];
+
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = ((IntegerObject) values.get(i)).getValue();
+                }
+
+                yield new IntColumn(longs);
+            }
+            case BOOLEAN -> {
+                boolean[] booleans = new boolean[values.size()];
+
+                for (int i = 0; i < booleans.length; i++) {
+                    booleans[i] = ((BooleanObject) values.get(i)).getValue();
+                }
+
+                yield new BooleanColumn(booleans);
+            }
+            case STRING -> {
+                Map<String, Integer> codes = new HashMap<>();
+                List<String> dictionary = new ArrayList<>();
+                int[] rows = new int[values.size()];
+
+                for (int i = 0; i < rows.length; i++) {
+                    String string = ((StringObject) values.get(i)).getValue();
+                    rows[i] = codes.computeIfAbsent(string, s -> {
+                        dictionary.add(s);
+                        return dictionary.size() - 1;
+                    });
+                }
+
+                yield new StringColumn(rows, dictionary);
+            }
+            default -> null;
+        };
+    }
+
+    record IntColumn(long[] values) implements TableColumn {
+        @Override
+        public ObjectTypes getType() {
+            return ObjectTypes.INTEGER;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public EvaluatedObject get(int row) {
+            return IntegerObject.valueOf(values[row]);
+        }
+
+        @Override
+        public int select(IntPredicate comparison, EvaluatedObject value, int[] selection) {
+            if (value instanceof BigIntegerObject bigIntegerObject) {
+                // every value of the column is smaller than a positive (greater than a negative) big integer
+                return selectAll(comparison.test(-bigIntegerObject.getValue().signum()), selection);
+            }
+
+            long operand = ((IntegerObject) value).getValue();
+            int count = 0;
+
+            for (int i = 0; i < values.length; i++) {
+                if (comparison.test(Long.compare(values[i], operand))) {
+                    selection[count++] = i;
+                }
+            }
+
+            return count;
+        }
+
+        @Override
+        public TableColumn gather(int[] rows, int count) {
+            long[] gathered = new long[count];
+
+            for (int i = 0; i < count; i++) {
+                gathered[i] = values[rows[i]];
+            }
+
+            return new IntColumn(gathered);
+        }
+
+        private int selectAll(boolean matching, int[] selection) {
+            if (!matching) {
+                return 0;
+            }
+
+            for (int i = 0; i < values.length; i++) {
+                selection[i] = i;
+            }
+
+            return values.length;
+        }
+    }
+
+    record BooleanColumn(boolean[] values) implements TableColumn {
+        @Override
+        public ObjectTypes getType() {
+            return ObjectTypes.BOOLEAN;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public EvaluatedObject get(int row) {
+            return new BooleanObject(values[row]);
+        }
+
+        @Override
+        public int select(IntPredicate comparison, EvaluatedObject value, int[] selection) {
+            boolean operand = ((BooleanObject) value).getValue();
+            int count = 0;
+
+            for (int i = 0; i < values.length; i++) {
+                if (comparison.test(Boolean.compare(values[i], operand))) {
+                    selection[count++] = i;
+                }
+            }
+
+            return count;
+        }
+
+        @Override
+        public TableColumn gather(int[] rows, int count) {
+            boolean[] gathered = new boolean[count];
+
+            for (int i = 0; i < count; i++) {
+                gathered[i] = values[rows[i]];
+            }
+
+            return new BooleanColumn(gathered);
+        }
+    }
+
+    /**
+     * Dictionary encoded string column: {@code codes[row]} is the position of the row value in {@code dictionary}.
+     * Comparisons are evaluated once per distinct value and then applied to the rows through the codes.
+     */
+    record StringColumn(int[] codes, List<String> dictionary) implements TableColumn {
+        @Override
+        public ObjectTypes getType() {
+            return ObjectTypes.STRING;
+        }
+
+        @Override
+        public int size() {
+            return codes.length;
+        }
+
+        @Override
+        public EvaluatedObject get(int row) {
+            return new StringObject(dictionary.get(codes[row]));
+        }
+
+        @Override
+        public int select(IntPredicate comparison, EvaluatedObject value, int[] selection) {
+            String operand = ((StringObject) value).getValue();
+            boolean[] matchingCodes = new boolean[dictionary.size()];
+
+            for (int code = 0; code < matchingCodes.length; code++) {
+                matchingCodes[code] = comparison.test(dictionary.get(code).compareTo(operand));
+            }
+
+            int count = 0;
+
+            for (int i = 0; i < codes.length; i++) {
+                if (matchingCodes[codes[i]]) {
+                    selection[count++] = i;
+                }
+            }
+
+            return count;
+        }
+
+        @Override
+        public TableColumn gather(int[] rows, int count) {
+            int[] gathered = new int[count];
+
+            for (int i = 0; i < count; i++) {
+                gathered[i] = codes[rows[i]];
+            }
+
+            // the dictionary is shared: it may contain values no longer used by the rows
+            return new StringColumn(gathered, dictionary);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Table stored by columns: every column is a primitive array (see {@link TableColumn}) and all the columns have the
+ * same number of rows. A row is returned as a {@link RecordObject}; all the rows of a table share the same
+ * {@link RecordShape}.
+ */
+@Getter
+public class TableObject implements IterableObject {
+    private final RecordShape shape;
+    private final List<TableColumn> columns;
+    private final int rowCount;
+
+    public TableObject(List<String> columnNames, List<TableColumn> columns) {
+        this.shape = RecordShape.of(columnNames);
+        this.columns = columns;
+        this.rowCount = columns.isEmpty() ? 0 : columns.getFirst().size();
+    }
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.TABLE;
+    }
+
+    public List<String> getColumnNames() {
+        return shape.getFieldNames();
+    }
+
+    /**
+     * Returns the column with the given name.
+     *
+     * @param name the column name
+     * @return the {@link TableColumn} or {@code null} if the table has no column with the given name
+     */
+    public TableColumn getColumn(String name) {
+        RecordShape.Slot slot = shape.getSlot(name);
+        return slot != null ? columns.get(slot.index()) : null;
+    }
+
+    public RecordObject getRow(int row) {
+        EvaluatedObject[] values = new EvaluatedObject[columns.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columns.get(i).get(row);
+        }
+
+        return new RecordObject(shape, values);
+    }
+
+    /**
+     * Returns a new table with the given rows of this table.
+     *
+     * @param rows  the row indexes
+     * @param count the number of row indexes to read from {@code rows}
+     * @return the new {@link TableObject}
+     */
+    public TableObject gather(int[] rows, int count) {
+        List<TableColumn> gathered = new ArrayList<>();
+
+        for (TableColumn column : columns) {
+            gathered.add(column.gather(rows, count));
+        }
+
+        return new TableObject(getColumnNames(), gathered);
+    }
+
+    @Override
+    public Iterator<EvaluatedObject> iterator() {
+        return new Iterator<>() {
+            private int row = 0;
+
+            @Override
+            public boolean hasNext() {
+                return row < rowCount;
+            }
+
+            @Override
+            public EvaluatedObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return getRow(row++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        List<String> columnDescriptions = new ArrayList<>();
+
+        for (int i = 0; i < columns.size(); i++) {
+            columnDescriptions.add(String.format("%s: %s", getColumnNames().get(i), columns.get(i).getType().name().toLowerCase()));
+        }
+
+        return String.format("table(%s; %d rows)", String.join(", ", columnDescriptions), rowCount);
+    }
+}
@@ -0,0 +1,70 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Handle of a function running on its own thread. The task completes with the result of the function, or with an
+ * {@link ErrorObject} if the function fails or is cancelled; the result is kept, so a task can be awaited any number
+ * of times.
+ */
+public final class TaskObject implements EvaluatedObject {
+    private final CompletableFuture<EvaluatedObject> result = new CompletableFuture<>();
+    private volatile boolean awaited;
+
+    @Override
+    public ObjectTypes getType() {
+        return ObjectTypes.TASK;
+    }
+
+    /**
+     * Completes the task. Only the first call has an effect.
+     *
+     * @param value the result of the function
+     */
+    public void complete(EvaluatedObject value) {
+        result.complete(value);
+    }
+
+    /**
+     * Waits until the task is complete.
+     *
+     * @return the result of the task
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public EvaluatedObject await() throws InterruptedException {
+        try {
+            EvaluatedObject value = result.get();
+            awaited = true;
+            return value;
+        } catch (ExecutionException e) {
+            // the result is only completed with a value
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Waits until the task is complete, ignoring the interrupts.
+     *
+     * @return the result of the task
+     */
+    public EvaluatedObject join() {
+        return result.join();
+    }
+
+    /**
+     * @return {@code true} if the result has been returned by {@link #await()}
+     */
+    public boolean isAwaited() {
+        return awaited;
+    }
+
+    @Override
+    public String toString() {
+        if (!result.isDone()) {
+            return "task(running)";
+        }
+
+        return result.join() instanceof ErrorObject ? "task(failed)" : "task(done)";
+    }
+}
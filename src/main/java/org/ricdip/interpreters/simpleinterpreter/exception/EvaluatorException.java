@@ -0,0 +1,11 @@
+package org.ricdip.interpreters.simpleinterpreter.exception;
+
+public class EvaluatorException extends RuntimeException {
+    public EvaluatorException(String message) {
+        super(message);
+    }
+
+    public EvaluatorException(String message, Object... args) {
+        super(String.format(message, args));
+    }
+}
@@ -0,0 +1,7 @@
+package org.ricdip.interpreters.simpleinterpreter.exception;
+
+public class LexerException extends RuntimeException {
+    public LexerException(String message) {
+        super(message);
+    }
+}
@@ -1,46 +1,105 @@
 package org.ricdip.interpreters.simpleinterpreter.lexer;
 
 import lombok.NonNull;
+import org.ricdip.interpreters.simpleinterpreter.exception.LexerException;
 import org.ricdip.interpreters.simpleinterpreter.symbol.Keyword;
 import org.ricdip.interpreters.simpleinterpreter.symbol.Symbol;
 import org.ricdip.interpreters.simpleinterpreter.token.Token;
 import org.ricdip.interpreters.simpleinterpreter.token.TokenType;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+/**
+ * Converts a sequence of characters into a sequence of tokens. A lexer over a {@link String} reads its characters in
+ * place; a lexer over a {@link Reader} or a {@link ReadableByteChannel} reads them from a buffer of
+ * {@value #BUFFER_SIZE} characters, refilled when it is consumed, so the memory used does not depend on the length of
+ * the input. The lexer does not close the reader or the channel.
+ */
 public class Lexer implements Iterator<Token> {
+    private static final int BUFFER_SIZE = 8192;
+
+    // exactly one of input and reader is not null
     private final String input;
+    private final Reader reader;
+    private final char[] buffer;
+    // position of the next character in the input or in the buffer
+    private int position;
+    private int bufferLimit;
+    private boolean endOfInput;
     private char currentChar;
     private char peekChar;
-    private int peekPosition;
 
     public Lexer(@NonNull String input) {
-        // remove leading and trailing white space from input
-        this.input = input.strip();
-        this.peekPosition = -1;
+        this(input, null);
+    }
+
+    public Lexer(@NonNull Reader reader) {
+        this(null, reader);
+    }
+
+    /**
+     * Creates a lexer over the UTF-8 text read from a channel. Malformed UTF-8 sequences are replaced by U+FFFD.
+     */
+    public Lexer(@NonNull ReadableByteChannel channel) {
+        this(Channels.newReader(channel, StandardCharsets.UTF_8));
+    }
+
+    private Lexer(String input, Reader reader) {
+        this.input = input;
+        this.reader = reader;
+        this.buffer = reader != null ? new char[BUFFER_SIZE] : null;
 
         // prepare lexer before starting
         readCharSkipWhitespace();
     }
 
     private void readChar(boolean skipWhitespaces) {
-        peekPosition += 1;
-
-        if (peekChar == Symbol.EOF && peekPosition >= input.length()) {
-            return;
-        }
+        do {
+            if (peekChar == Symbol.EOF && endOfInput) {
+                return;
+            }
 
-        if (peekPosition >= input.length()) {
-            currentChar = peekChar;
-            peekChar = Symbol.EOF;
-        } else {
             currentChar = peekChar;
-            peekChar = input.charAt(peekPosition);
+            peekChar = readInputChar();
+        } while (Character.isWhitespace(currentChar) && skipWhitespaces);
+    }
+
+    /**
+     * @return the next character of the input, or {@link Symbol#EOF} at the end of the input
+     */
+    private char readInputChar() {
+        if (input != null ? position == input.length() : position == bufferLimit && !fillBuffer()) {
+            endOfInput = true;
+            return Symbol.EOF;
         }
 
-        if (Character.isWhitespace(currentChar) && skipWhitespaces) {
-            readChar(skipWhitespaces);
+        return input != null ? input.charAt(position++) : buffer[position++];
+    }
+
+    /**
+     * Reads the next characters of the reader in the buffer.
+     *
+     * @return false at the end of the input
+     */
+    private boolean fillBuffer() {
+        try {
+            int count;
+
+            do {
+                count = reader.read(buffer);
+            } while (count == 0);
+
+            position = 0;
+            bufferLimit = Math.max(count, 0);
+            return count > 0;
+        } catch (IOException e) {
+            throw new LexerException("An error occurred while reading the input: " + e.getMessage());
         }
     }
 
@@ -54,6 +113,11 @@ public class Lexer implements Iterator<Token> {
 
     @Override
     public boolean hasNext() {
+        // the white space before the next token is skipped, so the input does not end with a token made of it
+        while (Character.isWhitespace(peekChar)) {
+            peekChar = readInputChar();
+        }
+
         return peekChar != Symbol.EOF;
     }
 
@@ -69,6 +133,10 @@ public class Lexer implements Iterator<Token> {
                     if (peekChar == Symbol.PLUS) {
                         token = new Token(TokenType.INCREMENT, String.valueOf(currentChar) + peekChar);
                         readCharSkipWhitespace();
+                    } else if (peekChar == Symbol.EQUAL) {
+                        // +=
+                        token = new Token(TokenType.PLUS_ASSIGN, String.valueOf(currentChar) + peekChar);
+                        readCharSkipWhitespace();
                     } else {
                         token = new Token(TokenType.PLUS, String.valueOf(currentChar));
                     }
@@ -77,6 +145,10 @@ public class Lexer implements Iterator<Token> {
                     if (peekChar == Symbol.MINUS) {
                         token = new Token(TokenType.DECREMENT, String.valueOf(currentChar) + peekChar);
                         readCharSkipWhitespace();
+                    } else if (peekChar == Symbol.EQUAL) {
+                        // -=
+                        token = new Token(TokenType.MINUS_ASSIGN, String.valueOf(currentChar) + peekChar);
+                        readCharSkipWhitespace();
                     } else {
                         token = new Token(TokenType.MINUS, String.valueOf(currentChar));
                     }
@@ -127,6 +199,24 @@ public class Lexer implements Iterator<Token> {
                         token = new Token(TokenType.GT, String.valueOf(currentChar));
                     }
                     break;
+                case Symbol.AMPERSAND:
+                    if (peekChar == Symbol.AMPERSAND) {
+                        // &&
+                        token = new Token(TokenType.AND, String.valueOf(currentChar) + peekChar);
+                        readCharSkipWhitespace();
+                    } else {
+                        token = new Token(TokenType.ILLEGAL, String.valueOf(currentChar));
+                    }
+                    break;
+                case Symbol.PIPE:
+                    if (peekChar == Symbol.PIPE) {
+                        // ||
+                        token = new Token(TokenType.OR, String.valueOf(currentChar) + peekChar);
+                        readCharSkipWhitespace();
+                    } else {
+                        token = new Token(TokenType.ILLEGAL, String.valueOf(currentChar));
+                    }
+                    break;
                 // parenthesis
                 case Symbol.LPAREN:
                     token = new Token(TokenType.LPAREN, String.valueOf(currentChar));
@@ -150,6 +240,12 @@ public class Lexer implements Iterator<Token> {
                 case Symbol.COMMA:
                     token = new Token(TokenType.COMMA, String.valueOf(currentChar));
                     break;
+                case Symbol.COLON:
+                    token = new Token(TokenType.COLON, String.valueOf(currentChar));
+                    break;
+                case Symbol.DOT:
+                    token = new Token(TokenType.DOT, String.valueOf(currentChar));
+                    break;
                 case Symbol.DQUOTE:
                     token = readString();
                     break;
@@ -4,15 +4,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.ricdip.interpreters.simpleinterpreter.Constants;
 import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
 
-import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.util.Scanner;
 
 public final class RLPL {
     private RLPL() {
     }
 
-    public static void start(InputStream in, PrintWriter out) {
+    public static void start(Reader in, PrintWriter out) {
         Scanner scanner = new Scanner(in);
         while (true) {
             Utils.print(out, Constants.PROMPT);
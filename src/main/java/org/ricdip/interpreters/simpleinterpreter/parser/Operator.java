@@ -19,10 +19,16 @@ public enum Operator {
     NEQ(TokenType.NEQ, Symbol.NEG + String.valueOf(Symbol.EQUAL)),
     LTEQ(TokenType.LTEQ, Symbol.LT + String.valueOf(Symbol.EQUAL)),
     GTEQ(TokenType.GTEQ, Symbol.GT + String.valueOf(Symbol.EQUAL)),
+    AND(TokenType.AND, Symbol.AMPERSAND + String.valueOf(Symbol.AMPERSAND)),
+    OR(TokenType.OR, Symbol.PIPE + String.valueOf(Symbol.PIPE)),
     CALL(TokenType.LPAREN, Symbol.LPAREN),
     INDEX(TokenType.LSQUARE, Symbol.LSQUARE),
+    MEMBER(TokenType.DOT, Symbol.DOT),
     INCREMENT(TokenType.INCREMENT, Symbol.PLUS + String.valueOf(Symbol.PLUS)),
-    DECREMENT(TokenType.DECREMENT, Symbol.MINUS + String.valueOf(Symbol.MINUS));
+    DECREMENT(TokenType.DECREMENT, Symbol.MINUS + String.valueOf(Symbol.MINUS)),
+    ASSIGN(TokenType.ASSIGN, Symbol.EQUAL),
+    PLUS_ASSIGN(TokenType.PLUS_ASSIGN, Symbol.PLUS + String.valueOf(Symbol.EQUAL)),
+    MINUS_ASSIGN(TokenType.MINUS_ASSIGN, Symbol.MINUS + String.valueOf(Symbol.EQUAL));
 
     private final TokenType tokenType;
     private final String symbols;
@@ -50,8 +56,13 @@ public enum Operator {
             case NEQ -> Optional.of(Operator.NEQ);
             case LTEQ -> Optional.of(Operator.LTEQ);
             case GTEQ -> Optional.of(Operator.GTEQ);
+            case AND -> Optional.of(Operator.AND);
+            case OR -> Optional.of(Operator.OR);
             case INCREMENT -> Optional.of(Operator.INCREMENT);
             case DECREMENT -> Optional.of(Operator.DECREMENT);
+            case ASSIGN -> Optional.of(Operator.ASSIGN);
+            case PLUS_ASSIGN -> Optional.of(Operator.PLUS_ASSIGN);
+            case MINUS_ASSIGN -> Optional.of(Operator.MINUS_ASSIGN);
             default -> Optional.empty();
         };
     }
@@ -29,6 +29,10 @@ public class Parser {
     private final Map<TokenType, Precedence> operatorPrecedenceMap = new HashMap<>();
     private Token currentToken;
     private Token peekToken;
+    // the statements parsed are in the body of a function
+    private boolean insideFunction;
+    // a yield statement has been parsed in the body of the current function
+    private boolean yieldFound;
 
     public Parser(@NonNull Lexer lexer) {
         this.lexer = lexer;
@@ -45,6 +49,7 @@ public class Parser {
         prefixParseFunctionMap.put(TokenType.FUNCTION, this::parseFunctionExpression);
         prefixParseFunctionMap.put(TokenType.LSQUARE, this::parseArrayExpression);
         prefixParseFunctionMap.put(TokenType.STRING, this::parseStringExpression);
+        prefixParseFunctionMap.put(TokenType.LBRACE, this::parseRecordExpression);
 
         // infix parse function table
         infixParseFunctionMap.put(TokenType.PLUS, this::parseExpressionInfix);
@@ -57,14 +62,25 @@ public class Parser {
         infixParseFunctionMap.put(TokenType.NEQ, this::parseExpressionInfix);
         infixParseFunctionMap.put(TokenType.LTEQ, this::parseExpressionInfix);
         infixParseFunctionMap.put(TokenType.GTEQ, this::parseExpressionInfix);
+        infixParseFunctionMap.put(TokenType.AND, this::parseExpressionInfix);
+        infixParseFunctionMap.put(TokenType.OR, this::parseExpressionInfix);
         infixParseFunctionMap.put(TokenType.LPAREN, this::parseCallExpression);
         infixParseFunctionMap.put(TokenType.LSQUARE, this::parseIndexExpression);
+        infixParseFunctionMap.put(TokenType.DOT, this::parseMemberExpression);
+        infixParseFunctionMap.put(TokenType.ASSIGN, this::parseAssignExpression);
+        infixParseFunctionMap.put(TokenType.PLUS_ASSIGN, this::parseAssignExpression);
+        infixParseFunctionMap.put(TokenType.MINUS_ASSIGN, this::parseAssignExpression);
 
         // postfix parse function table
         postfixParseFunctionMap.put(TokenType.INCREMENT, this::parseExpressionPostfix);
         postfixParseFunctionMap.put(TokenType.DECREMENT, this::parseExpressionPostfix);
 
         // operator precedence map for expressions
+        operatorPrecedenceMap.put(Operator.ASSIGN.getTokenType(), Precedence.ASSIGNMENT);
+        operatorPrecedenceMap.put(Operator.PLUS_ASSIGN.getTokenType(), Precedence.ASSIGNMENT);
+        operatorPrecedenceMap.put(Operator.MINUS_ASSIGN.getTokenType(), Precedence.ASSIGNMENT);
+        operatorPrecedenceMap.put(Operator.OR.getTokenType(), Precedence.LOGICAL_OR);
+        operatorPrecedenceMap.put(Operator.AND.getTokenType(), Precedence.LOGICAL_AND);
         operatorPrecedenceMap.put(Operator.LT.getTokenType(), Precedence.COMPARISON);
         operatorPrecedenceMap.put(Operator.GT.getTokenType(), Precedence.COMPARISON);
         operatorPrecedenceMap.put(Operator.EQ.getTokenType(), Precedence.COMPARISON);
@@ -77,6 +93,7 @@ public class Parser {
         operatorPrecedenceMap.put(Operator.SLASH.getTokenType(), Precedence.MULTIPLICATION);
         operatorPrecedenceMap.put(Operator.CALL.getTokenType(), Precedence.CALL);
         operatorPrecedenceMap.put(Operator.INDEX.getTokenType(), Precedence.INDEX);
+        operatorPrecedenceMap.put(Operator.MEMBER.getTokenType(), Precedence.MEMBER);
         operatorPrecedenceMap.put(Operator.INCREMENT.getTokenType(), Precedence.POSTFIX);
         operatorPrecedenceMap.put(Operator.DECREMENT.getTokenType(), Precedence.POSTFIX);
 
@@ -133,6 +150,10 @@ public class Parser {
                 return parseReturnStatement();
             case WHILE:
                 return parseWhileStatement();
+            case FOR:
+                return parseForStatement();
+            case YIELD:
+                return parseYieldStatement();
             default:
                 return parseExpressionStatement();
         }
@@ -242,10 +263,10 @@ public class Parser {
             return null;
         }
 
-        int value = 0;
+        long value = 0;
 
         try {
-            value = Integer.parseInt(currentToken.getLexeme());
+            value = Long.parseLong(currentToken.getLexeme());
         } catch (NumberFormatException e) {
             addError("not valid integer in current token: %s", currentToken);
             return null;
@@ -423,9 +444,19 @@ public class Parser {
 
         nextToken(); // ) -> {
 
+        // the yield statements of a nested function do not make the enclosing one a generator
+        boolean outerInsideFunction = insideFunction;
+        boolean outerYieldFound = yieldFound;
+        insideFunction = true;
+        yieldFound = false;
+
         BlockStatement functionBody = parseBlockStatement();
+        boolean generator = yieldFound;
+
+        insideFunction = outerInsideFunction;
+        yieldFound = outerYieldFound;
 
-        return new FunctionExpression(parameters, functionBody);
+        return new FunctionExpression(parameters, functionBody, generator);
     }
 
     /**
@@ -547,6 +578,32 @@ public class Parser {
         return new ReturnStatement(expression);
     }
 
+    /**
+     * Parses a yield statement: {@code yield <expression>}. It can only appear in the body of a function, that
+     * becomes a generator function.
+     *
+     * @return the parsed {@link YieldStatement}
+     */
+    private YieldStatement parseYieldStatement() {
+        if (!expectToken(currentToken, TokenType.YIELD)) {
+            addUnexpectedTokenError(TokenType.YIELD);
+            return null;
+        }
+
+        if (!insideFunction) {
+            // the expression is still parsed, so the following statements are parsed from the right token
+            addError("yield outside of a function");
+        }
+
+        yieldFound = true;
+
+        nextToken(); // yield -> expression
+
+        Expression expression = parseExpression(Precedence.LOWEST);
+
+        return new YieldStatement(expression);
+    }
+
     /**
      * Parses an array expression: {@code [<expression>, ...]}
      *
@@ -622,6 +679,131 @@ public class Parser {
         return new StringExpression(currentToken.getLexeme());
     }
 
+    /**
+     * Parses a record expression: {@code {<identifier>: <expression>, ...}}
+     *
+     * @return the parsed {@link RecordExpression}
+     */
+    private RecordExpression parseRecordExpression() {
+        if (!expectToken(currentToken, TokenType.LBRACE)) {
+            addUnexpectedTokenError(TokenType.LBRACE);
+            return null;
+        }
+
+        List<IdentifierExpression> fieldNames = new ArrayList<>();
+        List<Expression> fieldValues = new ArrayList<>();
+
+        // parse record fields
+        if (!TokenType.RBRACE.equals(peekToken.getType())) {
+            nextToken(); // { -> identifier
+
+            if (!parseRecordField(fieldNames, fieldValues)) {
+                return null;
+            }
+
+            while (TokenType.COMMA.equals(peekToken.getType())) {
+                nextToken(); // expression -> ,
+                nextToken(); // , -> identifier
+
+                if (!parseRecordField(fieldNames, fieldValues)) {
+                    return null;
+                }
+            }
+        }
+
+        nextToken(); // fields -> }
+
+        if (!TokenType.RBRACE.equals(currentToken.getType())) {
+            addUnexpectedTokenError(TokenType.RBRACE);
+            return null;
+        }
+
+        return new RecordExpression(fieldNames, fieldValues);
+    }
+
+    /**
+     * Parses a record field: {@code <identifier>: <expression>}. Used by RecordExpression.
+     *
+     * @param fieldNames  the {@link List} where the parsed field name is added
+     * @param fieldValues the {@link List} where the parsed field value is added
+     * @return {@code true} if the field was parsed, {@code false} otherwise
+     */
+    private boolean parseRecordField(List<IdentifierExpression> fieldNames, List<Expression> fieldValues) {
+        IdentifierExpression fieldName = parseIdentifierExpression();
+
+        if (fieldName == null) {
+            return false;
+        } else if (fieldNames.contains(fieldName)) {
+            addError("Duplicate record field '%s'", fieldName);
+            return false;
+        }
+
+        nextToken(); // identifier -> :
+
+        if (!expectToken(currentToken, TokenType.COLON)) {
+            addUnexpectedTokenError(TokenType.COLON);
+            return false;
+        }
+
+        nextToken(); // : -> expression
+
+        fieldNames.add(fieldName);
+        fieldValues.add(parseExpression(Precedence.LOWEST));
+
+        return true;
+    }
+
+    /**
+     * Parses a member expression: {@code <expression>.<identifier>}
+     *
+     * @param left the left-hand side of the member expression
+     * @return the parsed {@link MemberExpression}
+     */
+    private MemberExpression parseMemberExpression(Expression left) {
+        nextToken(); // . -> identifier
+
+        IdentifierExpression member = parseIdentifierExpression();
+
+        if (member == null) {
+            return null;
+        }
+
+        return new MemberExpression(left, member);
+    }
+
+    /**
+     * Parses an assignment expression: {@code <target> = <expression>}, {@code <target> += <expression>} or
+     * {@code <target> -= <expression>}, where the target is an identifier, an index expression or a member expression.
+     * The assignment is right associative: {@code a = b = 1} assigns {@code 1} to both {@code b} and {@code a}.
+     *
+     * @param left the target of the assignment
+     * @return the created {@link AssignExpression}
+     */
+    private AssignExpression parseAssignExpression(Expression left) {
+        Optional<Operator> optionalOperator = Operator.fromToken(currentToken.getType());
+
+        if (optionalOperator.isEmpty()) {
+            addError("current token %s is not a valid operator", currentToken);
+            return null;
+        }
+
+        if (!(left instanceof IdentifierExpression || left instanceof IndexExpression || left instanceof MemberExpression)) {
+            addError("Invalid assignment target: %s", left);
+            return null;
+        }
+
+        nextToken(); // operator -> value
+
+        // parsing the value with the lowest precedence makes the assignment right associative
+        Expression value = parseExpression(Precedence.LOWEST);
+
+        if (value == null) {
+            return null;
+        }
+
+        return new AssignExpression(left, optionalOperator.get(), value);
+    }
+
     /**
      * Parses a postfix expression: {@code x++}
      *
@@ -675,6 +857,57 @@ public class Parser {
         return new WhileStatement(condition, whileBlock);
     }
 
+    /**
+     * Parses a for statement: {@code for (<identifier> in <expression>) <block-statement> }
+     *
+     * @return the created {@link ForStatement}
+     */
+    private ForStatement parseForStatement() {
+        if (!expectToken(currentToken, TokenType.FOR)) {
+            addUnexpectedTokenError(TokenType.FOR);
+            return null;
+        }
+
+        nextToken(); // for -> (
+
+        if (!expectToken(currentToken, TokenType.LPAREN)) {
+            addUnexpectedTokenError(TokenType.LPAREN);
+            return null;
+        }
+
+        nextToken(); // ( -> identifier
+
+        IdentifierExpression variable = parseIdentifierExpression();
+
+        if (variable == null) {
+            return null;
+        }
+
+        nextToken(); // identifier -> in
+
+        if (!expectToken(currentToken, TokenType.IN)) {
+            addUnexpectedTokenError(TokenType.IN);
+            return null;
+        }
+
+        nextToken(); // in -> iterable expression
+
+        Expression iterable = parseExpression(Precedence.LOWEST);
+
+        nextToken(); // expression -> )
+
+        if (!expectToken(currentToken, TokenType.RPAREN)) {
+            addUnexpectedTokenError(TokenType.RPAREN);
+            return null;
+        }
+
+        nextToken(); // ) -> {
+
+        BlockStatement forBlock = parseBlockStatement();
+
+        return new ForStatement(variable, iterable, forBlock);
+    }
+
     private boolean expectToken(Token token, TokenType tokenType) {
         return tokenType.equals(token.getType());
     }
@@ -2,11 +2,15 @@ package org.ricdip.interpreters.simpleinterpreter.parser;
 
 public enum Precedence {
     LOWEST,
+    ASSIGNMENT,
+    LOGICAL_OR,
+    LOGICAL_AND,
     COMPARISON,
     SUMMATION,
     MULTIPLICATION,
     PREFIX,
     POSTFIX,
     CALL,
-    INDEX
+    INDEX,
+    MEMBER
 }
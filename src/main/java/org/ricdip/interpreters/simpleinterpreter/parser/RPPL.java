@@ -6,8 +6,8 @@ import org.ricdip.interpreters.simpleinterpreter.lexer.Lexer;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.impl.Program;
 import org.ricdip.interpreters.simpleinterpreter.utils.Utils;
 
-import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.util.Optional;
 import java.util.Scanner;
 
@@ -15,7 +15,7 @@ public final class RPPL {
     private RPPL() {
     }
 
-    public static void start(InputStream in, PrintWriter out) {
+    public static void start(Reader in, PrintWriter out) {
         Scanner scanner = new Scanner(in);
         String line = "";
 
@@ -0,0 +1,22 @@
+package org.ricdip.interpreters.simpleinterpreter.parser.ast.impl;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.ricdip.interpreters.simpleinterpreter.parser.Operator;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Expression;
+
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class AssignExpression implements Expression {
+    // identifier, index expression or member expression
+    private final Expression target;
+    private final Operator operator;
+    private final Expression value;
+
+    @Override
+    public String toString() {
+        return String.format("(%s %s %s)", target, operator.getSymbols(), value);
+    }
+}
@@ -0,0 +1,27 @@
+package org.ricdip.interpreters.simpleinterpreter.parser.ast.impl;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Expression;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Statement;
+
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class ForStatement implements Statement {
+    private final IdentifierExpression variable;
+    private final Expression iterable;
+    private final BlockStatement forBlock;
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append(String.format("for (%s in %s) ", variable, iterable));
+
+        stringBuilder.append(forBlock.toString());
+
+        return stringBuilder.toString();
+    }
+}
@@ -13,6 +13,12 @@ import java.util.List;
 public class FunctionExpression implements CallableExpression {
     private final List<IdentifierExpression> formalParameters;
     private final BlockStatement functionBody;
+    // the body contains a yield statement, outside of the nested functions
+    private final boolean generator;
+
+    public FunctionExpression(List<IdentifierExpression> formalParameters, BlockStatement functionBody) {
+        this(formalParameters, functionBody, false);
+    }
 
     @Override
     public String toString() {
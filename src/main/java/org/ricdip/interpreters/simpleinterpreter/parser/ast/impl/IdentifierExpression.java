@@ -3,6 +3,8 @@ package org.ricdip.interpreters.simpleinterpreter.parser.ast.impl;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.builtin.BuiltinRegistry;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.CallableExpression;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.IndexableExpression;
 
@@ -11,6 +13,10 @@ import org.ricdip.interpreters.simpleinterpreter.parser.ast.IndexableExpression;
 @EqualsAndHashCode
 public class IdentifierExpression implements CallableExpression, IndexableExpression {
     private final String value;
+    // builtin function resolved by the evaluator the first time it evaluates this identifier
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private BuiltinRegistry.Binding builtinBinding;
 
     @Override
     public String toString() {
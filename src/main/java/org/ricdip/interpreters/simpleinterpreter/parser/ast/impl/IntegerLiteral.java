@@ -9,7 +9,7 @@ import org.ricdip.interpreters.simpleinterpreter.parser.ast.Expression;
 @Getter
 @EqualsAndHashCode
 public class IntegerLiteral implements Expression {
-    private final Integer value;
+    private final Long value;
 
     @Override
     public String toString() {
@@ -0,0 +1,27 @@
+package org.ricdip.interpreters.simpleinterpreter.parser.ast.impl;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.RecordShape;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.CallableExpression;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Expression;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.IndexableExpression;
+
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class MemberExpression implements CallableExpression, IndexableExpression {
+    private final Expression recordExpression;
+    private final IdentifierExpression member;
+    // inline cache: slot of the member in the shape of the last record accessed by this expression
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private RecordShape.Slot cachedSlot;
+
+    @Override
+    public String toString() {
+        return String.format("%s.%s", recordExpression, member);
+    }
+}
@@ -0,0 +1,34 @@
+package org.ricdip.interpreters.simpleinterpreter.parser.ast.impl;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.RecordShape;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Expression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class RecordExpression implements Expression {
+    private final List<IdentifierExpression> fieldNames;
+    private final List<Expression> fieldValues;
+    // shape shared by all the records created by this literal, resolved on first evaluation
+    @Setter
+    @EqualsAndHashCode.Exclude
+    private RecordShape shape;
+
+    @Override
+    public String toString() {
+        List<String> fields = new ArrayList<>();
+
+        for (int i = 0; i < fieldNames.size(); i++) {
+            fields.add(String.format("%s: %s", fieldNames.get(i), fieldValues.get(i)));
+        }
+
+        return String.format("{%s}", String.join(", ", fields));
+    }
+}
@@ -0,0 +1,19 @@
+package org.ricdip.interpreters.simpleinterpreter.parser.ast.impl;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Expression;
+import org.ricdip.interpreters.simpleinterpreter.parser.ast.Statement;
+
+@RequiredArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class YieldStatement implements Statement {
+    private final Expression yieldValue;
+
+    @Override
+    public String toString() {
+        return String.format("(yield %s)", yieldValue);
+    }
+}
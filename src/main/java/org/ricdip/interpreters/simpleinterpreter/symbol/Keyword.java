@@ -17,6 +17,9 @@ public final class Keyword {
         keywords.put("false", TokenType.FALSE);
         keywords.put("return", TokenType.RETURN);
         keywords.put("while", TokenType.WHILE);
+        keywords.put("for", TokenType.FOR);
+        keywords.put("in", TokenType.IN);
+        keywords.put("yield", TokenType.YIELD);
     }
 
     public static TokenType identify(String identifier) {
@@ -9,6 +9,8 @@ public final class Symbol {
     public static final char NEG = '!';
     public static final char LT = '<';
     public static final char GT = '>';
+    public static final char AMPERSAND = '&';
+    public static final char PIPE = '|';
     public static final char LPAREN = '(';
     public static final char RPAREN = ')';
     public static final char LSQUARE = '[';
@@ -17,6 +19,8 @@ public final class Symbol {
     public static final char RBRACE = '}';
     public static final char UNDERSCORE = '_';
     public static final char COMMA = ',';
+    public static final char COLON = ':';
+    public static final char DOT = '.';
     public static final char DQUOTE = '"';
     public static final char EOF = '\0';
 
@@ -16,8 +16,12 @@ public enum TokenType {
     NEQ, // !=
     LTEQ, // <=
     GTEQ, // >=
+    AND, // &&
+    OR, // ||
     INCREMENT, // ++
     DECREMENT, // --
+    PLUS_ASSIGN, // +=
+    MINUS_ASSIGN, // -=
     // parenthesis
     LPAREN, // (
     RPAREN, // )
@@ -35,8 +39,13 @@ public enum TokenType {
     FALSE, // false
     RETURN, // return
     WHILE, // while
+    FOR, // for
+    IN, // in
+    YIELD, // yield
     // others
     COMMA, // ,
+    COLON, // :
+    DOT, // .
     EOF,
     // not valid
     ILLEGAL
@@ -1,13 +1,14 @@
 package org.ricdip.interpreters.simpleinterpreter.utils;
 
-import org.apache.commons.io.FileUtils;
 import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ErrorObject;
 import org.ricdip.interpreters.simpleinterpreter.evaluator.object.ObjectTypes;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -83,14 +84,87 @@ public final class Utils {
         );
     }
 
-    public static String readProgramFromFile(String filePath) {
-        File file = new File(filePath);
-
+    /**
+     * Opens a program file. The file is read a buffer at a time, and every sequence of line separators is read as one
+     * line separator, so the program has no blank lines.
+     *
+     * @param filePath the path of the UTF-8 file
+     * @return the reader of the program
+     */
+    public static Reader openProgramFile(String filePath) {
         try {
-            // read from file and replace all line separators with one line separator
-            return FileUtils.readFileToString(file, StandardCharsets.UTF_8).replaceAll("\\R+", "\n");
+            return new LineSeparatorsReader(Files.newBufferedReader(Path.of(filePath), StandardCharsets.UTF_8));
         } catch (IOException e) {
             throw new RuntimeException("An error occurred during file reading", e);
         }
     }
+
+    /**
+     * Returns true for the characters matched by the {@code \R} regular expression.
+     */
+    private static boolean isLineSeparator(char character) {
+        return switch (character) {
+            case '\n', '\u000B', '\u000C', '\r', '\u0085', '\u2028', '\u2029' -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Reader that replaces every sequence of line separators with one line separator.
+     */
+    private static final class LineSeparatorsReader extends Reader {
+        private final Reader in;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        // line separators have been read and their line separator has not been returned yet
+        private boolean separator;
+
+        LineSeparatorsReader(Reader in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read(char[] characters, int offset, int length) throws IOException {
+            int count = 0;
+
+            while (count < length) {
+                if (position == limit) {
+                    // the reader waits for more characters only if it has nothing to return
+                    if (count > 0) {
+                        break;
+                    }
+
+                    limit = Math.max(in.read(buffer), 0);
+                    position = 0;
+
+                    if (limit == 0) {
+                        if (!separator) {
+                            return -1;
+                        }
+
+                        separator = false;
+                        characters[offset] = '\n';
+                        return 1;
+                    }
+                } else if (isLineSeparator(buffer[position])) {
+                    separator = true;
+                    position++;
+                } else if (separator) {
+                    // the character is returned after the line separator
+                    separator = false;
+                    characters[offset + count++] = '\n';
+                } else {
+                    characters[offset + count++] = buffer[position++];
+                }
+            }
+
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
 }
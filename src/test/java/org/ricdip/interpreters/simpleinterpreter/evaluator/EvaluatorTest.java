@@ -1,18 +1,31 @@
 package org.ricdip.interpreters.simpleinterpreter.evaluator;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.builtin.BuiltinModule;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.builtin.BuiltinRegistry;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.BuiltinFunction;
 import org.ricdip.interpreters.simpleinterpreter.evaluator.object.EvaluatedObject;
+import org.ricdip.interpreters.simpleinterpreter.evaluator.object.IntegerObject;
+import org.ricdip.interpreters.simpleinterpreter.exception.EvaluatorException;
 import org.ricdip.interpreters.simpleinterpreter.lexer.Lexer;
 import org.ricdip.interpreters.simpleinterpreter.parser.Parser;
 import org.ricdip.interpreters.simpleinterpreter.parser.ast.impl.Program;
 
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 class EvaluatorTest {
+    // files created anew by every run
+    @TempDir
+    private static Path tempDirectory;
+
     @ParameterizedTest
     @MethodSource("provideInput")
     void validInput(String inputString, String expectedOutput) {
@@ -35,6 +48,31 @@ class EvaluatorTest {
         );
     }
 
+    @Test
+    void moduleFunction() {
+        BuiltinModule module = BuiltinModule.of("native", new BuiltinFunction(
+                "twice",
+                (evaluator, args) -> IntegerObject.valueOf(2 * ((IntegerObject) args[0]).getValue()),
+                "twice(x -> integer) -> integer"
+        ));
+        Evaluator evaluator = new Evaluator(BuiltinRegistry.of(List.of(module)));
+        Program program = new Parser(new Lexer("let a = twice(21) let twice = fn(x) { x } a + twice(1)")).parse().orElseThrow();
+
+        Assertions.assertEquals("43", evaluator.eval(program, new Environment()).toString());
+    }
+
+    @Test
+    void moduleFunctionNameAlreadyRegistered() {
+        BuiltinModule module = BuiltinModule.of("native", new BuiltinFunction("len", (evaluator, args) -> args[0], "len"));
+
+        Exception e = Assertions.assertThrows(EvaluatorException.class, () -> BuiltinRegistry.of(List.of(module)));
+        Assertions.assertEquals("Cannot register builtin function 'len' of module native: name already registered", e.getMessage());
+    }
+
+    private static String tempFilePath(String name) {
+        return tempDirectory.resolve(name).toString().replace('\\', '/');
+    }
+
     private static Stream<Arguments> provideInput() {
         return Stream.of(
                 // let statement
@@ -820,7 +858,1076 @@ class EvaluatorTest {
                         fact(5)
                         """, """
                         120
-                        """)
+                        """),
+                // records
+                Arguments.of("""
+                        {x: 1, y: "a"}
+                        """, """
+                        {x: 1, y: "a"}
+                        """),
+                Arguments.of("""
+                        let p = {x: 1, y: 2 * 3}
+                        
+                        p.x + p.y
+                        """, """
+                        7
+                        """),
+                Arguments.of("""
+                        let norm = fn(p) { p.x * p.x + p.y * p.y }
+                        let points = [{x: 1, y: 2}, {y: 3, x: 4}, {x: 5, y: 6}]
+                        
+                        norm(points[0]) + norm(points[1]) + norm(points[2])
+                        """, """
+                        91
+                        """),
+                Arguments.of("""
+                        let p = {inc: fn(x) { x + 1 }, values: [1, 2, 3]}
+                        
+                        p.inc(p.values[2])
+                        """, """
+                        4
+                        """),
+                Arguments.of("""
+                        let p = {x: 1}
+                        
+                        p.y
+                        """, """
+                        Record has no field 'y'
+                        """),
+                // ranges
+                Arguments.of("""
+                        range(1, 10, 2)
+                        """, """
+                        range(1, 10, 2)
+                        """),
+                Arguments.of("""
+                        len(range(10, 0, -3))
+                        """, """
+                        4
+                        """),
+                Arguments.of("""
+                        let r = range(5)
+                        
+                        r[1] + r[-1]
+                        """, """
+                        5
+                        """),
+                Arguments.of("""
+                        let r = range(-2147483648, 2147483647)
+                        let firstOf = fn(iterable) { for (x in iterable) { return x } }
+                        let result = [len(r), r[-1], firstOf(r)]
+                        
+                        result
+                        """, """
+                        [4294967295,2147483646,-2147483648]
+                        """),
+                Arguments.of("""
+                        let big = range(3000000000)
+                        let top = range(9223372036854775800, 9223372036854775807, 3)
+                        let halves = range(9223372036854775807, -9223372036854775807 - 1, -9223372036854775807 - 1)
+                        let result = [len(big), big[-1], len(top), top[-1], map(halves, fn(x) { x })]
+                        
+                        result
+                        """, """
+                        [3000000000,2999999999,3,9223372036854775806,[9223372036854775807,-1]]
+                        """),
+                Arguments.of("""
+                        range(-9223372036854775807 - 1, 9223372036854775807)
+                        """, """
+                        Range too large: must have at most 9223372036854775807 elements
+                        """),
+                Arguments.of("""
+                        pmap(range(-2147483648, 2147483647), fn(x) { x })
+                        """, """
+                        Range too large: 4294967295 elements, must be at most 2147483647
+                        """),
+                // for statement
+                Arguments.of("""
+                        let sum = fn(iterable) {
+                            let total = 0
+                            for (x in iterable) {
+                                let total = total + x
+                            }
+                            total
+                        }
+                        
+                        sum(range(1, 101)) + sum([1, 2, 3]) + sum(range(10, 0, -3))
+                        """, """
+                        5078
+                        """),
+                Arguments.of("""
+                        let word = ""
+                        
+                        for (c in "abc") {
+                            let word = push(word, c)
+                        }
+                        
+                        word
+                        """, """
+                        "cba"
+                        """),
+                Arguments.of("""
+                        let indexOf = fn(array, value) {
+                            for (i in range(len(array))) {
+                                if (array[i] == value) {
+                                    return i
+                                }
+                            }
+                            -1
+                        }
+                        
+                        indexOf([5, 6, 7], 7)
+                        """, """
+                        2
+                        """),
+                Arguments.of("""
+                        for (x in 5) { x }
+                        """, """
+                        Cannot iterate over non-iterable object: INTEGER
+                        """),
+                // lazy sequences
+                Arguments.of("""
+                        let squares = map(range(1, 1000000000), fn(x) { x * x })
+                        
+                        take(filter(squares, fn(x) { x / 2 * 2 == x }), 3)
+                        """, """
+                        [4,16,36]
+                        """),
+                Arguments.of("""
+                        let evens = filter([1, 2, 3, 4, 5, 6], fn(x) { x / 2 * 2 == x })
+                        
+                        len(evens) + evens[-1]
+                        """, """
+                        9
+                        """),
+                Arguments.of("""
+                        reduce(map(range(1, 5), fn(x) { x * 10 }), fn(total, x) { total + x }, 0)
+                        """, """
+                        100
+                        """),
+                Arguments.of("""
+                        zip([1, 2, 3], "ab")
+                        """, """
+                        [[1,"a"],[2,"b"]]
+                        """),
+                Arguments.of("""
+                        map(["a", "bc"], len)
+                        """, """
+                        [1,2]
+                        """),
+                Arguments.of("""
+                        reduce(map([1, 2], fn(x) { x + true }), fn(total, x) { total + x }, 0)
+                        """, """
+                        Cannot solve infix expression INTEGER + BOOLEAN
+                        """),
+                Arguments.of("""
+                        len(filter([1], fn(x) { x }))
+                        """, """
+                        Filter function must return a BOOLEAN
+                        """),
+                Arguments.of("""
+                        let take = fn(x) { x + 1 }
+                        
+                        take(1)
+                        """, """
+                        2
+                        """),
+                // assignment
+                Arguments.of("""
+                        let histogram = [0, 0, 0]
+                        
+                        for (x in [0, 2, 2, 1, 2]) {
+                            histogram[x] += 1
+                        }
+                        
+                        histogram[-1] -= 1
+                        histogram
+                        """, """
+                        [1,1,2]
+                        """),
+                Arguments.of("""
+                        let counter = 0
+                        let increment = fn() { counter += 1 }
+                        
+                        increment()
+                        increment()
+                        counter
+                        """, """
+                        2
+                        """),
+                Arguments.of("""
+                        let a = [1, 2]
+                        let b = a
+                        let clear = fn() { a[0] = 0 a[1] = 0 }
+                        
+                        clear()
+                        b
+                        """, """
+                        [0,0]
+                        """),
+                Arguments.of("""
+                        let a = 1
+                        let b = 2
+                        
+                        a = b = 5
+                        a + b
+                        """, """
+                        10
+                        """),
+                Arguments.of("""
+                        let p = {x: 1, y: 2}
+                        
+                        p.y += 40
+                        p
+                        """, """
+                        {x: 1, y: 42}
+                        """),
+                Arguments.of("""
+                        let a = [1, 2, 3]
+                        let b = rest(a)
+                        
+                        b[0] = 9
+                        a
+                        """, """
+                        [1,2,3]
+                        """),
+                Arguments.of("""
+                        x = 1
+                        """, """
+                        Cannot assign to x: not declared
+                        """),
+                Arguments.of("""
+                        let a = [1]
+                        
+                        a[1] = 2
+                        """, """
+                        Array index out of bounds: size 1, got 1
+                        """),
+                Arguments.of("""
+                        let s = "ab"
+                        
+                        s[0] = "c"
+                        """, """
+                        Cannot assign to index of STRING: not an ARRAY or BYTES
+                        """),
+                // off-heap arrays
+                Arguments.of("""
+                        let a = directArray(4)
+                        
+                        a[1] = 7
+                        a[-1] += 3
+                        let result = [a, len(a), first(a), rest(a)]
+                        result
+                        """, """
+                        [[0,7,0,3],4,0,[7,0,3]]
+                        """),
+                Arguments.of("""
+                        let path = "%s"
+                        let written = createMappedArray(path, 3, "little")
+                        
+                        for (i in range(3)) {
+                            written[i] = i * 100
+                        }
+                        
+                        let mapped = mapArray(path, "little")
+                        let result = [mapped, rest(mapped)]
+                        result
+                        """.formatted(Path.of(System.getProperty("java.io.tmpdir"), "evaluator-test-ints.bin").toString().replace('\\', '/')), """
+                        [[0,100,200],[100,200]]
+                        """),
+                Arguments.of("""
+                        let a = directArray(3)
+                        
+                        for (i in range(3)) {
+                            a[i] = i + 1
+                        }
+                        
+                        let r = rest(a)
+                        let s = rest(a)
+                        
+                        r[0] = 20
+                        a[2] = 30
+                        
+                        let result = [a, r, s, rest(r)]
+                        result
+                        """, """
+                        [[1,2,30],[20,3],[2,3],[3]]
+                        """),
+                Arguments.of("""
+                        let path = "%s"
+                        let written = createMappedArray(path, 3)
+                        let r = rest(written)
+                        
+                        written[2] = 5
+                        
+                        let result = [mapArray(path), r]
+                        result
+                        """.formatted(tempFilePath("evaluator-test-cow.bin")), """
+                        [[0,0,5],[0,0]]
+                        """),
+                Arguments.of("""
+                        let a = directArray(2)
+                        
+                        a[0] = "x"
+                        """, """
+                        Cannot store STRING in an integer array
+                        """),
+                Arguments.of("""
+                        pop(directArray(2))
+                        """, """
+                        Cannot change the size of an off-heap array
+                        """),
+                // bytes
+                Arguments.of("""
+                        let b = bytes(8)
+                        
+                        writeInt(b, 0, 258)
+                        writeInt(b, 4, 258, "little")
+                        b
+                        """, """
+                        bytes(00 00 01 02 02 01 00 00)
+                        """),
+                Arguments.of("""
+                        let b = bytes([0, 0, 1, 2, 2, 1, 0, 0])
+                        
+                        readInt(b, 0) + readInt(b, 4, "little")
+                        """, """
+                        516
+                        """),
+                Arguments.of("""
+                        let b = bytes(4)
+                        let s = slice(b, 1, 3)
+                        
+                        s[-1] = 255
+                        b[2] + len(s)
+                        """, """
+                        257
+                        """),
+                Arguments.of("""
+                        decode(slice(bytes("hello"), 1, 4))
+                        """, """
+                        "ell"
+                        """),
+                Arguments.of("""
+                        readInt(bytes(3), 0)
+                        """, """
+                        Bytes offset out of bounds: size 3, got 0 for a 4 bytes integer
+                        """),
+                Arguments.of("""
+                        let b = bytes(1)
+                        
+                        b[0] = 256
+                        """, """
+                        Cannot store 256 in bytes
+                        """),
+                // tables
+                Arguments.of("""
+                        table({name: ["a", "b", "a"], qty: [1, 2, 3], ok: [true, false, true]})
+                        """, """
+                        table(name: string, qty: integer, ok: boolean; 3 rows)
+                        """),
+                Arguments.of("""
+                        let t = table({name: ["a", "b", "a", "c"], qty: [1, 2, 3, 4]})
+                        
+                        tableSum(tableFilter(t, "name", "==", "a"), "qty") + tableCount(tableFilter(t, "qty", ">=", 2))
+                        """, """
+                        7
+                        """),
+                Arguments.of("""
+                        let t = table({name: ["a", "b", "a", "c"], qty: [1, 2, 3, 4]})
+                        let g = tableGroupBy(t, "name", "sum", "qty")
+                        
+                        tableColumn(g, "sum")
+                        """, """
+                        [4,2,4]
+                        """),
+                Arguments.of("""
+                        let t = table({id: [3, 1, 3, 2, 1], big: [1000000000000, -5, 1000000000000, 7, -5], ok: [true, false, true, true, false], qty: [1, 2, 3, 4, 5]})
+                        let byId = tableGroupBy(t, "id", "sum", "qty")
+                        let byBig = tableGroupBy(t, "big", "count")
+                        let byOk = tableGroupBy(t, "ok", "max", "qty")
+                        let result = [tableColumn(byId, "id"), tableColumn(byId, "sum"), tableColumn(byBig, "big"), tableColumn(byBig, "count"), tableColumn(byOk, "ok"), tableColumn(byOk, "max")]
+                        
+                        result
+                        """, """
+                        [[3,1,2],[4,7,4],[1000000000000,-5,7],[2,2,1],[true,false],[4,5]]
+                        """),
+                Arguments.of("""
+                        let t = table([{x: 1, y: "p"}, {x: 5, y: "q"}])
+                        let s = tableSelect(t, ["y"])
+                        
+                        s[-1].y
+                        """, """
+                        "q"
+                        """),
+                Arguments.of("""
+                        let t = table([{x: 1, y: "p"}, {x: 5, y: "q"}])
+                        let result = [len(t), tableMax(t, "x"), tableMin(tableFilter(t, "x", ">", 9), "x")]
+                        
+                        result
+                        """, """
+                        [2,5,null]
+                        """),
+                Arguments.of("""
+                        tableSum(table({y: ["p"]}), "y")
+                        """, """
+                        Cannot aggregate STRING column "y"
+                        """),
+                Arguments.of("""
+                        table({a: [1, 2], b: [1]})
+                        """, """
+                        Table columns must have the same number of rows
+                        """),
+                // 64-bit and arbitrary-precision integers
+                Arguments.of("""
+                        2147483647 + 1
+                        """, """
+                        2147483648
+                        """),
+                Arguments.of("""
+                        9223372036854775807 * 4
+                        """, """
+                        36893488147419103228
+                        """),
+                Arguments.of("""
+                        let big = 9223372036854775807 + 1
+                        
+                        big - 1 == 9223372036854775807
+                        """, """
+                        true
+                        """),
+                Arguments.of("""
+                        let a = -9223372036854775807 - 1
+                        
+                        a--
+                        a
+                        """, """
+                        -9223372036854775809
+                        """),
+                Arguments.of("""
+                        let t = table({a: [9223372036854775807, 1]})
+                        
+                        tableSum(t, "a")
+                        """, """
+                        9223372036854775808
+                        """),
+                Arguments.of("""
+                        let a = [1, 2, 3]
+                        let m = -9223372036854775807 - 1
+                        
+                        a[m]
+                        """, """
+                        Array reverse index out of bounds: max reverse index -3, got -9223372036854775808
+                        """),
+                Arguments.of("""
+                        let m = -9223372036854775807 - 1
+                        
+                        "abc"[m]
+                        """, """
+                        String reverse index out of bounds: max reverse index -3, got -9223372036854775808
+                        """),
+                Arguments.of("""
+                        let m = -9223372036854775807 - 1
+                        
+                        range(3)[m]
+                        """, """
+                        Range reverse index out of bounds: max reverse index -3, got -9223372036854775808
+                        """),
+                Arguments.of("""
+                        5 / 0
+                        """, """
+                        Division by zero
+                        """),
+                // sets
+                Arguments.of("""
+                        set([3, "a", 1, 3, true, -5, "a"])
+                        """, """
+                        set(1,3,"a",true,-5)
+                        """),
+                Arguments.of("""
+                        let visited = set()
+                        let result = [setAdd(visited, 7), setAdd(visited, 7), setContains(visited, 7), setRemove(visited, 7), len(visited)]
+                        
+                        result
+                        """, """
+                        [true,false,true,true,0]
+                        """),
+                Arguments.of("""
+                        let a = set(range(0, 200000, 7))
+                        let b = set(range(0, 200000, 5))
+                        let result = [len(union(a, b)), len(intersection(a, b)), setContains(intersection(a, b), 35)]
+                        
+                        result
+                        """, """
+                        [62857,5715,true]
+                        """),
+                Arguments.of("""
+                        let s = set(["x", "y"])
+                        let word = "x"
+                        
+                        setAdd(s, word)
+                        pop(word)
+                        setContains(s, "x")
+                        """, """
+                        true
+                        """),
+                Arguments.of("""
+                        setAdd(set(), [1])
+                        """, """
+                        Cannot add ARRAY to a set: must be an INTEGER, a STRING or a BOOLEAN
+                        """),
+                Arguments.of("""
+                        let s = set([1, 2])
+                        
+                        for (x in s) {
+                            setAdd(s, x + 10)
+                        }
+                        """, """
+                        Set changed while iterating over it
+                        """),
+                // priority queues
+                Arguments.of("""
+                        let q = priorityQueue()
+                        
+                        for (x in [5, 3, 9, 1, 7, 3]) {
+                            queuePush(q, x)
+                        }
+                        
+                        let result = [queuePeek(q), queuePop(q), queuePop(q), queuePop(q), len(q)]
+                        
+                        result
+                        """, """
+                        [1,1,3,3,3]
+                        """),
+                Arguments.of("""
+                        let q = priorityQueue(fn(a, b) { a.priority - b.priority })
+                        
+                        queuePush(q, {name: "low", priority: 5})
+                        queuePush(q, {name: "high", priority: 1})
+                        queuePop(q).name
+                        """, """
+                        "high"
+                        """),
+                Arguments.of("""
+                        let q = priorityQueue()
+                        
+                        queuePush(q, "b")
+                        queuePush(q, "a")
+                        
+                        let result = [queuePop(q), queuePop(q), queuePop(q), queueSize(q)]
+                        
+                        result
+                        """, """
+                        ["a","b",null,0]
+                        """),
+                Arguments.of("""
+                        let q = priorityQueue()
+                        
+                        queuePush(q, 3)
+                        queuePush(q, "a")
+                        """, """
+                        Cannot compare STRING with INTEGER
+                        """),
+                Arguments.of("""
+                        let q = priorityQueue(fn(a, b) { a < b })
+                        
+                        queuePush(q, 1)
+                        queuePush(q, 2)
+                        """, """
+                        Comparator must return an INTEGER, got BOOLEAN
+                        """),
+                // ordered maps
+                Arguments.of("""
+                        let m = orderedMap()
+                        
+                        for (i in range(0, 200)) {
+                            orderedPut(m, 199 - i, i)
+                        }
+                        
+                        let result = [len(m), orderedGet(m, 150), orderedGet(m, 500), orderedMin(m).key, orderedMax(m).value]
+                        
+                        result
+                        """, """
+                        [200,49,null,0,0]
+                        """),
+                Arguments.of("""
+                        let m = orderedMap()
+                        
+                        orderedPut(orderedPut(m, 10, "a"), 20, "b")
+                        orderedPut(m, 30, "c")
+                        
+                        let result = [orderedFloor(m, 25).value, orderedCeiling(m, 25).value, orderedFloor(m, 5), orderedCeiling(m, 30).key]
+                        
+                        result
+                        """, """
+                        ["b","c",null,30]
+                        """),
+                Arguments.of("""
+                        let m = orderedMap()
+                        
+                        for (i in range(0, 100)) {
+                            orderedPut(m, i * 10, i)
+                        }
+                        
+                        map(orderedRange(m, 15, 55), fn(entry) { entry.key })
+                        """, """
+                        [20,30,40,50]
+                        """),
+                Arguments.of("""
+                        let m = orderedMap()
+                        
+                        orderedPut(m, "b", 1)
+                        orderedPut(m, "a", 2)
+                        orderedPut(m, "b", 3)
+                        
+                        m
+                        """, """
+                        orderedMap("a": 2, "b": 3)
+                        """),
+                Arguments.of("""
+                        let m = orderedMap()
+                        
+                        orderedPut(m, 1, "a")
+                        orderedPut(m, "b", 2)
+                        """, """
+                        Cannot compare STRING with INTEGER
+                        """),
+                Arguments.of("""
+                        let m = orderedMap()
+                        
+                        orderedPut(m, 1, "a")
+                        
+                        for (entry in m) {
+                            orderedPut(m, entry.key + 1, "b")
+                        }
+                        """, """
+                        Ordered map changed while iterating over it
+                        """),
+                // collection algorithms
+                Arguments.of("""
+                        let numbers = [5, -3, 9, 0, 9]
+                        
+                        let result = [sort(numbers), numbers, min(numbers), max(numbers)]
+                        
+                        result
+                        """, """
+                        [[-3,0,5,9,9],[5,-3,9,0,9],-3,9]
+                        """),
+                Arguments.of("""
+                        sort([{name: "b", age: 30}, {name: "a", age: 20}], fn(x, y) { x.age - y.age })
+                        """, """
+                        [{name: "a", age: 20},{name: "b", age: 30}]
+                        """),
+                Arguments.of("""
+                        let sorted = sort(["pear", "apple", "fig"])
+                        
+                        let result = [sorted, binarySearch(sorted, "fig"), binarySearch(sorted, "banana")]
+                        
+                        result
+                        """, """
+                        [["apple","fig","pear"],1,-2]
+                        """),
+                Arguments.of("""
+                        let result = [reverse([1, 2, 3]), reverse("abc"), indexOf([1, "a", [2]], [2]), indexOf([1, 2], 3), contains([1, 2], 2)]
+                        
+                        result
+                        """, """
+                        [[3,2,1],"cba",2,-1,true]
+                        """),
+                Arguments.of("""
+                        min([])
+                        """, """
+                        null
+                        """),
+                Arguments.of("""
+                        sort([2, "a", 1])
+                        """, """
+                        Cannot compare INTEGER with STRING
+                        """),
+                // bulk integer arithmetic
+                Arguments.of("""
+                        let x = [1, 2, 3, 4, 5, 6, 7, 8, 9]
+                        let y = [9, 8, 7, 6, 5, 4, 3, 2, 1]
+                        
+                        let result = [vadd(x, y), vmul(x, y), dot(x, y), sum(x), scan(x)]
+                        
+                        result
+                        """, """
+                        [[10,10,10,10,10,10,10,10,10],[9,16,21,24,25,24,21,16,9],165,45,[1,3,6,10,15,21,28,36,45]]
+                        """),
+                Arguments.of("""
+                        let big = 9223372036854775807
+                        
+                        let result = [vadd([big, -1], [1, -1]), vmul([big], [big]), sum([big, big, -big]), dot([big, 2], [2, big])]
+                        
+                        result
+                        """, """
+                        [[9223372036854775808,-2],[85070591730234615847396907784232501249],9223372036854775807,36893488147419103228]
+                        """),
+                Arguments.of("""
+                        vadd([1, 2], [3])
+                        """, """
+                        Arrays must have the same length: got 2 and 1
+                        """),
+                Arguments.of("""
+                        sum([1, true])
+                        """, """
+                        Expected an array of INTEGER, got BOOLEAN at index 1
+                        """),
+                // text functions
+                Arguments.of("""
+                        let line = "2024-01-05 ERROR disk full"
+                        
+                        let result = [split(line, " "), find(line, "(ERROR|WARN) (\\w+)"), matches(line, "\\d{4}-.*"), find(line, "INFO")]
+                        
+                        result
+                        """, """
+                        [["2024-01-05","ERROR","disk","full"],["ERROR disk","ERROR","disk"],true,null]
+                        """),
+                Arguments.of("""
+                        let result = [replace("2024-01-05", "(\\d+)-(\\d+)-(\\d+)", "$3/$2/$1"), join([1, "a", true], "-"), format("%s: %04d %x", "id", 42, 255)]
+                        
+                        result
+                        """, """
+                        ["05/01/2024","1-a-true","id: 0042 ff"]
+                        """),
+                Arguments.of("""
+                        let before = patternCacheStats()
+                        
+                        for (i in range(0, 5)) {
+                            matches("abc", "[cache-test]+")
+                        }
+                        
+                        let after = patternCacheStats()
+                        
+                        let result = [after.misses - before.misses, after.hits - before.hits]
+                        
+                        result
+                        """, """
+                        [1,4]
+                        """),
+                Arguments.of("""
+                        split("a(b", "(")
+                        """, """
+                        Invalid pattern (: Unclosed group
+                        """),
+                // external sort
+                Arguments.of("""
+                        let data = map(range(0, 1000), fn(x) { (x * 37) - (x * 37 / 1000) * 1000 })
+                        
+                        let sorted = sortExternal(data, {memory: 1000})
+                        
+                        let stats = spillStats(sorted)
+                        
+                        let result = [take(sorted, 5), stats.elements, stats.runs > 1, reduce(sorted, fn(acc, x) { acc + x }, 0)]
+                        
+                        result
+                        """, """
+                        [[0,1,2,3,4],1000,true,499500]
+                        """),
+                Arguments.of("""
+                        let sorted = sortExternal(range(300, 0, -1), {memory: 1})
+                        
+                        let last = reduce(sorted, fn(previous, x) { if (previous < x) { x } else { 1000 } }, 0)
+                        
+                        let result = [take(sorted, 3), last, spillStats(sorted)]
+                        
+                        result
+                        """, """
+                        [[1,2,3],300,{elements: 300, runs: 300, spilledBytes: 2700}]
+                        """),
+                Arguments.of("""
+                        let sorted = sortExternal(["b", "c", "a"])
+                        
+                        let result = [take(sortExternal([3, 1, 2], {compare: fn(x, y) { y - x }}), 3), take(sorted, 3), spillStats(sorted).runs]
+                        
+                        result
+                        """, """
+                        [[3,2,1],["a","b","c"],0]
+                        """),
+                Arguments.of("""
+                        sortExternal([1, 2], {memry: 10})
+                        """, """
+                        Unknown option memry: must be memory, directory or compare
+                        """),
+                Arguments.of("""
+                        sortExternal([1, [2]])
+                        """, """
+                        Cannot sort ARRAY externally: must be an INTEGER, a STRING or a BOOLEAN
+                        """),
+                // file functions
+                Arguments.of("""
+                        let path = "src/test/resources/evaluator/lines.txt"
+                        
+                        let result = [readLines(path), map(readChunks(path, 8), fn(chunk) { len(chunk) }), take(readChunks(path, 5), 2)]
+                        
+                        result
+                        """, """
+                        [["first line","second","","last"],[8,8,8,2],["first"," line"]]
+                        """),
+                Arguments.of("""
+                        readLines("src/test/resources/evaluator/missing.txt")
+                        """, """
+                        Cannot read src/test/resources/evaluator/missing.txt: not a readable file
+                        """),
+                Arguments.of("""
+                        readChunks("src/test/resources/evaluator/lines.txt", 0)
+                        """, """
+                        Chunk size must be a positive INTEGER, got 0
+                        """),
+                // codec functions
+                Arguments.of("""
+                        let users = readJson("src/test/resources/evaluator/users.json")
+                        
+                        let result = [map(users, fn(user) { user.name }), toJson(users[1]), parseJson("[1, -20, null]")]
+                        
+                        result
+                        """, """
+                        [["ann","bob"],"{"id":2,"name":"bob","tags":[]}",[1,-20,null]]
+                        """),
+                Arguments.of("""
+                        let result = [readCsv("src/test/resources/evaluator/rows.csv"), toCsv([[1, "a,b", true, null]])]
+                        
+                        result
+                        """, """
+                        [[["id","name"],["1","smith, ann"],["2","bob "b""]],"1,"a,b",true,
+                        "]
+                        """),
+                Arguments.of("""
+                        let result = [parseCsv(toCsv([["a"], [""], [null], ["", ""], ["b"]]))]
+                        
+                        result
+                        """, """
+                        [[["a"],[""],[""],["",""],["b"]]]
+                        """),
+                Arguments.of("""
+                        writeJson("target/records.json", map(range(0, 3), fn(i) { {id: i} }))
+                        
+                        readJson("target/records.json")
+                        """, """
+                        [{id: 0},{id: 1},{id: 2}]
+                        """),
+                Arguments.of("""
+                        parseJson("[1, 2.5]")
+                        """, """
+                        Invalid JSON at offset 5: only integer numbers are supported
+                        """),
+                Arguments.of("""
+                        toJson(fn(x) { x })
+                        """, """
+                        Cannot convert FUNCTION to JSON
+                        """),
+                // key-value store
+                Arguments.of("""
+                        let store = kvOpen("%s")
+                        
+                        kvPut(store, "state", {runs: 1, seen: [3, 4], last: null})
+                        
+                        kvPut(store, 7, "seven")
+                        
+                        let result = [kvGet(store, "state"), kvGet(store, 7), kvDelete(store, 7), kvGet(store, 7), kvDelete(store, 7)]
+                        
+                        result
+                        """.formatted(tempFilePath("evaluator-test.kv")), """
+                        [{runs: 1, seen: [3,4], last: null},"seven",true,null,false]
+                        """),
+                Arguments.of("""
+                        kvPut(kvOpen("%s"), true, 1)
+                        """.formatted(tempFilePath("evaluator-test.kv")), """
+                        Key-value store keys must be STRING or INTEGER, got BOOLEAN
+                        """),
+                Arguments.of("""
+                        kvPut(kvOpen("%s"), "f", fn(x) { x })
+                        """.formatted(tempFilePath("evaluator-test.kv")), """
+                        Cannot encode FUNCTION: must be NULL, BOOLEAN, INTEGER, STRING, ARRAY or RECORD
+                        """),
+                // parallel functions
+                Arguments.of("""
+                        let square = fn(x) { let y = x * x
+                        y }
+                        
+                        let result = [pmap(range(1, 6), square), preduce(pmap(range(1000), square), fn(a, b) { a + b }, 0), preduce([], square, 7)]
+                        
+                        result
+                        """, """
+                        [[1,4,9,16,25],332833500,7]
+                        """),
+                Arguments.of("""
+                        let digits = 0
+                        
+                        pmap([1, 2, 3], fn(x) { digits = digits * 10 + x })
+                        
+                        digits
+                        """, """
+                        123
+                        """),
+                Arguments.of("""
+                        let squares = pmap([1, 2, 3], fn(x) { x * x })
+                        
+                        let result = [pop(squares), removeLast(squares), squares]
+                        
+                        result
+                        """, """
+                        [1,9,[4]]
+                        """),
+                Arguments.of("""
+                        pmap(range(1000), fn(x) { if (x > 500) { [0][x] } else { x } })
+                        """, """
+                        Array index out of bounds: max index 0, got 501
+                        """),
+                Arguments.of("""
+                        preduce("abc", fn(a, b) { a + b }, 0)
+                        """, """
+                        Unexpected type of argument: expected ARRAY or RANGE, got STRING
+                        """),
+                // concurrency functions
+                Arguments.of("""
+                        let counter = 0
+                        
+                        let square = fn(x) { counter += 1
+                        x * x }
+                        
+                        let tasks = [spawn(square, 3), spawn(square, 4)]
+                        
+                        let result = [await(tasks[0]), await(tasks[1]), await(tasks[1]), counter]
+                        
+                        result
+                        """, """
+                        [9,16,16,0]
+                        """),
+                Arguments.of("""
+                        let values = channel(2)
+                        
+                        let producer = spawn(fn() { for (i in range(10)) { send(values, i) }
+                        close(values) })
+                        
+                        let total = 0
+                        
+                        for (i in range(10)) { total += recv(values) }
+                        
+                        let result = [total, recv(values), await(producer)]
+                        
+                        result
+                        """, """
+                        [45,null,true]
+                        """),
+                Arguments.of("""
+                        scope(fn() { let blocked = spawn(fn() { recv(channel(1)) })
+                        spawn(fn() { [0][1] })
+                        await(blocked) })
+                        """, """
+                        Array index out of bounds: max index 0, got 1
+                        """),
+                Arguments.of("""
+                        send(channel(1), fn(x) { x })
+                        
+                        await(1)
+                        """, """
+                        Unexpected type of argument: expected TASK, got INTEGER
+                        """),
+                // generator functions
+                Arguments.of("""
+                        let naturals = fn() { let i = 0 while (true) { yield i i++ } }
+                        
+                        take(map(naturals(), fn(x) { x * x }), 5)
+                        """, """
+                        [0,1,4,9,16]
+                        """),
+                Arguments.of("""
+                        let produced = 0
+                        
+                        let count = fn(n) { for (i in range(n)) { produced += 1 yield i } return 99 }
+                        
+                        let trace = []
+                        
+                        for (x in count(3)) { trace = append(trace, [x, produced]) }
+                        
+                        let result = [trace, len(count(4)), produced]
+                        
+                        result
+                        """, """
+                        [[[0,1],[1,2],[2,3]],4,7]
+                        """),
+                Arguments.of("""
+                        let failing = fn() { yield 1 yield len(1) }
+                        
+                        for (x in failing()) { x }
+                        """, """
+                        Unexpected type of argument: expected ARRAY or STRING or RANGE or SEQUENCE or BYTES or TABLE or SET or PRIORITY_QUEUE or ORDERED_MAP or KV_STORE, got INTEGER
+                        """),
+                Arguments.of("""
+                        let count = fn(n) { for (i in range(n)) { yield i } }
+                        
+                        let pairs = fn(n) { for (a in count(n)) { for (b in count(a)) { yield [a, b] } } }
+                        
+                        pairs(3)
+                        """, """
+                        [[1,0],[2,0],[2,1]]
+                        """),
+                // logical operators
+                Arguments.of("""
+                        let calls = 0
+                        
+                        let check = fn(x) { calls += 1 x }
+                        
+                        let result = [false && check(true), true || check(false), true && check(false), false || check(true), calls]
+                        
+                        result
+                        """, """
+                        [false,true,false,true,2]
+                        """),
+                Arguments.of("""
+                        let a = [3, 1, 0, 2]
+                        
+                        let i = 0
+                        
+                        while (i < len(a) && a[i] != 0) { i++ }
+                        
+                        i
+                        """, """
+                        2
+                        """),
+                Arguments.of("true || false && false", "true"),
+                Arguments.of("false && 1 / 0 == 0", "false"),
+                Arguments.of("true && 1", "Cannot apply infix operator '&&' to INTEGER"),
+                Arguments.of("len(1) < 1 / 0", """
+                        Unexpected type of argument: expected ARRAY or STRING or RANGE or SEQUENCE or BYTES or TABLE or SET or PRIORITY_QUEUE or ORDERED_MAP or KV_STORE, got INTEGER
+                        """),
+                // string comparison
+                Arguments.of("""
+                        let a = "abc"
+                        
+                        let result = [a == "abc", a != "abd", a < "abd", "b" > a, a <= a, "" >= a]
+                        
+                        result
+                        """, """
+                        [true,true,true,true,true,false]
+                        """),
+                Arguments.of("""
+                        let a = "abc"
+                        
+                        let b = "abc"
+                        
+                        pop(a)
+                        
+                        let result = [a, b, a == b, a == "bc", b == "abc"]
+                        
+                        result
+                        """, """
+                        ["bc","abc",false,true,true]
+                        """),
+                Arguments.of("""
+                        let a = "a string longer than sixteen characters"
+                        
+                        removeLast(a)
+                        
+                        let result = [a == "a string longer than sixteen character", a < "a string longer than sixteen characters"]
+                        
+                        result
+                        """, """
+                        [true,true]
+                        """),
+                Arguments.of("\"a\" * \"b\"", "Unknown infix operator STRING * STRING")
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+class REPLTest {
+    @Test
+    void topLevelTasksAreAwaitedAtTheEnd() {
+        StringWriter output = new StringWriter();
+
+        REPL.start(new StringReader("""
+                let awaited = spawn(fn() { 1 / 0 })
+                await(awaited)
+                spawn(fn() { let i = 0 for (x in range(100000)) { i++ } [0][i] })
+                """), new PrintWriter(output));
+
+        // the error of the awaited task is printed once, as the result of await
+        Assertions.assertEquals(1, StringUtils.countMatches(output.toString(), "Division by zero"));
+        Assertions.assertTrue(output.toString().strip().endsWith("Array index out of bounds: max index 0, got 100000"));
+    }
+}
@@ -0,0 +1,35 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.builtin;
+
+import jdk.incubator.vector.LongVector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+class IntegerKernelsTest {
+    private static final IntegerKernels SCALAR = new ScalarIntegerKernels();
+    private static final IntegerKernels VECTOR = new VectorIntegerKernels();
+
+    @ParameterizedTest
+    @MethodSource("provideLengths")
+    void vectorKernelsMatchScalarKernels(int length) {
+        Random random = new Random(length);
+        // full-range values, so the results wrap around like the scalar ones
+        long[] left = random.longs(length).toArray();
+        long[] right = random.longs(length).toArray();
+
+        Assertions.assertArrayEquals(SCALAR.add(left, right), VECTOR.add(left, right));
+        Assertions.assertArrayEquals(SCALAR.multiply(left, right), VECTOR.multiply(left, right));
+        Assertions.assertEquals(SCALAR.dot(left, right), VECTOR.dot(left, right));
+        Assertions.assertEquals(SCALAR.sum(left), VECTOR.sum(left));
+    }
+
+    private static IntStream provideLengths() {
+        int lanes = LongVector.SPECIES_PREFERRED.length();
+
+        // shorter than a vector, exact multiples of it and multiples with a tail
+        return IntStream.of(0, 1, lanes - 1, lanes, lanes + 1, 3 * lanes, 3 * lanes + lanes / 2 + 1, 1000);
+    }
+}
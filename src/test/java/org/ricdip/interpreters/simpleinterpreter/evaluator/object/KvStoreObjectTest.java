@@ -0,0 +1,119 @@
+package org.ricdip.interpreters.simpleinterpreter.evaluator.object;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class KvStoreObjectTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void reopenRebuildsIndex() {
+        Path path = directory.resolve("store.kv");
+        KvStoreObject store = KvStoreObject.open(path);
+
+        store.put(new StringObject("a"), IntegerObject.valueOf(1));
+        store.put(IntegerObject.valueOf(2), new StringObject("two"));
+        store.put(new StringObject("a"), IntegerObject.valueOf(3));
+        store.put(new StringObject("b"), new BooleanObject(true));
+        store.delete(new StringObject("b"));
+        store.close();
+
+        KvStoreObject reopened = KvStoreObject.open(path);
+
+        Assertions.assertNotSame(store, reopened);
+        Assertions.assertEquals(2, reopened.size());
+        Assertions.assertEquals(IntegerObject.valueOf(3), reopened.get(new StringObject("a")));
+        Assertions.assertEquals(new StringObject("two"), reopened.get(IntegerObject.valueOf(2)));
+        Assertions.assertNull(reopened.get(new StringObject("b")));
+        reopened.close();
+    }
+
+    @Test
+    void compactionKeepsLiveRecords() throws IOException {
+        Path path = directory.resolve("store.kv");
+        KvStoreObject store = KvStoreObject.open(path);
+        int overwrites = 200;
+        String value = "x".repeat(4096);
+
+        for (int i = 0; i < 10; i++) {
+            store.put(IntegerObject.valueOf(i), IntegerObject.valueOf(i * i));
+        }
+
+        for (int i = 0; i < overwrites; i++) {
+            store.put(new StringObject("k"), new StringObject(value + i));
+        }
+
+        // without compaction the log would hold every overwritten value
+        Assertions.assertTrue(Files.size(path) < (long) overwrites * value.length());
+        Assertions.assertFalse(Files.exists(path.resolveSibling("store.kv.compact")));
+        store.close();
+
+        KvStoreObject reopened = KvStoreObject.open(path);
+
+        Assertions.assertEquals(11, reopened.size());
+        Assertions.assertEquals(new StringObject(value + (overwrites - 1)), reopened.get(new StringObject("k")));
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(IntegerObject.valueOf(i * i), reopened.get(IntegerObject.valueOf(i)));
+        }
+
+        reopened.close();
+    }
+
+    @ParameterizedTest
+    // the last byte of the content, cut by an interrupted write, or the CRC32 of the record
+    @ValueSource(strings = {"truncated", "checksum"})
+    void damagedLastRecordIsIgnored(String damage) throws IOException {
+        Path path = directory.resolve("store.kv");
+        KvStoreObject store = KvStoreObject.open(path);
+
+        store.put(new StringObject("a"), new StringObject("first"));
+        store.put(new StringObject("b"), new StringObject("second"));
+        store.close();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // file header (8 bytes), then records made of length, CRC32 and content
+            int lastRecord = 8 + 8 + readInt(channel, 8);
+            int length = readInt(channel, lastRecord);
+
+            if (damage.equals("truncated")) {
+                channel.write(ByteBuffer.allocate(1), lastRecord + 8 + length - 1);
+            } else {
+                channel.write(ByteBuffer.allocate(4).putInt(0, ~readInt(channel, lastRecord + 4)), lastRecord + 4);
+            }
+        }
+
+        KvStoreObject reopened = KvStoreObject.open(path);
+
+        Assertions.assertEquals(1, reopened.size());
+        Assertions.assertEquals(new StringObject("first"), reopened.get(new StringObject("a")));
+        Assertions.assertNull(reopened.get(new StringObject("b")));
+
+        // the damaged record is overwritten by the next one
+        reopened.put(new StringObject("c"), new StringObject("third"));
+        reopened.close();
+
+        KvStoreObject reopenedAgain = KvStoreObject.open(path);
+
+        Assertions.assertEquals(2, reopenedAgain.size());
+        Assertions.assertEquals(new StringObject("third"), reopenedAgain.get(new StringObject("c")));
+        reopenedAgain.close();
+    }
+
+    private static int readInt(FileChannel channel, int position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        channel.read(buffer, position);
+        return buffer.getInt(0);
+    }
+}
@@ -9,6 +9,13 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.ricdip.interpreters.simpleinterpreter.token.Token;
 import org.ricdip.interpreters.simpleinterpreter.token.TokenType;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -46,6 +53,58 @@ class LexerTest {
         Assertions.assertEquals(expectedTokens, result);
     }
 
+    @ParameterizedTest
+    @MethodSource("provideInput")
+    void validInputFromReader(String inputString, List<Token> expectedTokens) {
+        // one character per read, so that every token is split between reads
+        Reader reader = new FilterReader(new StringReader(inputString)) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+        Lexer lexer = new Lexer(reader);
+
+        List<Token> result = new ArrayList<>();
+        while (lexer.hasNext()) {
+            result.add(lexer.next());
+        }
+
+        Assertions.assertEquals(expectedTokens, result);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInput")
+    void validInputFromChannel(String inputString, List<Token> expectedTokens) {
+        Lexer lexer = new Lexer(Channels.newChannel(
+                new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8))));
+
+        List<Token> result = new ArrayList<>();
+        while (lexer.hasNext()) {
+            result.add(lexer.next());
+        }
+
+        Assertions.assertEquals(expectedTokens, result);
+    }
+
+    @Test
+    void inputLongerThanBuffer() {
+        String identifier = "x".repeat(20000);
+        Lexer lexer = new Lexer(new StringReader("  let " + identifier + " = \"" + identifier + "\"  \n\n  "));
+
+        List<Token> result = new ArrayList<>();
+        while (lexer.hasNext()) {
+            result.add(lexer.next());
+        }
+
+        Assertions.assertEquals(List.of(
+                new Token(TokenType.LET, "let"),
+                new Token(TokenType.IDENTIFIER, identifier),
+                new Token(TokenType.ASSIGN, "="),
+                new Token(TokenType.STRING, identifier)
+        ), result);
+    }
+
     private static Stream<Arguments> provideInput() {
         return Stream.of(
                 Arguments.of("1+2*4/6", List.of(
@@ -240,6 +299,60 @@ class LexerTest {
                         new Token(TokenType.IDENTIFIER, "a"),
                         new Token(TokenType.INCREMENT, "++"),
                         new Token(TokenType.RBRACE, "}")
+                )),
+                Arguments.of("let p = {x: 1} p.x", List.of(
+                        new Token(TokenType.LET, "let"),
+                        new Token(TokenType.IDENTIFIER, "p"),
+                        new Token(TokenType.ASSIGN, "="),
+                        new Token(TokenType.LBRACE, "{"),
+                        new Token(TokenType.IDENTIFIER, "x"),
+                        new Token(TokenType.COLON, ":"),
+                        new Token(TokenType.INT, "1"),
+                        new Token(TokenType.RBRACE, "}"),
+                        new Token(TokenType.IDENTIFIER, "p"),
+                        new Token(TokenType.DOT, "."),
+                        new Token(TokenType.IDENTIFIER, "x")
+                )),
+                Arguments.of("for(x in range(3)) { x }", List.of(
+                        new Token(TokenType.FOR, "for"),
+                        new Token(TokenType.LPAREN, "("),
+                        new Token(TokenType.IDENTIFIER, "x"),
+                        new Token(TokenType.IN, "in"),
+                        new Token(TokenType.IDENTIFIER, "range"),
+                        new Token(TokenType.LPAREN, "("),
+                        new Token(TokenType.INT, "3"),
+                        new Token(TokenType.RPAREN, ")"),
+                        new Token(TokenType.RPAREN, ")"),
+                        new Token(TokenType.LBRACE, "{"),
+                        new Token(TokenType.IDENTIFIER, "x"),
+                        new Token(TokenType.RBRACE, "}")
+                )),
+                Arguments.of("a[0] = 1 a += 2 a -= 3", List.of(
+                        new Token(TokenType.IDENTIFIER, "a"),
+                        new Token(TokenType.LSQUARE, "["),
+                        new Token(TokenType.INT, "0"),
+                        new Token(TokenType.RSQUARE, "]"),
+                        new Token(TokenType.ASSIGN, "="),
+                        new Token(TokenType.INT, "1"),
+                        new Token(TokenType.IDENTIFIER, "a"),
+                        new Token(TokenType.PLUS_ASSIGN, "+="),
+                        new Token(TokenType.INT, "2"),
+                        new Token(TokenType.IDENTIFIER, "a"),
+                        new Token(TokenType.MINUS_ASSIGN, "-="),
+                        new Token(TokenType.INT, "3")
+                )),
+                Arguments.of("yield x", List.of(
+                        new Token(TokenType.YIELD, "yield"),
+                        new Token(TokenType.IDENTIFIER, "x")
+                )),
+                Arguments.of("a && b || c & d", List.of(
+                        new Token(TokenType.IDENTIFIER, "a"),
+                        new Token(TokenType.AND, "&&"),
+                        new Token(TokenType.IDENTIFIER, "b"),
+                        new Token(TokenType.OR, "||"),
+                        new Token(TokenType.IDENTIFIER, "c"),
+                        new Token(TokenType.ILLEGAL, "&"),
+                        new Token(TokenType.IDENTIFIER, "d")
                 ))
         );
     }
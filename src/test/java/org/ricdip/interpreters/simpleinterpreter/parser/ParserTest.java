@@ -46,6 +46,11 @@ class ParserTest {
                             (1250)
                         }
                         """),
+                Arguments.of("9223372036854775807", """
+                        {
+                            (9223372036854775807)
+                        }
+                        """),
                 // boolean literal
                 Arguments.of("true", """
                         {
@@ -427,6 +432,77 @@ class ParserTest {
                         {
                             while ((a <= 10)) { (1) ; ((a++)) }
                         }
+                        """),
+                // record expression
+                Arguments.of("{}", """
+                        {
+                            ({})
+                        }
+                        """),
+                Arguments.of("let p = {x: 1, y: 2 + 3}", """
+                        {
+                            (p = {x: 1, y: (2 + 3)})
+                        }
+                        """),
+                // member expression
+                Arguments.of("p.x", """
+                        {
+                            (p.x)
+                        }
+                        """),
+                Arguments.of("-p.x + p.y * 2", """
+                        {
+                            (((-p.x) + (p.y * 2)))
+                        }
+                        """),
+                Arguments.of("a[0].b.c(1)[2]", """
+                        {
+                            (a[0].b.c(1)[2])
+                        }
+                        """),
+                // for statement
+                Arguments.of("for(x in range(0, 10)) { print(x) }", """
+                        {
+                            for (x in range(0,10)) { (print(x)) }
+                        }
+                        """),
+                Arguments.of("for(c in \"abc\") { 1 c }", """
+                        {
+                            for (c in "abc") { (1) ; (c) }
+                        }
+                        """),
+                // assignment expression
+                Arguments.of("a[i] = a[i] + 1", """
+                        {
+                            ((a[i] = (a[i] + 1)))
+                        }
+                        """),
+                Arguments.of("a = b += 2 * 3", """
+                        {
+                            ((a = (b += (2 * 3))))
+                        }
+                        """),
+                Arguments.of("p.x -= 1", """
+                        {
+                            ((p.x -= 1))
+                        }
+                        """),
+                // yield statement
+                Arguments.of("fn(n) { yield n yield n + 1 }", """
+                        {
+                            (fn (n) { (yield n) ; (yield (n + 1)) })
+                        }
+                        """),
+                // logical operators
+                Arguments.of("a || b && c == d", """
+                        {
+                            ((a || (b && (c == d))))
+                        }
+                        """),
+                Arguments.of("x = a < b && !c", """
+                        {
+                            ((x = ((a < b) && (!c))))
+                        }
                         """)
         );
     }